@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of a column: each distinct String has a code, 0, 1, 2 .. in order of
+ * arrival. Not thread safe (the {@link NewsTable} writes under its lock).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+final class Dictionary {
+
+    /**
+     * The String -> code.
+     */
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /**
+     * The code -> String.
+     */
+    private String[] values = new String[16];
+
+    /**
+     * @param value to encode.
+     * @return the code of the value, new if needed.
+     */
+    int encode(final String value) {
+        final Integer code = this.codes.get(value);
+        if (code != null) {
+            return code;
+        }
+
+        final int size = this.codes.size();
+        if (size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, size * 2);
+        }
+        this.values[size] = value;
+        this.codes.put(value, size);
+        return size;
+    }
+
+    /**
+     * @return the number of codes.
+     */
+    int size() {
+        return this.codes.size();
+    }
+
+    /**
+     * @return the values, by code (the array can be longer than the size).
+     */
+    String[] values() {
+        return this.values;
+    }
+}
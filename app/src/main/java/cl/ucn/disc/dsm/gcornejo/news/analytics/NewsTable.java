@@ -0,0 +1,635 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsCodec;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Columnar table of {@link News} for the aggregations: one array by column (id, publishedAt in
+ * epoch millis, the codes of source and author in a {@link Dictionary}) and the full News,
+ * encoded by {@link NewsCodec}, in direct (off heap) buffers. The rows are appended; the
+ * queries run over a {@link Snapshot}, immutable, with parallel scans in the ForkJoinPool.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsTable {
+
+    /**
+     * The columns for group by.
+     */
+    public enum Column {
+
+        /**
+         * The source of the News.
+         */
+        SOURCE,
+
+        /**
+         * The author of the News.
+         */
+        AUTHOR
+    }
+
+    /**
+     * The size of a buffer of the text.
+     */
+    static final int CHUNK = 1 << 20;
+
+    /**
+     * The rows of each task of the scans.
+     */
+    static final int THRESHOLD = 1 << 14;
+
+    /**
+     * The max number of counts (buckets by codes) of a histogram.
+     */
+    static final int MAX_CELLS = 1 << 20;
+
+    /**
+     * The ids.
+     */
+    private long[] ids;
+
+    /**
+     * The publishedAt, in epoch millis.
+     */
+    private long[] publishedAt;
+
+    /**
+     * The codes of the source.
+     */
+    private int[] sources;
+
+    /**
+     * The codes of the author.
+     */
+    private int[] authors;
+
+    /**
+     * The position of the text: buffer << 32 | offset.
+     */
+    private long[] texts;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * The dictionary of the sources.
+     */
+    private final Dictionary sourceDictionary = new Dictionary();
+
+    /**
+     * The dictionary of the authors.
+     */
+    private final Dictionary authorDictionary = new Dictionary();
+
+    /**
+     * The buffers of the text, off heap.
+     */
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+
+    /**
+     * The Constructor.
+     */
+    public NewsTable() {
+        this(1024);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param expected number of rows.
+     */
+    public NewsTable(final int expected) {
+        final int capacity = Math.max(16, expected);
+        this.ids = new long[capacity];
+        this.publishedAt = new long[capacity];
+        this.sources = new int[capacity];
+        this.authors = new int[capacity];
+        this.texts = new long[capacity];
+    }
+
+    /**
+     * Append one News.
+     *
+     * @param news to append.
+     * @return the row of the News.
+     */
+    public synchronized int add(final News news) {
+        Validation.notNull(news, "news");
+
+        if (this.size == this.ids.length) {
+            final int capacity = this.size * 2;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.publishedAt = Arrays.copyOf(this.publishedAt, capacity);
+            this.sources = Arrays.copyOf(this.sources, capacity);
+            this.authors = Arrays.copyOf(this.authors, capacity);
+            this.texts = Arrays.copyOf(this.texts, capacity);
+        }
+
+        final int row = this.size;
+        this.ids[row] = news.getId();
+        this.publishedAt[row] = news.getPublishedAtMillis();
+        this.sources[row] = this.sourceDictionary.encode(news.getSource());
+        this.authors[row] = this.authorDictionary.encode(news.getAuthor());
+        this.texts[row] = this.write(news);
+        this.size++;
+        return row;
+    }
+
+    /**
+     * @param news to write.
+     * @return the position of the text.
+     */
+    private long write(final News news) {
+        final int length = NewsCodec.size(news);
+        ByteBuffer chunk = this.chunks.length == 0 ? null : this.chunks[this.chunks.length - 1];
+        if (chunk == null || chunk.remaining() < length) {
+            chunk = ByteBuffer.allocateDirect(Math.max(CHUNK, length));
+            this.chunks = Arrays.copyOf(this.chunks, this.chunks.length + 1);
+            this.chunks[this.chunks.length - 1] = chunk;
+        }
+        final long position = (long) (this.chunks.length - 1) << 32 | chunk.position();
+        NewsCodec.encodeRecord(news, chunk);
+        return position;
+    }
+
+    /**
+     * @return the number of rows.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the rows saved until now, immutable.
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * The value of a column and its number of rows.
+     */
+    public static final class Count {
+
+        /**
+         * The value.
+         */
+        private final String value;
+
+        /**
+         * The number of rows.
+         */
+        private final long count;
+
+        /**
+         * The Constructor.
+         *
+         * @param value of the column.
+         * @param count of rows.
+         */
+        Count(final String value, final long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        /**
+         * @return the value.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return the number of rows.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return value + "=" + count;
+        }
+    }
+
+    /**
+     * The rows of the table at one time: the arrays are shared with the table, the rows after
+     * the size are never read.
+     */
+    public static final class Snapshot {
+
+        /**
+         * The ids.
+         */
+        private final long[] ids;
+
+        /**
+         * The publishedAt, in epoch millis.
+         */
+        private final long[] publishedAt;
+
+        /**
+         * The codes of the source.
+         */
+        private final int[] sources;
+
+        /**
+         * The codes of the author.
+         */
+        private final int[] authors;
+
+        /**
+         * The position of the text.
+         */
+        private final long[] texts;
+
+        /**
+         * The buffers of the text.
+         */
+        private final ByteBuffer[] chunks;
+
+        /**
+         * The sources, by code.
+         */
+        private final String[] sourceValues;
+
+        /**
+         * The number of sources.
+         */
+        private final int sourceCount;
+
+        /**
+         * The authors, by code.
+         */
+        private final String[] authorValues;
+
+        /**
+         * The number of authors.
+         */
+        private final int authorCount;
+
+        /**
+         * The number of rows.
+         */
+        private final int size;
+
+        /**
+         * The Constructor, with the lock of the table.
+         *
+         * @param table to read.
+         */
+        Snapshot(final NewsTable table) {
+            this.ids = table.ids;
+            this.publishedAt = table.publishedAt;
+            this.sources = table.sources;
+            this.authors = table.authors;
+            this.texts = table.texts;
+            this.chunks = table.chunks;
+            this.sourceValues = table.sourceDictionary.values();
+            this.sourceCount = table.sourceDictionary.size();
+            this.authorValues = table.authorDictionary.values();
+            this.authorCount = table.authorDictionary.size();
+            this.size = table.size;
+        }
+
+        /**
+         * @return the number of rows.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * @param row of the News.
+         * @return the id.
+         */
+        public long id(final int row) {
+            return this.ids[this.check(row)];
+        }
+
+        /**
+         * @param row of the News.
+         * @return the publishedAt, in epoch millis.
+         */
+        public long publishedAt(final int row) {
+            return this.publishedAt[this.check(row)];
+        }
+
+        /**
+         * @param column to read.
+         * @param row    of the News.
+         * @return the value of the column.
+         */
+        public String value(final Column column, final int row) {
+            this.check(row);
+            return column == Column.SOURCE ? this.sourceValues[this.sources[row]] : this.authorValues[this.authors[row]];
+        }
+
+        /**
+         * @param column of the value.
+         * @param code   of the value, the index in {@link #count(Column, long, long)}.
+         * @return the value of the code.
+         */
+        public String decode(final Column column, final int code) {
+            if (code < 0 || code >= this.dictionarySize(column)) {
+                throw new IndexOutOfBoundsException("Code: " + code);
+            }
+            return column == Column.SOURCE ? this.sourceValues[code] : this.authorValues[code];
+        }
+
+        /**
+         * @param row of the News.
+         * @return the News, decoded from the text.
+         */
+        public News news(final int row) {
+            final long position = this.texts[this.check(row)];
+            final ByteBuffer in = this.chunks[(int) (position >>> 32)].duplicate();
+            in.position((int) position);
+            return NewsCodec.decodeRecord(in);
+        }
+
+        /**
+         * @param row to check.
+         * @return the row.
+         */
+        private int check(final int row) {
+            if (row < 0 || row >= this.size) {
+                throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + this.size);
+            }
+            return row;
+        }
+
+        /**
+         * The number of rows of each value of the column, with publishedAt in [from, to).
+         *
+         * @param column to group by.
+         * @param from   the min publishedAt, epoch millis inclusive.
+         * @param to     the max publishedAt, epoch millis exclusive.
+         * @return the count of each code of the column.
+         */
+        public long[] count(final Column column, final long from, final long to) {
+            Validation.notNull(column, "column");
+            if (to <= from) {
+                return new long[this.dictionarySize(column)];
+            }
+            return this.scan(column, from, to, to - from, 1)[0];
+        }
+
+        /**
+         * The number of rows of each value of the column by bucket of time (i.e. News by source by
+         * hour), with publishedAt in [from, to).
+         *
+         * @param column to group by.
+         * @param from   the min publishedAt, epoch millis inclusive.
+         * @param to     the max publishedAt, epoch millis exclusive.
+         * @param bucket the size of the buckets.
+         * @param unit   of the bucket.
+         * @return the count by bucket (from + i * bucket) and code of the column.
+         */
+        public long[][] histogram(final Column column, final long from, final long to, final long bucket, final TimeUnit unit) {
+            Validation.notNull(column, "column");
+            Validation.notNull(unit, "unit");
+            final long millis = unit.toMillis(bucket);
+            if (millis < 1 || to <= from) {
+                throw new IllegalArgumentException("Error: need bucket >0 and from < to");
+            }
+            final long range;
+            try {
+                range = Math.subtractExact(to, from);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Error: range too wide: [" + from + ", " + to + ")", e);
+            }
+            final long buckets = (range - 1) / millis + 1;
+            if (buckets > MAX_CELLS / Math.max(1, this.dictionarySize(column))) {
+                throw new IllegalArgumentException("Error: too many buckets: " + buckets);
+            }
+            return this.scan(column, from, to, millis, (int) buckets);
+        }
+
+        /**
+         * The k values of the column with more rows, with publishedAt in [from, to).
+         *
+         * @param column to group by.
+         * @param k      the number of values.
+         * @param from   the min publishedAt, epoch millis inclusive.
+         * @param to     the max publishedAt, epoch millis exclusive.
+         * @return the top k, the most frequent first (ties by order of arrival).
+         */
+        public List<Count> top(final Column column, final int k, final long from, final long to) {
+            final long[] counts = this.count(column, from, to);
+            final String[] values = column == Column.SOURCE ? this.sourceValues : this.authorValues;
+            if (k < 0) {
+                throw new IllegalArgumentException("Error: k need to be >=0");
+            }
+
+            // Min heap of the best k codes
+            final PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, k), (a, b) -> counts[a] != counts[b]
+                    ? Long.compare(counts[a], counts[b]) : Integer.compare(b, a));
+            for (int code = 0; code < counts.length && k > 0; code++) {
+                if (counts[code] == 0) {
+                    continue;
+                }
+                if (heap.size() < k) {
+                    heap.add(code);
+                } else if (counts[code] > counts[heap.peek()]) {
+                    heap.poll();
+                    heap.add(code);
+                }
+            }
+
+            final List<Count> top = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                final int code = heap.poll();
+                top.add(new Count(values[code], counts[code]));
+            }
+            Collections.reverse(top);
+            return top;
+        }
+
+        /**
+         * The parallel count of all the rows: one matrix of counts by worker, merged at the end.
+         *
+         * @param column  to group by.
+         * @param from    the min publishedAt, inclusive.
+         * @param to      the max publishedAt, exclusive.
+         * @param bucket  the size of the buckets, in millis.
+         * @param buckets the number of buckets.
+         * @return the count by bucket and code of the column.
+         */
+        private long[][] scan(final Column column, final long from, final long to, final long bucket, final int buckets) {
+            final Map<Thread, long[][]> partials = new ConcurrentHashMap<>();
+            ForkJoinPool.commonPool().invoke(new Scan(this.codes(column), this.dictionarySize(column), from, to,
+                    bucket, buckets, partials, 0, this.size));
+
+            long[][] counts = null;
+            for (long[][] partial : partials.values()) {
+                if (counts == null) {
+                    counts = partial;
+                    continue;
+                }
+                for (int b = 0; b < buckets; b++) {
+                    for (int c = 0; c < partial[b].length; c++) {
+                        counts[b][c] += partial[b][c];
+                    }
+                }
+            }
+            return counts == null ? new long[buckets][this.dictionarySize(column)] : counts;
+        }
+
+        /**
+         * @param column of the codes.
+         * @return the codes of the column.
+         */
+        private int[] codes(final Column column) {
+            return column == Column.SOURCE ? this.sources : this.authors;
+        }
+
+        /**
+         * @param column of the dictionary.
+         * @return the number of codes of the column.
+         */
+        private int dictionarySize(final Column column) {
+            return column == Column.SOURCE ? this.sourceCount : this.authorCount;
+        }
+
+        /**
+         * The parallel count of a range of rows: split in halves until {@link #THRESHOLD} rows, each
+         * worker adds to its own matrix of counts.
+         */
+        private final class Scan extends RecursiveAction {
+
+            /**
+             * The version of the serialization.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * The codes of the column.
+             */
+            private final int[] codes;
+
+            /**
+             * The number of codes.
+             */
+            private final int codeCount;
+
+            /**
+             * The min publishedAt, inclusive.
+             */
+            private final long from;
+
+            /**
+             * The max publishedAt, exclusive.
+             */
+            private final long to;
+
+            /**
+             * The size of the buckets, in millis.
+             */
+            private final long bucket;
+
+            /**
+             * The number of buckets.
+             */
+            private final int buckets;
+
+            /**
+             * The counts of each worker.
+             */
+            private final Map<Thread, long[][]> partials;
+
+            /**
+             * The first row.
+             */
+            private final int start;
+
+            /**
+             * The last row, exclusive.
+             */
+            private final int end;
+
+            /**
+             * The Constructor.
+             *
+             * @param codes     of the column.
+             * @param codeCount the number of codes.
+             * @param from      the min publishedAt, inclusive.
+             * @param to        the max publishedAt, exclusive.
+             * @param bucket    the size of the buckets, in millis.
+             * @param buckets   the number of buckets.
+             * @param partials  the counts of each worker.
+             * @param start     the first row.
+             * @param end       the last row, exclusive.
+             */
+            Scan(final int[] codes, final int codeCount, final long from, final long to, final long bucket,
+                 final int buckets, final Map<Thread, long[][]> partials, final int start, final int end) {
+                this.codes = codes;
+                this.codeCount = codeCount;
+                this.from = from;
+                this.to = to;
+                this.bucket = bucket;
+                this.buckets = buckets;
+                this.partials = partials;
+                this.start = start;
+                this.end = end;
+            }
+
+            @Override
+            protected void compute() {
+                if (this.end - this.start > THRESHOLD) {
+                    final int middle = (this.start + this.end) >>> 1;
+                    invokeAll(new Scan(this.codes, this.codeCount, this.from, this.to, this.bucket, this.buckets, this.partials, this.start, middle),
+                            new Scan(this.codes, this.codeCount, this.from, this.to, this.bucket, this.buckets, this.partials, middle, this.end));
+                    return;
+                }
+
+                // A worker runs one leaf at a time
+                final long[][] counts = this.partials.computeIfAbsent(Thread.currentThread(),
+                        thread -> new long[this.buckets][this.codeCount]);
+                final long[] times = publishedAt;
+                if (this.buckets == 1) {
+                    final long[] count = counts[0];
+                    for (int row = this.start; row < this.end; row++) {
+                        final long time = times[row];
+                        if (time >= this.from && time < this.to) {
+                            count[this.codes[row]]++;
+                        }
+                    }
+                } else {
+                    for (int row = this.start; row < this.end; row++) {
+                        final long time = times[row];
+                        if (time >= this.from && time < this.to) {
+                            counts[(int) ((time - this.from) / this.bucket)][this.codes[row]]++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.images;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Decode the images of the {@link ImageLoader} downsampled to the size to show: the decoder
+ * skips pixels (inSampleSize), the full size image is never in memory.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class BitmapDecoder {
+
+    /**
+     * The Constructor.
+     */
+    private BitmapDecoder() {
+        // Nothing here
+    }
+
+    /**
+     * @param data   the encoded image.
+     * @param width  to show, in pixels.
+     * @param height to show, in pixels.
+     * @return the Bitmap, at least of width x height if the image is bigger, null if can't decode.
+     */
+    public static Bitmap decode(final byte[] data, final int width, final int height) {
+        Validation.notNull(data, "data");
+
+        // The size from the header, or from the decoder
+        ImageSize size = ImageSize.of(data);
+        if (size == null) {
+            final BitmapFactory.Options bounds = new BitmapFactory.Options();
+            bounds.inJustDecodeBounds = true;
+            BitmapFactory.decodeByteArray(data, 0, data.length, bounds);
+            size = new ImageSize(bounds.outWidth, bounds.outHeight);
+        }
+
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = size.sampleSize(new ImageSize(width, height));
+        return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+    }
+
+    /**
+     * @param bitmap to weigh.
+     * @return the bytes of the Bitmap, to bound a cache of Bitmap (see
+     * {@link cl.ucn.disc.dsm.gcornejo.news.utils.WeightedLruCache}).
+     */
+    public static int bytes(final Bitmap bitmap) {
+        return bitmap.getByteCount();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.images;
+
+import net.openhft.hashing.LongHashFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Cache of files in a directory, bounded in bytes: one file by url (named by the xxHash of the
+ * url), the least recently used deleted first. The writes go to a temporary file renamed at the
+ * end, a crash never leaves a partial image. Thread safe.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ImageDiskCache {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ImageDiskCache.class);
+
+    /**
+     * The hash function of the url.
+     */
+    private static final LongHashFunction XX = LongHashFunction.xx();
+
+    /**
+     * The extension of the temporary files.
+     */
+    private static final String TMP = ".tmp";
+
+    /**
+     * The directory of the files.
+     */
+    private final File directory;
+
+    /**
+     * The max total bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * The total bytes of the files.
+     */
+    private long bytes;
+
+    /**
+     * The Constructor.
+     *
+     * @param directory of the files, created if needed.
+     * @param maxBytes  max total bytes.
+     */
+    public ImageDiskCache(final File directory, final long maxBytes) {
+        Validation.notNull(directory, "directory");
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Error: maxBytes need to be >0");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Can't create the directory: " + directory);
+        }
+
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+
+        // The files of the last run, without the temporary ones
+        for (File file : this.files()) {
+            if (file.getName().endsWith(TMP)) {
+                if (!file.delete()) {
+                    log.warn("Can't delete {}", file);
+                }
+            } else {
+                this.bytes += file.length();
+            }
+        }
+        this.trim();
+    }
+
+    /**
+     * @param url of the image.
+     * @return the file of the url.
+     */
+    private File file(final String url) {
+        return new File(this.directory, String.format("%016x", XX.hashChars(url)));
+    }
+
+    /**
+     * @return the files of the directory.
+     */
+    private File[] files() {
+        final File[] files = this.directory.listFiles();
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * @param url of the image.
+     * @return the bytes of the image, null if not cached.
+     */
+    public synchronized byte[] get(final String url) {
+        Validation.notNull(url, "url");
+
+        final File file = this.file(url);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            final byte[] data = new byte[(int) in.length()];
+            in.readFully(data);
+
+            // Recently used
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                log.debug("Can't touch {}", file);
+            }
+            return data;
+        } catch (IOException e) {
+            log.warn("Can't read {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Save the image, deleting the least recently used to fit.
+     *
+     * @param url  of the image.
+     * @param data the bytes of the image.
+     */
+    public synchronized void put(final String url, final byte[] data) {
+        Validation.notNull(url, "url");
+        Validation.notNull(data, "data");
+        if (data.length > this.maxBytes) {
+            return;
+        }
+
+        final File file = this.file(url);
+        final File tmp = new File(this.directory, file.getName() + TMP);
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(data);
+        } catch (IOException e) {
+            log.warn("Can't write {}: {}", tmp, e.toString());
+            tmp.delete();
+            return;
+        }
+
+        final long previous = file.isFile() ? file.length() : 0;
+        if (!tmp.renameTo(file)) {
+            log.warn("Can't rename {}", tmp);
+            tmp.delete();
+            return;
+        }
+        this.bytes += data.length - previous;
+        this.trim();
+    }
+
+    /**
+     * Over the max bytes, delete the least recently used files until the 90% (to don't list the
+     * directory in each put).
+     */
+    private void trim() {
+        if (this.bytes <= this.maxBytes) {
+            return;
+        }
+
+        final long target = this.maxBytes - this.maxBytes / 10;
+        final File[] files = this.files();
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (this.bytes <= target) {
+                break;
+            }
+            final long length = file.length();
+            if (file.delete()) {
+                this.bytes -= length;
+            }
+        }
+    }
+
+    /**
+     * @return the total bytes of the files.
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.images;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import cl.ucn.disc.dsm.gcornejo.news.utils.WeightedLruCache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Load the encoded images of the {@link News#getUrlImage()}: memory (LRU bounded in bytes), then
+ * disk, then network. The loads of the same url at the same time share one request. The
+ * decoding (and downsampling, see {@link ImageSize#sampleSize(ImageSize)}) is of the platform.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ImageLoader implements Closeable {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ImageLoader.class);
+
+    /**
+     * The http client.
+     */
+    private final OkHttpClient client;
+
+    /**
+     * The images in memory.
+     */
+    private final WeightedLruCache<String, byte[]> memory;
+
+    /**
+     * The images in disk.
+     */
+    private final ImageDiskCache disk;
+
+    /**
+     * The thread of the disk.
+     */
+    private final ExecutorService io;
+
+    /**
+     * The loads in progress, by url.
+     */
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * The max number of prefetches in progress.
+     */
+    private final int maxPrefetch;
+
+    /**
+     * The prefetches in progress.
+     */
+    private final AtomicInteger prefetching = new AtomicInteger();
+
+    /**
+     * The counters.
+     */
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * The Constructor.
+     *
+     * @param client      to download, see {@link cl.ucn.disc.dsm.gcornejo.news.services.NewsApiHttpClient}.
+     * @param memoryBytes max bytes of the images in memory.
+     * @param disk        the cache in disk.
+     * @param maxPrefetch max number of prefetches in progress.
+     */
+    public ImageLoader(final OkHttpClient client, final long memoryBytes, final ImageDiskCache disk, final int maxPrefetch) {
+        Validation.notNull(client, "client");
+        Validation.notNull(disk, "disk");
+        if (maxPrefetch < 0) {
+            throw new IllegalArgumentException("Error: maxPrefetch need to be >=0");
+        }
+
+        this.client = client;
+        this.memory = new WeightedLruCache<>(memoryBytes, data -> data.length);
+        this.disk = disk;
+        this.maxPrefetch = maxPrefetch;
+
+        final AtomicInteger counter = new AtomicInteger();
+        this.io = Executors.newFixedThreadPool(2, runnable -> {
+            final Thread thread = new Thread(runnable, "image-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param url of the image.
+     * @return the image in memory, or null.
+     */
+    public byte[] getIfPresent(final String url) {
+        Validation.notNull(url, "url");
+        return this.memory.get(url);
+    }
+
+    /**
+     * Load the image.
+     *
+     * @param url of the image.
+     * @return the future bytes of the image.
+     */
+    public CompletableFuture<byte[]> load(final String url) {
+        Validation.notNull(url, "url");
+
+        final byte[] cached = this.memory.get(url);
+        if (cached != null) {
+            this.memoryHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Join the load in progress, or start a new one
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        final CompletableFuture<byte[]> running = this.inFlight.putIfAbsent(url, future);
+        if (running != null) {
+            this.coalesced.incrementAndGet();
+            return running.thenApply(data -> data);
+        }
+
+        try {
+            this.io.execute(() -> {
+                final byte[] stored = this.disk.get(url);
+                if (stored != null) {
+                    this.diskHits.incrementAndGet();
+                    this.complete(url, future, stored, null);
+                } else {
+                    this.download(url, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.complete(url, future, null, e);
+        }
+
+        // Each caller can cancel its own future
+        return future.thenApply(data -> data);
+    }
+
+    /**
+     * Save the image in memory (before the callers see it) and complete the load.
+     *
+     * @param url    of the image.
+     * @param future of the load.
+     * @param data   of the image, null in case of error.
+     * @param t      the error, null if ok.
+     */
+    private void complete(final String url, final CompletableFuture<byte[]> future, final byte[] data, final Throwable t) {
+        if (data != null) {
+            this.memory.put(url, data);
+        }
+        this.inFlight.remove(url, future);
+        if (t == null) {
+            future.complete(data);
+        } else {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Download the image and save it in disk.
+     *
+     * @param url    of the image.
+     * @param future to complete.
+     */
+    private void download(final String url, final CompletableFuture<byte[]> future) {
+        this.downloads.incrementAndGet();
+
+        final Request request;
+        try {
+            request = new Request.Builder().url(url).build();
+        } catch (IllegalArgumentException e) {
+            this.complete(url, future, null, e);
+            return;
+        }
+
+        this.client.newCall(request).enqueue(new Callback() {
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        complete(url, future, null, new IOException("Error: " + response.code() + " --> " + url));
+                        return;
+                    }
+                    final byte[] data = body.bytes();
+                    disk.put(url, data);
+                    complete(url, future, data, null);
+                } catch (IOException e) {
+                    complete(url, future, null, e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                complete(url, future, null, e);
+            }
+        });
+    }
+
+    /**
+     * Warm the images of the News (not in memory), without exceeding the max number of
+     * prefetches in progress.
+     *
+     * @param news to prefetch.
+     * @return the number of prefetches started.
+     */
+    public int prefetch(final Collection<News> news) {
+        Validation.notNull(news, "news");
+
+        int started = 0;
+        for (News n : news) {
+            if (n != null && this.prefetch(n)) {
+                started++;
+            }
+        }
+        return started;
+    }
+
+    /**
+     * @param news to prefetch.
+     * @return true if started.
+     */
+    private boolean prefetch(final News news) {
+        final String url = news.getUrlImage();
+        if (url == null || this.memory.get(url) != null || this.inFlight.containsKey(url)) {
+            return false;
+        }
+        if (this.prefetching.incrementAndGet() > this.maxPrefetch) {
+            this.prefetching.decrementAndGet();
+            return false;
+        }
+
+        this.load(url).whenComplete((data, t) -> {
+            this.prefetching.decrementAndGet();
+            if (t != null) {
+                log.debug("Prefetch of {} failed: {}", url, t.toString());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Iterate the News warming the images of the next ones (i.e. the next page of
+     * {@link cl.ucn.disc.dsm.gcornejo.news.services.Contracts#iterateNews(Integer)}).
+     *
+     * @param news  to iterate.
+     * @param ahead number of News to prefetch ahead.
+     * @return the Iterator of the same News.
+     */
+    public Iterator<News> prefetching(final Iterator<News> news, final int ahead) {
+        Validation.notNull(news, "news");
+        if (ahead < 1) {
+            throw new IllegalArgumentException("Error: ahead need to be >0");
+        }
+        return new Iterator<News>() {
+
+            /**
+             * The News read ahead.
+             */
+            private final Deque<News> buffer = new ArrayDeque<>(ahead + 1);
+
+            @Override
+            public boolean hasNext() {
+                return !this.buffer.isEmpty() || news.hasNext();
+            }
+
+            @Override
+            public News next() {
+                // Keep the next "ahead" News read, and prefetched
+                while (this.buffer.size() <= ahead && news.hasNext()) {
+                    final News next = news.next();
+                    prefetch(next);
+                    this.buffer.addLast(next);
+                }
+                if (this.buffer.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                return this.buffer.pollFirst();
+            }
+        };
+    }
+
+    /**
+     * @return the number of loads from memory.
+     */
+    public long getMemoryHits() {
+        return this.memoryHits.get();
+    }
+
+    /**
+     * @return the number of loads from disk.
+     */
+    public long getDiskHits() {
+        return this.diskHits.get();
+    }
+
+    /**
+     * @return the number of downloads.
+     */
+    public long getDownloads() {
+        return this.downloads.get();
+    }
+
+    /**
+     * @return the number of loads joined to other in progress.
+     */
+    public long getCoalesced() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * @return the bytes of the images in memory.
+     */
+    public long getMemoryBytes() {
+        return this.memory.getWeight();
+    }
+
+    /**
+     * Stop the thread of the disk and fail the loads in progress (the lookups in disk not started
+     * are dropped).
+     */
+    @Override
+    public void close() {
+        this.io.shutdownNow();
+        for (Map.Entry<String, CompletableFuture<byte[]>> load : this.inFlight.entrySet()) {
+            this.complete(load.getKey(), load.getValue(), null, new CancellationException("ImageLoader closed"));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.images;
+
+/**
+ * The width and height of an encoded image (PNG, JPEG, GIF or WebP), read from the header
+ * without decoding it, and the sample size to downsample it to a target size.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ImageSize {
+
+    /**
+     * The width, in pixels.
+     */
+    private final int width;
+
+    /**
+     * The height, in pixels.
+     */
+    private final int height;
+
+    /**
+     * The Constructor.
+     *
+     * @param width  in pixels.
+     * @param height in pixels.
+     */
+    public ImageSize(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return the width, in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height, in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * The largest power of 2 that keeps the image at least of the target size (the
+     * inSampleSize of the Android decoder).
+     *
+     * @param target the size to show.
+     * @return the sample size, >= 1.
+     */
+    public int sampleSize(final ImageSize target) {
+        int sample = 1;
+        if (target.width <= 0 || target.height <= 0) {
+            return sample;
+        }
+        while (this.width / (sample * 2) >= target.width && this.height / (sample * 2) >= target.height) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    /**
+     * @param data the encoded image.
+     * @return the size of the image, null if unknown format.
+     */
+    public static ImageSize of(final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        // PNG: the IHDR chunk
+        if (data.length >= 24 && u8(data, 0) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return new ImageSize(be32(data, 16), be32(data, 20));
+        }
+
+        // GIF: the logical screen
+        if (data.length >= 10 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F') {
+            return new ImageSize(le16(data, 6), le16(data, 8));
+        }
+
+        // JPEG: the first start of frame
+        if (data.length >= 4 && u8(data, 0) == 0xFF && u8(data, 1) == 0xD8) {
+            return jpeg(data);
+        }
+
+        // WebP: lossy, lossless or extended
+        if (data.length >= 30 && data[0] == 'R' && data[1] == 'I' && data[2] == 'F' && data[3] == 'F'
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return webp(data);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param data the JPEG.
+     * @return the size of the first frame, null if not found.
+     */
+    private static ImageSize jpeg(final byte[] data) {
+        int i = 2;
+        while (i + 9 < data.length) {
+            if (u8(data, i) != 0xFF) {
+                return null;
+            }
+            final int marker = u8(data, i + 1);
+            if (marker == 0xFF) {
+                // Fill byte
+                i++;
+                continue;
+            }
+            // SOF0..SOF15, without DHT (C4), JPG (C8) and DAC (CC)
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                return new ImageSize(be16(data, i + 7), be16(data, i + 5));
+            }
+            // Markers without length
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                i += 2;
+                continue;
+            }
+            i += 2 + be16(data, i + 2);
+        }
+        return null;
+    }
+
+    /**
+     * @param data the WebP.
+     * @return the size, null if unknown chunk.
+     */
+    private static ImageSize webp(final byte[] data) {
+        if (data[12] == 'V' && data[13] == 'P' && data[14] == '8') {
+            switch (data[15]) {
+                case ' ':
+                    return new ImageSize(le16(data, 26) & 0x3FFF, le16(data, 28) & 0x3FFF);
+                case 'L':
+                    // 14 bits of width - 1 and 14 bits of height - 1, after the signature
+                    final int bits = le16(data, 21) | le16(data, 23) << 16;
+                    return new ImageSize(1 + (bits & 0x3FFF), 1 + (bits >>> 14 & 0x3FFF));
+                case 'X':
+                    return new ImageSize(1 + le24(data, 24), 1 + le24(data, 27));
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param data the bytes.
+     * @param i    the offset.
+     * @return the unsigned byte at i.
+     */
+    private static int u8(final byte[] data, final int i) {
+        return data[i] & 0xFF;
+    }
+
+    /**
+     * @param data the bytes.
+     * @param i    the offset.
+     * @return the big endian unsigned short at i.
+     */
+    private static int be16(final byte[] data, final int i) {
+        return u8(data, i) << 8 | u8(data, i + 1);
+    }
+
+    /**
+     * @param data the bytes.
+     * @param i    the offset.
+     * @return the big endian int at i.
+     */
+    private static int be32(final byte[] data, final int i) {
+        return be16(data, i) << 16 | be16(data, i + 2);
+    }
+
+    /**
+     * @param data the bytes.
+     * @param i    the offset.
+     * @return the little endian unsigned short at i.
+     */
+    private static int le16(final byte[] data, final int i) {
+        return u8(data, i) | u8(data, i + 1) << 8;
+    }
+
+    /**
+     * @param data the bytes.
+     * @param i    the offset.
+     * @return the little endian unsigned 24 bits at i.
+     */
+    private static int le24(final byte[] data, final int i) {
+        return le16(data, i) | u8(data, i + 2) << 16;
+    }
+
+    /**
+     * @return the size, as widthxheight.
+     */
+    @Override
+    public String toString() {
+        return width + "x" + height;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies, in nanos, with buckets of log-linear size (like HdrHistogram): the
+ * values are exact until 127 and then with an error of 1/64 (1.6%), until 2^42 (73 minutes, the
+ * values over are counted in the last bucket). Thread safe, the record is one atomic add.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The bits of the sub buckets.
+     */
+    private static final int BITS = 7;
+
+    /**
+     * The number of sub buckets.
+     */
+    private static final int SUB = 1 << BITS;
+
+    /**
+     * The half of the sub buckets.
+     */
+    private static final int HALF = SUB / 2;
+
+    /**
+     * The max value.
+     */
+    static final long MAX = (1L << 42) - 1;
+
+    /**
+     * The counts by bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX) + 1);
+
+    /**
+     * The number of values.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of the values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The max of the values.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value to find.
+     * @return the bucket of the value.
+     */
+    static int index(final long value) {
+        final int bucket = 63 - Long.numberOfLeadingZeros(value | (SUB - 1)) - (BITS - 1);
+        return bucket * HALF + (int) (value >>> bucket);
+    }
+
+    /**
+     * @param index of the bucket.
+     * @return the highest value of the bucket.
+     */
+    static long value(final int index) {
+        if (index < SUB) {
+            return index;
+        }
+        final int bucket = index / HALF - 1;
+        return ((long) (index - bucket * HALF + 1) << bucket) - 1;
+    }
+
+    /**
+     * Record one value.
+     *
+     * @param nanos the latency.
+     */
+    public void record(final long nanos) {
+        final long value = Math.min(MAX, Math.max(0, nanos));
+        this.counts.incrementAndGet(index(value));
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Record the time from start until now.
+     *
+     * @param start the {@link System#nanoTime()} of the start.
+     */
+    public void recordSince(final long start) {
+        this.record(System.nanoTime() - start);
+    }
+
+    /**
+     * @return the number of values.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return the mean of the values, in nanos.
+     */
+    public double getMean() {
+        final long count = this.count.sum();
+        return count == 0 ? 0 : (double) this.sum.sum() / count;
+    }
+
+    /**
+     * @return the max of the values, in nanos.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @param percentile in [0, 100].
+     * @return the value at the percentile, in nanos (the highest value of its bucket).
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Error: percentile need to be in [0, 100]");
+        }
+
+        // One pass for the total: the counts can change while reading
+        final int length = this.counts.length();
+        final long[] counts = new long[length];
+        long total = 0;
+        for (int i = 0; i < length; i++) {
+            counts[i] = this.counts.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(value(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + this.getCount()
+                + ", mean=" + TimeUnit.NANOSECONDS.toMicros((long) this.getMean()) + "us"
+                + ", p50=" + TimeUnit.NANOSECONDS.toMicros(this.getValueAtPercentile(50)) + "us"
+                + ", p99=" + TimeUnit.NANOSECONDS.toMicros(this.getValueAtPercentile(99)) + "us"
+                + ", max=" + TimeUnit.NANOSECONDS.toMicros(this.getMax()) + "us";
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The counters and latencies of the System, by name (i.e. saveNews.duplicate,
+ * getTopHeadlines.status.429). The users get the counter or histogram once and keep it: the
+ * hot path don't search the name. With {@link #DISABLED} nothing is instrumented.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class Metrics {
+
+    /**
+     * The Metrics that don't record (the decorators aren't installed).
+     */
+    public static final Metrics DISABLED = new Metrics(false);
+
+    /**
+     * True if the metrics are recorded.
+     */
+    private final boolean enabled;
+
+    /**
+     * The counters, by name.
+     */
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * The latencies, by name.
+     */
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * The Constructor.
+     */
+    public Metrics() {
+        this(true);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param enabled true to record.
+     */
+    private Metrics(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return true if the metrics are recorded.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @param name of the counter.
+     * @return the counter, new if needed (not saved if disabled).
+     */
+    public LongAdder counter(final String name) {
+        Validation.notNull(name, "name");
+        if (!this.enabled) {
+            return new LongAdder();
+        }
+        return this.counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * @param name of the histogram.
+     * @return the histogram, new if needed (not saved if disabled).
+     */
+    public LatencyHistogram latency(final String name) {
+        Validation.notNull(name, "name");
+        if (!this.enabled) {
+            return new LatencyHistogram();
+        }
+        return this.latencies.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * @param name of the counter.
+     * @return the value of the counter, 0 if not exists.
+     */
+    public long getCount(final String name) {
+        final LongAdder counter = this.counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @param name of the histogram.
+     * @return the histogram, null if not exists.
+     */
+    public LatencyHistogram getLatency(final String name) {
+        return this.latencies.get(name);
+    }
+
+    /**
+     * @return the values of the counters, by name.
+     */
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : this.counters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().sum());
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : this.getCounters().entrySet()) {
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(this.latencies).entrySet()) {
+            sb.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+}
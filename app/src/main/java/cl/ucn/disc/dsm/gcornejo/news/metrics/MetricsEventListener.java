@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * The OkHttp listener of the timings of each call: http.dns, http.connect, http.ttfb (time to
+ * the first byte of the response) and http.call; the counters http.status.*, http.failed and
+ * http.bytes (of the bodies received). One listener by call.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class MetricsEventListener extends EventListener {
+
+    /**
+     * The latency of the dns.
+     */
+    private final LatencyHistogram dns;
+
+    /**
+     * The latency of the connect.
+     */
+    private final LatencyHistogram connect;
+
+    /**
+     * The time to the first byte of the response.
+     */
+    private final LatencyHistogram ttfb;
+
+    /**
+     * The latency of the call.
+     */
+    private final LatencyHistogram call;
+
+    /**
+     * The calls failed.
+     */
+    private final LongAdder failed;
+
+    /**
+     * The bytes of the bodies received.
+     */
+    private final LongAdder bytes;
+
+    /**
+     * The Metrics, for the status.
+     */
+    private final Metrics metrics;
+
+    /**
+     * The start of the call.
+     */
+    private long callStart;
+
+    /**
+     * The start of the dns.
+     */
+    private long dnsStart;
+
+    /**
+     * The start of the connect.
+     */
+    private long connectStart;
+
+    /**
+     * The Constructor.
+     *
+     * @param metrics to record.
+     */
+    private MetricsEventListener(final Metrics metrics) {
+        this.metrics = metrics;
+        this.dns = metrics.latency("http.dns");
+        this.connect = metrics.latency("http.connect");
+        this.ttfb = metrics.latency("http.ttfb");
+        this.call = metrics.latency("http.call");
+        this.failed = metrics.counter("http.failed");
+        this.bytes = metrics.counter("http.bytes");
+    }
+
+    /**
+     * @param metrics to record.
+     * @return the factory of listeners, {@link EventListener#NONE} if disabled.
+     */
+    public static EventListener.Factory factory(final Metrics metrics) {
+        Validation.notNull(metrics, "metrics");
+        if (!metrics.isEnabled()) {
+            return call -> EventListener.NONE;
+        }
+        return call -> new MetricsEventListener(metrics);
+    }
+
+    @Override
+    public void callStart(final Call call) {
+        this.callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(final Call call, final String domainName) {
+        this.dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(final Call call, final String domainName, final List<InetAddress> inetAddressList) {
+        this.dns.recordSince(this.dnsStart);
+    }
+
+    @Override
+    public void connectStart(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy) {
+        this.connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy, final Protocol protocol) {
+        this.connect.recordSince(this.connectStart);
+    }
+
+    @Override
+    public void connectFailed(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy,
+                              final Protocol protocol, final IOException ioe) {
+        this.connect.recordSince(this.connectStart);
+    }
+
+    @Override
+    public void responseHeadersStart(final Call call) {
+        this.ttfb.recordSince(this.callStart);
+    }
+
+    @Override
+    public void responseHeadersEnd(final Call call, final Response response) {
+        this.metrics.counter("http.status." + response.code()).increment();
+    }
+
+    @Override
+    public void responseBodyEnd(final Call call, final long byteCount) {
+        this.bytes.add(byteCount);
+    }
+
+    @Override
+    public void callEnd(final Call call) {
+        this.call.recordSince(this.callStart);
+    }
+
+    @Override
+    public void callFailed(final Call call, final IOException ioe) {
+        this.call.recordSince(this.callStart);
+        this.failed.increment();
+    }
+}
@@ -10,8 +10,9 @@
 
 package cl.ucn.disc.dsm.gcornejo.news.model;
 
-import net.openhft.hashing.LongHashFunction;
-
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZoneOffset;
 import org.threeten.bp.ZonedDateTime;
 
 import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
@@ -23,6 +24,26 @@ import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
  */
 public final class News {
 
+    /**
+     * The min size of the title.
+     */
+    public static final int MIN_TITLE = 2;
+
+    /**
+     * The min size of the source.
+     */
+    public static final int MIN_SOURCE = 2;
+
+    /**
+     * The min size of the author.
+     */
+    public static final int MIN_AUTHOR = 3;
+
+    /**
+     * The min size of the description.
+     */
+    public static final int MIN_DESCRIPTION = 10;
+
     /**
      * Unique id.
      */
@@ -65,9 +86,24 @@ public final class News {
     private final String content;
 
     /**
-     * The Date of publish
+     * The Date of publish, in epoch millis.
+     */
+    private final long publishedAt;
+
+    /**
+     * The nanos of the Date of publish after the millis.
+     */
+    private final int publishedAtNanos;
+
+    /**
+     * The zone of the Date of publish.
      */
-    private final ZonedDateTime publishedAt;
+    private final ZoneId zone;
+
+    /**
+     * The Date of publish, built at the first {@link #getPublishedAt()}.
+     */
+    private ZonedDateTime publishedAtTime;
 
     /**
      * The Constructor.
@@ -82,31 +118,119 @@ public final class News {
      * @param publishedAt   can't be null.
      */
     public News(String title, String source, String author, String url, String urlImage, String description, String content, ZonedDateTime publishedAt) {
+        this(title, source, author, url, urlImage, description, content,
+                millis(publishedAt), publishedAt.getNano() % 1_000_000, publishedAt.getZone());
+        this.publishedAtTime = publishedAt;
+    }
+
+    /**
+     * The Constructor, without the ZonedDateTime (built when needed).
+     *
+     * @param title         can't be null.
+     * @param source        can't be null.
+     * @param author        can't be null.
+     * @param url           to the main article.
+     * @param urlImage      to the image.
+     * @param description   ~full article.
+     * @param content       can't be null.
+     * @param publishedAt   in epoch millis.
+     * @param zone          of the publishedAt, can't be null.
+     */
+    public News(String title, String source, String author, String url, String urlImage, String description, String content, long publishedAt, ZoneId zone) {
+        this(title, source, author, url, urlImage, description, content, publishedAt, 0, zone);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param title            can't be null.
+     * @param source           can't be null.
+     * @param author           can't be null.
+     * @param url              to the main article.
+     * @param urlImage         to the image.
+     * @param description      ~full article.
+     * @param content          can't be null.
+     * @param publishedAt      in epoch millis.
+     * @param publishedAtNanos after the millis, [0, 999999].
+     * @param zone             of the publishedAt, can't be null.
+     */
+    News(String title, String source, String author, String url, String urlImage, String description, String content, long publishedAt, int publishedAtNanos, ZoneId zone) {
 
-        Validation.minSize(title, 2, "title");
+        Validation.minSize(title, MIN_TITLE, "title");
         this.title = title;
 
-        Validation.minSize(source, 2, "source");
+        Validation.minSize(source, MIN_SOURCE, "source");
         this.source = source;
 
-        Validation.minSize(author, 3, "author");
+        Validation.minSize(author, MIN_AUTHOR, "author");
         this.author = author;
 
         // Hashing unique! https://github.com/Cyan4973/xxHash
-        this.id = LongHashFunction.xx().hashChars(title + "|" + source + "|" + author);
+        this.id = NewsIdHasher.hash(title, source, author);
 
         // Can't be null
         this.url = url;
         this.urlImage = urlImage;
 
-        Validation.minSize(description, 10, "description");
+        Validation.minSize(description, MIN_DESCRIPTION, "description");
         this.description = description;
 
         Validation.notNull(content, "content");
         this.content = content;
 
-        Validation.notNull(publishedAt, "publishedAt");
+        Validation.notNull(zone, "zone");
         this.publishedAt = publishedAt;
+        this.publishedAtNanos = publishedAtNanos;
+        this.zone = zone;
+    }
+
+    /**
+     * @param publishedAt to convert, can't be null.
+     * @return the epoch millis.
+     */
+    private static long millis(ZonedDateTime publishedAt) {
+        Validation.notNull(publishedAt, "publishedAt");
+        return publishedAt.toInstant().toEpochMilli();
+    }
+
+    /**
+     * Check the restrictions of the Constructor without exception, for the bulk imports (one bad
+     * article don't stop the page).
+     *
+     * @param title       to check.
+     * @param source      to check.
+     * @param author      to check.
+     * @param description to check.
+     * @param content     to check.
+     * @param publishedAt to check.
+     * @param result      to fill with the first field rejected, reusable.
+     * @return true if the News can be built.
+     */
+    public static boolean isValid(String title, String source, String author, String description, String content,
+                                  ZonedDateTime publishedAt, Validation.Result result) {
+        return isValid(title, source, author, description, content, result)
+                && Validation.notNull(publishedAt, "publishedAt", result);
+    }
+
+    /**
+     * Check the restrictions of the Constructor without exception, but the publishedAt.
+     *
+     * @param title       to check.
+     * @param source      to check.
+     * @param author      to check.
+     * @param description to check.
+     * @param content     to check.
+     * @param result      to fill with the first field rejected, reusable.
+     * @return true if the News can be built (with a publishedAt).
+     */
+    public static boolean isValid(String title, String source, String author, String description, String content,
+                                  Validation.Result result) {
+        result.reset();
+        return Validation.minSize(title, MIN_TITLE, "title", result)
+                && Validation.minSize(source, MIN_SOURCE, "source", result)
+                && Validation.minSize(author, MIN_AUTHOR, "author", result)
+                && Validation.minSize(description, MIN_DESCRIPTION, "description", result)
+                && Validation.notNull(content, "content", result);
     }
 
     /**
@@ -166,9 +290,54 @@ public final class News {
     }
 
     /**
-     * @return the PublishedAt
+     * @return the PublishedAt, built (and kept) at the first call.
      */
     public ZonedDateTime getPublishedAt() {
+        // Race without harm: ZonedDateTime is immutable
+        ZonedDateTime time = this.publishedAtTime;
+        if (time == null) {
+            time = ZonedDateTime.ofInstant(this.getPublishedAtInstant(), this.zone);
+            this.publishedAtTime = time;
+        }
+        return time;
+    }
+
+    /**
+     * @return the PublishedAt, in epoch millis.
+     */
+    public long getPublishedAtMillis() {
         return publishedAt;
     }
+
+    /**
+     * @return the nanos of the PublishedAt after the millis.
+     */
+    int getPublishedAtNanos() {
+        return publishedAtNanos;
+    }
+
+    /**
+     * @return the zone of the PublishedAt.
+     */
+    ZoneId getPublishedAtZone() {
+        return zone;
+    }
+
+    /**
+     * @return the offset of the PublishedAt, without the ZonedDateTime if the zone is an offset.
+     */
+    ZoneOffset getPublishedAtOffset() {
+        if (this.zone instanceof ZoneOffset) {
+            return (ZoneOffset) this.zone;
+        }
+        return this.zone.getRules().getOffset(this.getPublishedAtInstant());
+    }
+
+    /**
+     * @return the PublishedAt, as Instant.
+     */
+    private Instant getPublishedAtInstant() {
+        return Instant.ofEpochSecond(Math.floorDiv(this.publishedAt, 1_000L),
+                Math.floorMod(this.publishedAt, 1_000L) * 1_000_000L + this.publishedAtNanos);
+    }
 }
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import org.threeten.bp.ZoneOffset;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary format of {@link News}.
+ *
+ * A record is: the strings (title, source, author, url, urlImage, description, content) as a
+ * varint of length + 1 (0 is null) plus the UTF-8 bytes, and the publishedAt as zigzag varints of
+ * the epoch-second, the nano and the offset in seconds (the zone is stored as its offset). A
+ * single News is [version][record] and a batch is [version][varint count][record]..
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsCodec {
+
+    /**
+     * The version of the format.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * The reusable buffer of each thread, for the strings of a direct buffer.
+     */
+    private static final ThreadLocal<byte[]> BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[256];
+        }
+    };
+
+    /**
+     * The Constructor.
+     */
+    private NewsCodec() {
+        // Nothing here
+    }
+
+    /**
+     * Write one News, with the version.
+     *
+     * @param news to write.
+     * @param out  the buffer, with at least {@link #size(News)} + 1 bytes remaining.
+     */
+    public static void encode(final News news, final ByteBuffer out) {
+        out.put(VERSION);
+        encodeRecord(news, out);
+    }
+
+    /**
+     * Read one News, written by {@link #encode(News, ByteBuffer)}.
+     *
+     * @param in the buffer.
+     * @return the News.
+     * @throws IllegalArgumentException in case of wrong version or truncated data.
+     */
+    public static News decode(final ByteBuffer in) {
+        checkVersion(in);
+        return decodeRecord(in);
+    }
+
+    /**
+     * Write a batch of News, with the version and the count.
+     *
+     * @param news to write.
+     * @param out  the buffer, with at least {@link #size(List)} bytes remaining.
+     */
+    public static void encodeAll(final List<News> news, final ByteBuffer out) {
+        out.put(VERSION);
+        putVarint(out, news.size());
+        for (int i = 0; i < news.size(); i++) {
+            encodeRecord(news.get(i), out);
+        }
+    }
+
+    /**
+     * Read a batch of News, written by {@link #encodeAll(List, ByteBuffer)}.
+     *
+     * @param in the buffer.
+     * @return the List of News.
+     * @throws IllegalArgumentException in case of wrong version or truncated data.
+     */
+    public static List<News> decodeAll(final ByteBuffer in) {
+        checkVersion(in);
+        try {
+            final int count = (int) getVarint(in);
+            if (count < 0 || count > in.remaining()) {
+                throw new IllegalArgumentException("Wrong count: " + count);
+            }
+            final List<News> news = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                news.add(decodeRecord(in));
+            }
+            return news;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated data", e);
+        }
+    }
+
+    /**
+     * @param news to measure.
+     * @return the bytes of the record, without the version.
+     */
+    public static int size(final News news) {
+        final long millis = news.getPublishedAtMillis();
+        return sizeOf(news.getTitle())
+                + sizeOf(news.getSource())
+                + sizeOf(news.getAuthor())
+                + sizeOf(news.getUrl())
+                + sizeOf(news.getUrlImage())
+                + sizeOf(news.getDescription())
+                + sizeOf(news.getContent())
+                + varintSize(zigzag(Math.floorDiv(millis, 1_000L)))
+                + varintSize(nano(news))
+                + varintSize(zigzag(news.getPublishedAtOffset().getTotalSeconds()));
+    }
+
+    /**
+     * @param news to measure.
+     * @return the bytes of the batch, with the version and the count.
+     */
+    public static int size(final List<News> news) {
+        int size = 1 + varintSize(news.size());
+        for (int i = 0; i < news.size(); i++) {
+            size += size(news.get(i));
+        }
+        return size;
+    }
+
+    /**
+     * Write one News, without the version.
+     *
+     * @param news to write.
+     * @param out  the buffer, with at least {@link #size(News)} bytes remaining.
+     */
+    public static void encodeRecord(final News news, final ByteBuffer out) {
+        putString(out, news.getTitle());
+        putString(out, news.getSource());
+        putString(out, news.getAuthor());
+        putString(out, news.getUrl());
+        putString(out, news.getUrlImage());
+        putString(out, news.getDescription());
+        putString(out, news.getContent());
+
+        putVarint(out, zigzag(Math.floorDiv(news.getPublishedAtMillis(), 1_000L)));
+        putVarint(out, nano(news));
+        putVarint(out, zigzag(news.getPublishedAtOffset().getTotalSeconds()));
+    }
+
+    /**
+     * @param news to read.
+     * @return the nano of second of the publishedAt.
+     */
+    private static int nano(final News news) {
+        return (int) Math.floorMod(news.getPublishedAtMillis(), 1_000L) * 1_000_000 + news.getPublishedAtNanos();
+    }
+
+    /**
+     * Read one News, written by {@link #encodeRecord(News, ByteBuffer)}.
+     *
+     * @param in the buffer.
+     * @return the News.
+     * @throws IllegalArgumentException in case of truncated data.
+     */
+    public static News decodeRecord(final ByteBuffer in) {
+        try {
+            final String title = getString(in);
+            final String source = NewsStrings.source(getString(in));
+            final String author = NewsStrings.author(getString(in));
+            final String url = getString(in);
+            final String urlImage = getString(in);
+            final String description = getString(in);
+            final String content = getString(in);
+
+            final long epochSecond = unzigzag(getVarint(in));
+            final int nano = (int) getVarint(in);
+            final ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) unzigzag(getVarint(in)));
+
+            return new News(title, source, author, url, urlImage, description, content,
+                    epochSecond * 1_000L + nano / 1_000_000, nano % 1_000_000, offset);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated data", e);
+        }
+    }
+
+    /**
+     * Read the header of one News, written by {@link #encodeRecord(News, ByteBuffer)}: the
+     * url, description and content are skipped, without decoding them.
+     *
+     * @param in the buffer.
+     * @return the header of the News.
+     * @throws IllegalArgumentException in case of truncated data.
+     */
+    public static NewsHeader decodeHeader(final ByteBuffer in) {
+        try {
+            final String title = getString(in);
+            final String source = NewsStrings.source(getString(in));
+            final String author = getString(in);
+            skipString(in);
+            final String urlImage = getString(in);
+            skipString(in);
+            skipString(in);
+
+            final long epochSecond = unzigzag(getVarint(in));
+            final int nano = (int) getVarint(in);
+            final ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) unzigzag(getVarint(in)));
+
+            return new NewsHeader(NewsIdHasher.hash(title, source, author), title, source, urlImage,
+                    epochSecond * 1_000L + nano / 1_000_000, nano % 1_000_000, offset);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated data", e);
+        }
+    }
+
+    /**
+     * @param in the buffer.
+     * @throws IllegalArgumentException in case of wrong version.
+     */
+    private static void checkVersion(final ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new IllegalArgumentException("Truncated data");
+        }
+        final byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Wrong version: " + version);
+        }
+    }
+
+    /**
+     * @param s the string, can be null.
+     * @return the bytes of the length + the UTF-8.
+     */
+    private static int sizeOf(final String s) {
+        if (s == null) {
+            return 1;
+        }
+        final int length = utf8Length(s);
+        return varintSize(length + 1) + length;
+    }
+
+    /**
+     * @param s the string.
+     * @return the length in UTF-8, as String.getBytes (an unpaired surrogate is '?').
+     */
+    private static int utf8Length(final String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Write the length + 1 and the UTF-8 bytes, without an intermediate byte[].
+     *
+     * @param out the buffer.
+     * @param s   the string, can be null.
+     */
+    private static void putString(final ByteBuffer out, final String s) {
+        if (s == null) {
+            out.put((byte) 0);
+            return;
+        }
+        final int length = utf8Length(s);
+        putVarint(out, length + 1);
+        if (length > out.remaining()) {
+            throw new BufferOverflowException();
+        }
+
+        // Heap buffer: straight into the array
+        if (out.hasArray()) {
+            final int end = utf8(s, out.array(), out.arrayOffset() + out.position());
+            out.position(end - out.arrayOffset());
+            return;
+        }
+
+        byte[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        utf8(s, buffer, 0);
+        out.put(buffer, 0, length);
+    }
+
+    /**
+     * Encode the string in UTF-8, as String.getBytes (an unpaired surrogate is '?').
+     *
+     * @param s      the string.
+     * @param bytes  the output, with at least {@link #utf8Length(String)} bytes from offset.
+     * @param offset the first byte to write.
+     * @return the offset after the last byte written.
+     */
+    private static int utf8(final String s, final byte[] bytes, int offset) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[offset++] = (byte) (0xC0 | (c >> 6));
+                bytes[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, s.charAt(++i));
+                bytes[offset++] = (byte) (0xF0 | (cp >> 18));
+                bytes[offset++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                bytes[offset++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                bytes[offset++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                bytes[offset++] = (byte) '?';
+            } else {
+                bytes[offset++] = (byte) (0xE0 | (c >> 12));
+                bytes[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[offset++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * @param in the buffer.
+     * @return the string, can be null.
+     */
+    private static String getString(final ByteBuffer in) {
+        final long header = getVarint(in);
+        if (header == 0) {
+            return null;
+        }
+        final int length = (int) (header - 1);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Wrong length: " + length);
+        }
+
+        // Heap buffer: straight from the array
+        if (in.hasArray()) {
+            final String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return s;
+        }
+
+        byte[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        in.get(buffer, 0, length);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param in the buffer, moved after the string.
+     */
+    private static void skipString(final ByteBuffer in) {
+        final long header = getVarint(in);
+        if (header == 0) {
+            return;
+        }
+        final long length = header - 1;
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Wrong length: " + length);
+        }
+        in.position(in.position() + (int) length);
+    }
+
+    /**
+     * @param out   the buffer.
+     * @param value unsigned, 7 bits per byte.
+     */
+    private static void putVarint(final ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @param in the buffer.
+     * @return the unsigned value.
+     */
+    private static long getVarint(final ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * @param value unsigned.
+     * @return the bytes of the varint.
+     */
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * @param value signed.
+     * @return the value with the sign in the lowest bit.
+     */
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * @param value with the sign in the lowest bit.
+     * @return the signed value.
+     */
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The header of a {@link News}: the fields of a list of News, without the author, url,
+ * description and content (the body, see
+ * {@link cl.ucn.disc.dsm.gcornejo.news.services.Contracts#findNews(long)}).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsHeader {
+
+    /**
+     * The id of the News.
+     */
+    private final long id;
+
+    /**
+     * The Title.
+     */
+    private final String title;
+
+    /**
+     * The source.
+     */
+    private final String source;
+
+    /**
+     * The URL of image, can be null.
+     */
+    private final String urlImage;
+
+    /**
+     * The Date of publish, in epoch millis.
+     */
+    private final long publishedAt;
+
+    /**
+     * The nanos of the Date of publish after the millis.
+     */
+    private final int publishedAtNanos;
+
+    /**
+     * The zone of the Date of publish.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The Date of publish, built at the first {@link #getPublishedAt()}.
+     */
+    private ZonedDateTime publishedAtTime;
+
+    /**
+     * The Constructor.
+     *
+     * @param id          of the News.
+     * @param title       can't be null.
+     * @param source      can't be null.
+     * @param urlImage    to the image.
+     * @param publishedAt can't be null.
+     */
+    public NewsHeader(final long id, final String title, final String source, final String urlImage, final ZonedDateTime publishedAt) {
+        this(id, title, source, urlImage, millis(publishedAt), publishedAt.getNano() % 1_000_000, publishedAt.getZone());
+        this.publishedAtTime = publishedAt;
+    }
+
+    /**
+     * The Constructor, without the ZonedDateTime (built when needed).
+     *
+     * @param id          of the News.
+     * @param title       can't be null.
+     * @param source      can't be null.
+     * @param urlImage    to the image.
+     * @param publishedAt in epoch millis.
+     * @param zone        of the publishedAt, can't be null.
+     */
+    public NewsHeader(final long id, final String title, final String source, final String urlImage, final long publishedAt, final ZoneId zone) {
+        this(id, title, source, urlImage, publishedAt, 0, zone);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param id               of the News.
+     * @param title            can't be null.
+     * @param source           can't be null.
+     * @param urlImage         to the image.
+     * @param publishedAt      in epoch millis.
+     * @param publishedAtNanos after the millis, [0, 999999].
+     * @param zone             of the publishedAt, can't be null.
+     */
+    NewsHeader(final long id, final String title, final String source, final String urlImage, final long publishedAt, final int publishedAtNanos, final ZoneId zone) {
+        Validation.notNull(title, "title");
+        Validation.notNull(source, "source");
+        Validation.notNull(zone, "zone");
+
+        this.id = id;
+        this.title = title;
+        this.source = source;
+        this.urlImage = urlImage;
+        this.publishedAt = publishedAt;
+        this.publishedAtNanos = publishedAtNanos;
+        this.zone = zone;
+    }
+
+    /**
+     * @param publishedAt to convert, can't be null.
+     * @return the epoch millis.
+     */
+    private static long millis(final ZonedDateTime publishedAt) {
+        Validation.notNull(publishedAt, "publishedAt");
+        return publishedAt.toInstant().toEpochMilli();
+    }
+
+    /**
+     * @param news to summarize.
+     * @return the header of the News.
+     */
+    public static NewsHeader of(final News news) {
+        Validation.notNull(news, "news");
+        return new NewsHeader(news.getId(), news.getTitle(), news.getSource(), news.getUrlImage(),
+                news.getPublishedAtMillis(), news.getPublishedAtNanos(), news.getPublishedAtZone());
+    }
+
+    /**
+     * @return the id of the News.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the title.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return the source.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return the url of the image, can be null.
+     */
+    public String getUrlImage() {
+        return urlImage;
+    }
+
+    /**
+     * @return the date of publish, built (and kept) at the first call.
+     */
+    public ZonedDateTime getPublishedAt() {
+        // Race without harm: ZonedDateTime is immutable
+        ZonedDateTime time = this.publishedAtTime;
+        if (time == null) {
+            time = ZonedDateTime.ofInstant(Instant.ofEpochSecond(Math.floorDiv(this.publishedAt, 1_000L),
+                    Math.floorMod(this.publishedAt, 1_000L) * 1_000_000L + this.publishedAtNanos), this.zone);
+            this.publishedAtTime = time;
+        }
+        return time;
+    }
+
+    /**
+     * @return the date of publish, in epoch millis.
+     */
+    public long getPublishedAtMillis() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import net.openhft.hashing.LongHashFunction;
+
+/**
+ * The id of a {@link News}: xxHash of title + "|" + source + "|" + author, computed without
+ * building the concatenated String. The fields and the separators are copied into a char buffer
+ * reused by each thread, and the buffer is hashed in place.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsIdHasher {
+
+    /**
+     * The hash function: https://github.com/Cyan4973/xxHash
+     */
+    private static final LongHashFunction XX = LongHashFunction.xx();
+
+    /**
+     * The separator of the fields.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * The reusable buffer of each thread.
+     */
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[256];
+        }
+    };
+
+    /**
+     * The Constructor.
+     */
+    private NewsIdHasher() {
+        // Nothing here
+    }
+
+    /**
+     * @param title  of the News.
+     * @param source of the News.
+     * @param author of the News.
+     * @return the same value of xx().hashChars(title + "|" + source + "|" + author).
+     */
+    public static long hash(final String title, final String source, final String author) {
+        final int t = title.length();
+        final int s = source.length();
+        final int length = t + 1 + s + 1 + author.length();
+
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+
+        // title|source|author
+        title.getChars(0, t, buffer, 0);
+        buffer[t] = SEPARATOR;
+        source.getChars(0, s, buffer, t + 1);
+        buffer[t + 1 + s] = SEPARATOR;
+        author.getChars(0, author.length(), buffer, t + 1 + s + 1);
+
+        return XX.hashChars(buffer, 0, length);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.StringPool;
+
+/**
+ * The pools of the fields of {@link News} that repeat: a few hundred sources and some thousands
+ * of authors in all the News. Used when a News is built from outside (NewsApi, the stores).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsStrings {
+
+    /**
+     * The pool of sources.
+     */
+    public static final StringPool SOURCE = new StringPool(1024, 64);
+
+    /**
+     * The pool of authors.
+     */
+    public static final StringPool AUTHOR = new StringPool(8192, 128);
+
+    /**
+     * The Constructor.
+     */
+    private NewsStrings() {
+        // Nothing here
+    }
+
+    /**
+     * @param source of a News.
+     * @return the pooled source.
+     */
+    public static String source(final String source) {
+        return SOURCE.intern(source);
+    }
+
+    /**
+     * @param author of a News.
+     * @return the pooled author.
+     */
+    public static String author(final String author) {
+        return AUTHOR.intern(author);
+    }
+
+    /**
+     * @return the counters of each pool.
+     */
+    public static String statistics() {
+        return "source: " + SOURCE + "; author: " + AUTHOR;
+    }
+}
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * An incremental inverted index: the documents are numbered 0, 1, 2, .. in the order they are
+ * added, and each term keeps its postings (document, frequency, positions) in int arrays.
+ *
+ * The queries are terms, "phrases" in quotes and OR: {@code chile "segunda ola" OR pandemia} is
+ * (chile AND "segunda ola") OR pandemia. The hits are ranked with BM25.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class InvertedIndex {
+
+    /**
+     * The BM25 saturation of the frequency.
+     */
+    static final double K1 = 1.2;
+
+    /**
+     * The BM25 normalization by length.
+     */
+    static final double B = 0.75;
+
+    /**
+     * The gap of positions between fields, so a phrase can't cross them.
+     */
+    private static final int FIELD_GAP = 1;
+
+    /**
+     * The term -> postings.
+     */
+    private final Map<String, Postings> terms = new HashMap<>();
+
+    /**
+     * The number of terms of each document.
+     */
+    private int[] lengths = new int[64];
+
+    /**
+     * The number of documents.
+     */
+    private int size;
+
+    /**
+     * The sum of the lengths.
+     */
+    private long totalLength;
+
+    /**
+     * The lock: one writer or many readers.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add a document.
+     *
+     * @param fields the texts of the document (null fields are ignored).
+     * @return the number of the document.
+     */
+    public int add(final String... fields) {
+
+        // Tokenize outside the lock
+        final List<List<String>> tokens = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            tokens.add(Tokenizer.tokenize(field));
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            final int doc = this.size;
+
+            int position = 0;
+            int length = 0;
+            for (List<String> field : tokens) {
+                for (String term : field) {
+                    Postings postings = this.terms.get(term);
+                    if (postings == null) {
+                        postings = new Postings();
+                        this.terms.put(term, postings);
+                    }
+                    postings.add(doc, position++);
+                }
+                length += field.size();
+                position += FIELD_GAP;
+            }
+
+            if (doc == this.lengths.length) {
+                this.lengths = Arrays.copyOf(this.lengths, doc * 2);
+            }
+            this.lengths[doc] = length;
+            this.totalLength += length;
+            this.size++;
+            return doc;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of documents.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the documents.
+     *
+     * @param query the terms, "phrases" and OR.
+     * @param k     the max number of hits.
+     * @return the hits, the best first (and the newest first on ties).
+     */
+    public List<Hit> search(final String query, final int k) {
+        Validation.notNull(query, "query");
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+
+        final List<List<List<String>>> groups = parse(query);
+
+        // All the terms of the query, for the score
+        final Set<String> all = new LinkedHashSet<>();
+        for (List<List<String>> group : groups) {
+            for (List<String> element : group) {
+                all.addAll(element);
+            }
+        }
+
+        this.lock.readLock().lock();
+        try {
+            final Postings[] scoring = new Postings[all.size()];
+            final double[] idfs = new double[all.size()];
+            int n = 0;
+            for (String term : all) {
+                final Postings postings = this.terms.get(term);
+                if (postings != null) {
+                    scoring[n] = postings;
+                    idfs[n++] = Math.log(1 + (this.size - postings.size + 0.5) / (postings.size + 0.5));
+                }
+            }
+            final double avgLength = this.size == 0 ? 1 : (double) this.totalLength / this.size;
+
+            final PriorityQueue<Hit> top = new PriorityQueue<>(k + 1, Hit.WORST_FIRST);
+            final BitSet seen = new BitSet(groups.size() > 1 ? this.size : 0);
+
+            final int[] cursors = new int[n];
+            for (List<List<String>> group : groups) {
+
+                // The documents come in order, the cursors only move forward
+                Arrays.fill(cursors, 0);
+                for (int doc : this.match(group)) {
+
+                    // The same document from other group (OR)
+                    if (groups.size() > 1) {
+                        if (seen.get(doc)) {
+                            continue;
+                        }
+                        seen.set(doc);
+                    }
+
+                    // BM25
+                    double score = 0;
+                    final double norm = K1 * (1 - B + B * this.lengths[doc] / avgLength);
+                    for (int t = 0; t < n; t++) {
+                        final int i = scoring[t].find(doc, cursors[t]);
+                        if (i >= 0) {
+                            final int f = scoring[t].freqs[i];
+                            score += idfs[t] * f * (K1 + 1) / (f + norm);
+                            cursors[t] = i + 1;
+                        } else {
+                            cursors[t] = -i - 1;
+                        }
+                    }
+
+                    // Keep the best k
+                    if (top.size() < k) {
+                        top.add(new Hit(doc, score));
+                    } else if (score > top.peek().score || (score == top.peek().score && doc > top.peek().doc)) {
+                        top.poll();
+                        top.add(new Hit(doc, score));
+                    }
+                }
+            }
+
+            final List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Hit.WORST_FIRST.reversed());
+            return hits;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The documents with all the elements of the group (under the read lock).
+     *
+     * @param group the terms and phrases.
+     * @return the documents, in order.
+     */
+    private int[] match(final List<List<String>> group) {
+
+        // The distinct postings, all the terms must exist
+        final List<Postings> distinct = new ArrayList<>();
+        for (List<String> element : group) {
+            for (String term : element) {
+                final Postings postings = this.terms.get(term);
+                if (postings == null) {
+                    return new int[0];
+                }
+                if (!distinct.contains(postings)) {
+                    distinct.add(postings);
+                }
+            }
+        }
+        if (distinct.isEmpty()) {
+            return new int[0];
+        }
+
+        // Intersection, from the rarest term
+        distinct.sort(Comparator.comparingInt(p -> p.size));
+        final Postings[] postings = distinct.toArray(new Postings[0]);
+
+        // The phrases, as indexes in postings
+        final List<int[]> phrases = new ArrayList<>();
+        for (List<String> element : group) {
+            if (element.size() > 1) {
+                final int[] phrase = new int[element.size()];
+                for (int j = 0; j < phrase.length; j++) {
+                    phrase[j] = distinct.indexOf(this.terms.get(element.get(j)));
+                }
+                phrases.add(phrase);
+            }
+        }
+
+        // The index of the current document in each postings
+        final int[] cursors = new int[postings.length];
+        final Postings rarest = postings[0];
+        int[] docs = new int[rarest.size];
+        int count = 0;
+
+        candidates:
+        for (int r = 0; r < rarest.size; r++) {
+            final int doc = rarest.docs[r];
+            cursors[0] = r;
+            for (int t = 1; t < postings.length; t++) {
+                final int i = postings[t].find(doc, cursors[t]);
+                if (i < 0) {
+                    cursors[t] = -i - 1;
+                    if (cursors[t] == postings[t].size) {
+                        break candidates;
+                    }
+                    continue candidates;
+                }
+                cursors[t] = i;
+            }
+
+            for (int[] phrase : phrases) {
+                if (!containsPhrase(postings, cursors, phrase)) {
+                    continue candidates;
+                }
+            }
+            docs[count++] = doc;
+        }
+        return count == docs.length ? docs : Arrays.copyOf(docs, count);
+    }
+
+    /**
+     * @param postings of the terms.
+     * @param cursors  the index of the document in each postings.
+     * @param phrase   the terms of the phrase, as indexes in postings.
+     * @return true if the terms are consecutive in the document.
+     */
+    private static boolean containsPhrase(final Postings[] postings, final int[] cursors, final int[] phrase) {
+
+        // Merge of the positions: the next term at position + j
+        final int[] next = new int[phrase.length];
+        final int[] end = new int[phrase.length];
+        for (int j = 0; j < phrase.length; j++) {
+            final Postings term = postings[phrase[j]];
+            next[j] = term.starts[cursors[phrase[j]]];
+            end[j] = next[j] + term.freqs[cursors[phrase[j]]];
+        }
+
+        final int[] first = postings[phrase[0]].positions;
+        starts:
+        for (int p = next[0]; p < end[0]; p++) {
+            final int position = first[p];
+            for (int j = 1; j < phrase.length; j++) {
+                final int[] positions = postings[phrase[j]].positions;
+                while (next[j] < end[j] && positions[next[j]] < position + j) {
+                    next[j]++;
+                }
+                if (next[j] == end[j]) {
+                    return false;
+                }
+                if (positions[next[j]] != position + j) {
+                    continue starts;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parse the query in groups (OR) of elements (AND), each element a term or a phrase.
+     *
+     * @param query to parse.
+     * @return the groups.
+     */
+    static List<List<List<String>>> parse(final String query) {
+        final List<List<List<String>>> groups = new ArrayList<>();
+        List<List<String>> group = new ArrayList<>();
+
+        int i = 0;
+        while (i < query.length()) {
+            final char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            // "a phrase" or a word
+            final int end;
+            final String text;
+            if (c == '"') {
+                final int close = query.indexOf('"', i + 1);
+                end = close < 0 ? query.length() : close + 1;
+                text = query.substring(i + 1, close < 0 ? query.length() : close);
+            } else {
+                int j = i;
+                while (j < query.length() && !Character.isWhitespace(query.charAt(j)) && query.charAt(j) != '"') {
+                    j++;
+                }
+                end = j;
+                text = query.substring(i, j);
+            }
+            i = end;
+
+            if ("OR".equals(text) && c != '"') {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                }
+                group = new ArrayList<>();
+            } else if (!"AND".equals(text) || c == '"') {
+                final List<String> element = Tokenizer.tokenize(text);
+                if (!element.isEmpty()) {
+                    group.add(element);
+                }
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * A document found by {@link #search(String, int)}.
+     */
+    public static final class Hit {
+
+        /**
+         * The worst hit first: lower score, older document.
+         */
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::getScore).thenComparingInt(Hit::getDoc);
+
+        /**
+         * The number of the document.
+         */
+        private final int doc;
+
+        /**
+         * The BM25 score.
+         */
+        private final double score;
+
+        /**
+         * The Constructor.
+         *
+         * @param doc   the number of the document.
+         * @param score the BM25 score.
+         */
+        Hit(final int doc, final double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        /**
+         * @return the number of the document.
+         */
+        public int getDoc() {
+            return doc;
+        }
+
+        /**
+         * @return the BM25 score.
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "Hit{doc=" + doc + ", score=" + score + '}';
+        }
+    }
+
+    /**
+     * The postings of a term, in order of document.
+     */
+    private static final class Postings {
+
+        /**
+         * The documents.
+         */
+        int[] docs = new int[4];
+
+        /**
+         * The frequency in each document.
+         */
+        int[] freqs = new int[4];
+
+        /**
+         * The first position of each document in positions.
+         */
+        int[] starts = new int[4];
+
+        /**
+         * The positions, grouped by document.
+         */
+        int[] positions = new int[4];
+
+        /**
+         * The number of documents.
+         */
+        int size;
+
+        /**
+         * The number of positions.
+         */
+        int positionCount;
+
+        /**
+         * Add one occurrence, the documents must come in order.
+         *
+         * @param doc      the document.
+         * @param position of the term.
+         */
+        void add(final int doc, final int position) {
+            if (this.size == 0 || this.docs[this.size - 1] != doc) {
+                if (this.size == this.docs.length) {
+                    this.docs = Arrays.copyOf(this.docs, this.size * 2);
+                    this.freqs = Arrays.copyOf(this.freqs, this.size * 2);
+                    this.starts = Arrays.copyOf(this.starts, this.size * 2);
+                }
+                this.docs[this.size] = doc;
+                this.starts[this.size] = this.positionCount;
+                this.size++;
+            }
+            this.freqs[this.size - 1]++;
+
+            if (this.positionCount == this.positions.length) {
+                this.positions = Arrays.copyOf(this.positions, this.positionCount * 2);
+            }
+            this.positions[this.positionCount++] = position;
+        }
+
+        /**
+         * Galloping search: cheap when the document is near from.
+         *
+         * @param doc  to find.
+         * @param from the first index to search.
+         * @return the index of the document, or (-(insertion point) - 1).
+         */
+        int find(final int doc, int from) {
+            if (from < this.size && this.docs[from] >= doc) {
+                return this.docs[from] == doc ? from : -from - 1;
+            }
+            int hi = from;
+            int step = 1;
+            while (hi < this.size && this.docs[hi] < doc) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            return Arrays.binarySearch(this.docs, from, Math.min(hi + 1, this.size), doc);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import java.util.Arrays;
+
+/**
+ * Index of {@link SimHash} to find the near duplicates (Hamming distance &lt;= maxDistance)
+ * without comparing with all: the 64 bits are split in maxDistance + 1 bands and, by the
+ * pigeonhole principle, a near duplicate has at least one band equal. Each band is a table of
+ * buckets, each bucket the signatures and documents in contiguous arrays (a lookup scans them
+ * in order, without jumping around the memory).
+ *
+ * Not thread safe.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NearDuplicateIndex {
+
+    /**
+     * The max number of bits of the table of a band.
+     */
+    private static final int TABLE_BITS = 16;
+
+    /**
+     * Not found.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The max Hamming distance of a near duplicate.
+     */
+    private final int maxDistance;
+
+    /**
+     * The bits of each band.
+     */
+    private final int bandBits;
+
+    /**
+     * The bits of the table of each band.
+     */
+    private final int tableBits;
+
+    /**
+     * The signatures of each bucket of each band, null if empty.
+     */
+    private final long[][][] bucketSignatures;
+
+    /**
+     * The documents of each bucket of each band, null if empty.
+     */
+    private final int[][][] bucketDocs;
+
+    /**
+     * The number of documents of each bucket of each band.
+     */
+    private final int[][] bucketSizes;
+
+    /**
+     * The SimHash of each document.
+     */
+    private long[] signatures = new long[64];
+
+    /**
+     * The number of documents.
+     */
+    private int size;
+
+    /**
+     * The Constructor.
+     *
+     * @param maxDistance the max Hamming distance of a near duplicate, 0 to 7.
+     */
+    public NearDuplicateIndex(final int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 7) {
+            throw new IllegalArgumentException("maxDistance out of [0, 7]: " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+
+        final int bands = maxDistance + 1;
+        this.bandBits = 64 / bands;
+        this.tableBits = Math.min(this.bandBits, TABLE_BITS);
+        this.bucketSignatures = new long[bands][1 << this.tableBits][];
+        this.bucketDocs = new int[bands][1 << this.tableBits][];
+        this.bucketSizes = new int[bands][1 << this.tableBits];
+    }
+
+    /**
+     * Add a document.
+     *
+     * @param signature the SimHash of the document.
+     * @return the number of the document.
+     */
+    public int add(final long signature) {
+        final int doc = this.size;
+        if (doc == this.signatures.length) {
+            this.signatures = Arrays.copyOf(this.signatures, doc * 2);
+        }
+        this.signatures[doc] = signature;
+
+        for (int b = 0; b < this.bucketSizes.length; b++) {
+            final int bucket = this.bucket(signature, b);
+            final int n = this.bucketSizes[b][bucket];
+            if (n == 0) {
+                this.bucketSignatures[b][bucket] = new long[4];
+                this.bucketDocs[b][bucket] = new int[4];
+            } else if (n == this.bucketDocs[b][bucket].length) {
+                this.bucketSignatures[b][bucket] = Arrays.copyOf(this.bucketSignatures[b][bucket], n * 2);
+                this.bucketDocs[b][bucket] = Arrays.copyOf(this.bucketDocs[b][bucket], n * 2);
+            }
+            this.bucketSignatures[b][bucket][n] = signature;
+            this.bucketDocs[b][bucket][n] = doc;
+            this.bucketSizes[b][bucket] = n + 1;
+        }
+        this.size++;
+        return doc;
+    }
+
+    /**
+     * Find the nearest document.
+     *
+     * @param signature the SimHash to search.
+     * @return the nearest document within maxDistance (the oldest on ties), or -1.
+     */
+    public int find(final long signature) {
+        int best = NONE;
+        int bestDistance = this.maxDistance + 1;
+
+        for (int b = 0; b < this.bucketSizes.length; b++) {
+            final int bucket = this.bucket(signature, b);
+            final long[] signatures = this.bucketSignatures[b][bucket];
+            final int[] docs = this.bucketDocs[b][bucket];
+            for (int i = 0, n = this.bucketSizes[b][bucket]; i < n; i++) {
+                // Other band in the same bucket, or far: the distance filters both
+                final int distance = SimHash.distance(signature, signatures[i]);
+                if (distance < bestDistance || (distance == bestDistance && docs[i] < best)) {
+                    best = docs[i];
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param doc the number of the document.
+     * @return the SimHash of the document.
+     */
+    public long signature(final int doc) {
+        if (doc < 0 || doc >= this.size) {
+            throw new IndexOutOfBoundsException("doc: " + doc);
+        }
+        return this.signatures[doc];
+    }
+
+    /**
+     * @return the number of documents.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param signature the SimHash.
+     * @param b         the number of the band.
+     * @return the bits of the band.
+     */
+    private long band(final long signature, final int b) {
+        final long mask = this.bandBits == 64 ? -1L : (1L << this.bandBits) - 1;
+        return (signature >>> (b * this.bandBits)) & mask;
+    }
+
+    /**
+     * @param signature the SimHash.
+     * @param b         the number of the band.
+     * @return the bucket of the band in its table.
+     */
+    private int bucket(final long signature, final int b) {
+        return (int) ((this.band(signature, b) * 0x9E3779B97F4A7C15L) >>> (64 - this.tableBits));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import net.openhft.hashing.LongHashFunction;
+
+import java.util.Arrays;
+
+/**
+ * The 64 bits SimHash of a text: each term (normalized as {@link Tokenizer}) is hashed with
+ * xxHash, and each bit of the SimHash is the majority of that bit in the hashes. Similar texts
+ * have SimHash with a small Hamming distance.
+ *
+ * The terms are folded into a char buffer reused by each thread and hashed in place.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class SimHash {
+
+    /**
+     * The hash function: https://github.com/Cyan4973/xxHash
+     */
+    private static final LongHashFunction XX = LongHashFunction.xx();
+
+    /**
+     * The reusable buffer of the term of each thread.
+     */
+    private static final ThreadLocal<char[]> TERM = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[64];
+        }
+    };
+
+    /**
+     * The reusable counters of the bits of each thread.
+     */
+    private static final ThreadLocal<int[]> COUNTERS = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[64];
+        }
+    };
+
+    /**
+     * The Constructor.
+     */
+    private SimHash() {
+        // Nothing here
+    }
+
+    /**
+     * @param texts to hash, the null are ignored.
+     * @return the SimHash of all the texts.
+     */
+    public static long of(final String... texts) {
+        char[] term = TERM.get();
+        final int[] counters = COUNTERS.get();
+        Arrays.fill(counters, 0);
+
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+
+            int length = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                final char c = i < text.length() ? text.charAt(i) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    if (length == term.length) {
+                        term = Arrays.copyOf(term, length * 2);
+                        TERM.set(term);
+                    }
+                    term[length++] = Tokenizer.fold(c);
+                } else if (Character.getType(c) != Character.NON_SPACING_MARK && length > 0) {
+                    add(counters, XX.hashChars(term, 0, length));
+                    length = 0;
+                }
+            }
+        }
+
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (counters[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    /**
+     * @param a a SimHash.
+     * @param b other SimHash.
+     * @return the number of different bits.
+     */
+    public static int distance(final long a, final long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * @param counters of each bit.
+     * @param hash     of a feature.
+     */
+    private static void add(final int[] counters, final long hash) {
+        for (int bit = 0; bit < 64; bit++) {
+            counters[bit] += ((hash >>> bit) & 1) == 0 ? -1 : 1;
+        }
+    }
+}
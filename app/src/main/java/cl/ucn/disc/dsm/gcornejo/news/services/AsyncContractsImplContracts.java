@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Adaptor from {@link Contracts} to {@link AsyncContracts}: each call runs in the {@link Executor}.
+ * Use a direct executor (Runnable::run) for in memory implementations like {@link ContractsImplFaker}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class AsyncContractsImplContracts implements AsyncContracts {
+
+    /**
+     * The blocking implementation.
+     */
+    private final Contracts contracts;
+
+    /**
+     * Where to run the blocking calls.
+     */
+    private final Executor executor;
+
+    /**
+     * The Constructor.
+     *
+     * @param contracts to adapt.
+     * @param executor  to run the calls.
+     */
+    public AsyncContractsImplContracts(final Contracts contracts, final Executor executor) {
+        Validation.notNull(contracts, "contracts");
+        Validation.notNull(executor, "executor");
+        this.contracts = contracts;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the future List of News.
+     */
+    @Override
+    public CompletableFuture<List<News>> retrieveNews(final Integer size) {
+        return CompletableFuture.supplyAsync(() -> this.contracts.retrieveNews(size), this.executor);
+    }
+
+    /**
+     * Save one News into the System.
+     *
+     * @param news news of the list.
+     * @return the future completed when the News is saved.
+     */
+    @Override
+    public CompletableFuture<Void> saveNews(final News news) {
+        return CompletableFuture.runAsync(() -> this.contracts.saveNews(news), this.executor);
+    }
+}
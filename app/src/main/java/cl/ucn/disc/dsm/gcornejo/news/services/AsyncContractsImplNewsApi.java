@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.apache.commons.lang3.NotImplementedException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The NewsApi implementation of {@link AsyncContracts}: the requests are queued in the OkHttp
+ * dispatcher, no thread is blocked waiting for the network.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class AsyncContractsImplNewsApi implements AsyncContracts {
+
+    /**
+     * The connection to NewsApi.
+     */
+    private final NewsApiService newsApiService;
+
+    /**
+     * The Constructor.
+     *
+     * @param apiKey to use.
+     */
+    public AsyncContractsImplNewsApi(final String apiKey) {
+        this(new NewsApiService(apiKey));
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param newsApiService to use.
+     */
+    public AsyncContractsImplNewsApi(final NewsApiService newsApiService) {
+        Validation.notNull(newsApiService, "newsApiService");
+        this.newsApiService = newsApiService;
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the future List of News.
+     */
+    @Override
+    public CompletableFuture<List<News>> retrieveNews(final Integer size) {
+        return this.newsApiService.getTopHeadlinesAsync("general", size)
+                .thenApply(ContractsImplNewsApi::articles2news);
+    }
+
+    /**
+     * Save one News into the System.
+     *
+     * @param news news of the list.
+     * @return the future completed with {@link NotImplementedException}.
+     */
+    @Override
+    public CompletableFuture<Void> saveNews(final News news) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new NotImplementedException("Can't save news in NewsAPI"));
+        return future;
+    }
+}
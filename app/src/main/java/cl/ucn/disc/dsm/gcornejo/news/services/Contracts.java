@@ -19,9 +19,19 @@
 
 package cl.ucn.disc.dsm.gcornejo.news.services;
 
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
 
 /**
  * The Contracts from CU/UH.
@@ -37,9 +47,112 @@ public interface Contracts {
      */
     List<News> retrieveNews(Integer size);
 
+    /**
+     * Get the list of headers of News (i.e. for a list), the body with {@link #findNews(long)}.
+     * @param size size of the list.
+     * @return the List of NewsHeader, in the order of {@link #retrieveNews(Integer)}.
+     */
+    default List<NewsHeader> retrieveHeaders(Integer size) {
+        final List<News> news = retrieveNews(size);
+        final List<NewsHeader> headers = new ArrayList<>(news.size());
+        for (News n : news) {
+            headers.add(NewsHeader.of(n));
+        }
+        return headers;
+    }
+
+    /**
+     * Get one News by id (scan of all the News, override with an index).
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    default News findNews(long id) {
+        for (News news : retrieveNews(Integer.MAX_VALUE)) {
+            if (news.getId() == id) {
+                return news;
+            }
+        }
+        return null;
+    }
+
     /**
      * Save one News into the System.
      * @param news news of the list.
      */
     void saveNews(News news);
+
+    /**
+     * Save a batch of News into the System, without stopping at the first failure (one
+     * saveNews by News, override to share the lock and the persistence).
+     * @param news the batch of News.
+     * @return the outcome of each News, in the iteration order of the batch.
+     */
+    default List<SaveOutcome> saveAll(Collection<News> news) {
+        Validation.notNull(news, "news");
+
+        final List<SaveOutcome> outcomes = new ArrayList<>(news.size());
+        final LongIndex batch = new LongIndex(news.size());
+        for (final News n : news) {
+            if (n == null) {
+                outcomes.add(SaveOutcome.INVALID);
+            } else if (batch.putIfAbsent(n.getId(), 0) != LongIndex.ABSENT) {
+                outcomes.add(SaveOutcome.DUPLICATE);
+            } else {
+                try {
+                    saveNews(n);
+                    outcomes.add(SaveOutcome.SAVED);
+                } catch (DuplicateNewsException ex) {
+                    outcomes.add(SaveOutcome.DUPLICATE);
+                } catch (IllegalArgumentException ex) {
+                    outcomes.add(SaveOutcome.REJECTED);
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Iterate over all the News, fetching them one page at time.
+     * @param pageSize size of each page.
+     * @return the Iterator of News.
+     */
+    default Iterator<News> iterateNews(Integer pageSize) {
+        return retrieveNews(Integer.MAX_VALUE).iterator();
+    }
+
+    /**
+     * Get the News published in [from, to), the newest first (sort of all the News, override
+     * with an index).
+     * @param from the min publishedAt, inclusive.
+     * @param to the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    default List<News> retrieveNews(ZonedDateTime from, ZonedDateTime to, Integer size) {
+        final List<News> news = new ArrayList<>();
+        final List<News> all = retrieveNews(Integer.MAX_VALUE);
+        final long fromMillis = from.toInstant().toEpochMilli();
+        final long toMillis = to.toInstant().toEpochMilli();
+        for (int i = all.size() - 1; i >= 0; i--) {
+            final long publishedAt = all.get(i).getPublishedAtMillis();
+            if (publishedAt >= fromMillis && publishedAt < toMillis) {
+                news.add(all.get(i));
+            }
+        }
+        news.sort(Comparator.comparingLong(News::getPublishedAtMillis).reversed());
+        return news.size() > size ? new ArrayList<>(news.subList(0, Math.max(0, size))) : news;
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first (sort of all the News, override
+     * with an index).
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    default List<News> retrieveNewest(Integer size) {
+        final List<News> news = new ArrayList<>(retrieveNews(Integer.MAX_VALUE));
+        Collections.reverse(news);
+        news.sort(Comparator.comparingLong(News::getPublishedAtMillis).reversed());
+        return news.size() > size ? new ArrayList<>(news.subList(0, Math.max(0, size))) : news;
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Adaptor from {@link AsyncContracts} to {@link Contracts}: each call waits for the future.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplAsync implements Contracts {
+
+    /**
+     * The non blocking implementation.
+     */
+    private final AsyncContracts asyncContracts;
+
+    /**
+     * The Constructor.
+     *
+     * @param asyncContracts to adapt.
+     */
+    public ContractsImplAsync(final AsyncContracts asyncContracts) {
+        Validation.notNull(asyncContracts, "asyncContracts");
+        this.asyncContracts = asyncContracts;
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        return join(this.asyncContracts.retrieveNews(size));
+    }
+
+    /**
+     * Save one News into the System.
+     *
+     * @param news news of the list.
+     */
+    @Override
+    public void saveNews(final News news) {
+        join(this.asyncContracts.saveNews(news));
+    }
+
+    /**
+     * Wait for the future, rethrowing the original RuntimeException.
+     *
+     * @param future to wait.
+     * @param <T>    type of the result.
+     * @return the result.
+     */
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.TtlLruCache;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Cache of {@link ContractsImplNewsApi}: the List of News is reused until the ttl expires.
+ * The simultaneous callers of the same query share one request to NewsApi.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplCached implements Contracts {
+
+    /**
+     * The NewsApi implementation.
+     */
+    private final ContractsImplNewsApi contracts;
+
+    /**
+     * The query -> List of News.
+     */
+    private final TtlLruCache<HeadlinesQuery, List<News>> cache;
+
+    /**
+     * The Constructor.
+     *
+     * @param contracts to cache.
+     * @param maxSize   the max number of queries in the cache.
+     * @param ttl       the time to live of each List of News.
+     * @param unit      of the ttl.
+     */
+    public ContractsImplCached(final ContractsImplNewsApi contracts, final int maxSize, final long ttl, final TimeUnit unit) {
+        Validation.notNull(contracts, "contracts");
+        this.contracts = contracts;
+        this.cache = new TtlLruCache<>(maxSize, ttl, unit);
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        return this.retrieveNews(this.contracts.query(size));
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param query to send.
+     * @return the List of News.
+     */
+    public List<News> retrieveNews(final HeadlinesQuery query) {
+        return this.cache.get(query, () -> Collections.unmodifiableList(this.contracts.retrieveNews(query)));
+    }
+
+    /**
+     * Iterate over all the News, without cache.
+     *
+     * @param pageSize size of each page.
+     * @return the Iterator of News.
+     */
+    @Override
+    public Iterator<News> iterateNews(final Integer pageSize) {
+        return this.contracts.iterateNews(pageSize);
+    }
+
+    /**
+     * Save one News into the System.
+     *
+     * @param news news of the list.
+     */
+    @Override
+    public void saveNews(final News news) {
+        this.contracts.saveNews(news);
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * @return the cache, to read the hit/miss/eviction counters.
+     */
+    public TtlLruCache<HeadlinesQuery, List<News>> getCache() {
+        return this.cache;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The thread safe, in memory implementation of {@link Contracts}, for many writers.
+ *
+ * The duplicate check is striped: each id belongs to one of {@link #STRIPES} {@link LongIndex},
+ * each one with its own lock. The News are appended to a log of chunks: a writer claims a slot,
+ * fills it, and the slots are published in order. {@link #retrieveNews(Integer)} reads the
+ * published prefix, an immutable snapshot, without locks.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplConcurrent implements Contracts {
+
+    /**
+     * The number of stripes of the id index.
+     */
+    static final int STRIPES = 64;
+
+    /**
+     * The bits of the size of a chunk of the log.
+     */
+    private static final int CHUNK_BITS = 10;
+
+    /**
+     * The size of a chunk of the log.
+     */
+    private static final int CHUNK = 1 << CHUNK_BITS;
+
+    /**
+     * The stripes of the id index, each one is its own lock.
+     */
+    private final LongIndex[] stripes = new LongIndex[STRIPES];
+
+    /**
+     * The chunks of the log, the array is replaced when it grows.
+     */
+    private volatile AtomicReferenceArray<News>[] chunks;
+
+    /**
+     * The next slot to claim.
+     */
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    /**
+     * The number of slots published: all the slots before it are filled.
+     */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * The Constructor.
+     */
+    public ContractsImplConcurrent() {
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new LongIndex();
+        }
+        this.chunks = newChunks(1);
+        this.chunks[0] = new AtomicReferenceArray<>(CHUNK);
+    }
+
+    /**
+     * @param length of the array.
+     * @return the array of chunks, empty.
+     */
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<News>[] newChunks(final int length) {
+        return (AtomicReferenceArray<News>[]) new AtomicReferenceArray<?>[length];
+    }
+
+    /**
+     * Get the list of News: a snapshot, not changed by the writers.
+     *
+     * @param size size of the list.
+     * @return the last "size" News published.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        Validation.notNull(size, "size");
+
+        final int to = this.publish();
+        return new Snapshot(this.chunks, Math.max(0, to - Math.max(0, size)), to);
+    }
+
+    /**
+     * Save one News into the System. Don't allow repeated.
+     *
+     * @param news to save.
+     */
+    @Override
+    public void saveNews(final News news) {
+
+        // Nullity
+        Validation.notNull(news, "news");
+
+        // Atomic put if absent, in the stripe of the id
+        final long id = news.getId();
+        final LongIndex stripe = this.stripes[stripe(id)];
+        synchronized (stripe) {
+            if (stripe.putIfAbsent(id, 0) != LongIndex.ABSENT) {
+                throw new DuplicateNewsException(id);
+            }
+        }
+
+        // Claim, fill and publish the slot
+        final int slot = this.claimed.getAndIncrement();
+        this.chunk(slot >>> CHUNK_BITS).set(slot & (CHUNK - 1), news);
+        this.publish();
+    }
+
+    /**
+     * Save a batch of News: the ids are reserved in their stripes (duplicates in the batch
+     * included), then the slots of the accepted News are claimed at once and published once.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public List<SaveOutcome> saveAll(final Collection<News> news) {
+        Validation.notNull(news, "news");
+
+        final List<SaveOutcome> outcomes = new ArrayList<>(news.size());
+        final News[] accepted = new News[news.size()];
+        int count = 0;
+        for (final News n : news) {
+            if (n == null) {
+                outcomes.add(SaveOutcome.INVALID);
+                continue;
+            }
+            final LongIndex stripe = this.stripes[stripe(n.getId())];
+            synchronized (stripe) {
+                if (stripe.putIfAbsent(n.getId(), 0) != LongIndex.ABSENT) {
+                    outcomes.add(SaveOutcome.DUPLICATE);
+                    continue;
+                }
+            }
+            accepted[count++] = n;
+            outcomes.add(SaveOutcome.SAVED);
+        }
+
+        // Claim, fill and publish the slots
+        if (count > 0) {
+            final int first = this.claimed.getAndAdd(count);
+            for (int i = 0; i < count; i++) {
+                final int slot = first + i;
+                this.chunk(slot >>> CHUNK_BITS).set(slot & (CHUNK - 1), accepted[i]);
+            }
+            this.publish();
+        }
+        return outcomes;
+    }
+
+    /**
+     * @param id of the News.
+     * @return true if the News is already saved (maybe not yet published).
+     */
+    public boolean contains(final long id) {
+        final LongIndex stripe = this.stripes[stripe(id)];
+        synchronized (stripe) {
+            return stripe.contains(id);
+        }
+    }
+
+    /**
+     * @return the number of News published.
+     */
+    public int size() {
+        return this.publish();
+    }
+
+    /**
+     * The low bits of the id (a xxHash), the LongIndex of the stripe uses the high bits.
+     *
+     * @param id of the News.
+     * @return the stripe of the id.
+     */
+    private static int stripe(final long id) {
+        return (int) id & (STRIPES - 1);
+    }
+
+    /**
+     * Move the published mark over the filled slots (any thread can help).
+     *
+     * @return the number of slots published.
+     */
+    private int publish() {
+        int current = this.published.get();
+        while (current < this.claimed.get()) {
+            final AtomicReferenceArray<News>[] chunks = this.chunks;
+            final int c = current >>> CHUNK_BITS;
+            if (c >= chunks.length || chunks[c].get(current & (CHUNK - 1)) == null) {
+                // Claimed but not filled yet: the writer will publish it
+                break;
+            }
+            if (this.published.compareAndSet(current, current + 1)) {
+                current++;
+            } else {
+                current = this.published.get();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param c number of the chunk.
+     * @return the chunk, created if needed.
+     */
+    private AtomicReferenceArray<News> chunk(final int c) {
+        AtomicReferenceArray<News>[] chunks = this.chunks;
+        if (c < chunks.length) {
+            return chunks[c];
+        }
+
+        synchronized (this) {
+            chunks = this.chunks;
+            if (c >= chunks.length) {
+                final AtomicReferenceArray<News>[] grown = Arrays.copyOf(chunks, Math.max(c + 1, chunks.length * 2));
+                for (int i = chunks.length; i < grown.length; i++) {
+                    grown[i] = new AtomicReferenceArray<>(CHUNK);
+                }
+                this.chunks = grown;
+                chunks = grown;
+            }
+            return chunks[c];
+        }
+    }
+
+    /**
+     * A published range of the log.
+     */
+    private static final class Snapshot extends AbstractList<News> implements RandomAccess {
+
+        /**
+         * The chunks with the range.
+         */
+        private final AtomicReferenceArray<News>[] chunks;
+
+        /**
+         * The first slot.
+         */
+        private final int from;
+
+        /**
+         * The last slot, exclusive.
+         */
+        private final int to;
+
+        /**
+         * The Constructor.
+         *
+         * @param chunks with the range.
+         * @param from   the first slot.
+         * @param to     the last slot, exclusive.
+         */
+        Snapshot(final AtomicReferenceArray<News>[] chunks, final int from, final int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public News get(final int i) {
+            if (i < 0 || i >= this.size()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + this.size());
+            }
+            final int slot = this.from + i;
+            return this.chunks[slot >>> CHUNK_BITS].get(slot & (CHUNK - 1));
+        }
+
+        @Override
+        public int size() {
+            return this.to - this.from;
+        }
+    }
+}
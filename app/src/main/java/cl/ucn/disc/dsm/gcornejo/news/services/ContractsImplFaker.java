@@ -26,12 +26,11 @@ import org.slf4j.LoggerFactory;
 import org.threeten.bp.ZoneId;
 import org.threeten.bp.ZonedDateTime;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 
 import cl.ucn.disc.dsm.gcornejo.news.model.News;
-import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
 
 /**
  * The Faker implementation of {@link Contracts}.
@@ -47,9 +46,9 @@ public final class ContractsImplFaker implements Contracts{
     private static final Logger log = LoggerFactory.getLogger(ContractsImplFaker.class);
 
     /**
-     * The List of News.
+     * The News, indexed by id.
      */
-    private final List<News> theNews = new ArrayList<>();
+    private final ContractsImplMemory theNews = new ContractsImplMemory();
 
     /**
      * The Constructor: Generate 5 {@Link News}.
@@ -60,7 +59,7 @@ public final class ContractsImplFaker implements Contracts{
         final Faker faker = Faker.instance();
 
         for (int i = 0; i <5; i++){
-            this.theNews.add(new News(
+            this.theNews.saveNews(new News(
                     faker.book().title(),
                     faker.name().username(),
                     faker.name().fullName(),
@@ -81,16 +80,7 @@ public final class ContractsImplFaker implements Contracts{
      */
     @Override
     public List<News> retrieveNews(final Integer size){
-
-        // Return all the data
-        if (size > theNews.size()){
-            return Collections.unmodifiableList(this.theNews);
-        }
-
-        // The last "size" elements.
-        return Collections.unmodifiableList(
-                theNews.subList(theNews.size() - size, theNews.size())
-        );
+        return this.theNews.retrieveNews(size);
     }
 
     /**
@@ -100,18 +90,63 @@ public final class ContractsImplFaker implements Contracts{
      */
     @Override
     public void saveNews(final News news){
+        this.theNews.saveNews(news);
+    }
 
-        // Nullity
-        Validation.notNull(news, "news");
+    /**
+     * Save a batch of News into the System. Don't allow repeated.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public List<SaveOutcome> saveAll(final Collection<News> news) {
+        return this.theNews.saveAll(news);
+    }
 
-        // Check duplicates
-        for (News n : this.theNews){
-            if (n.getId().equals(news.getId())){
-                throw new IllegalArgumentException("Can't allow duplicate news!");
-            }
-        }
+    /**
+     * Get the list of headers of News.
+     *
+     * @param size size of the list.
+     * @return the List of NewsHeader.
+     */
+    @Override
+    public List<NewsHeader> retrieveHeaders(final Integer size) {
+        return this.theNews.retrieveHeaders(size);
+    }
 
-        // Add news
-        this.theNews.add(news);
+    /**
+     * Get one News by id.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public News findNews(final long id) {
+        return this.theNews.findNews(id);
+    }
+
+    /**
+     * Get the News published in [from, to), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size){
+        return this.theNews.retrieveNews(from, to, size);
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNewest(final Integer size){
+        return this.theNews.retrieveNewest(size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,615 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.threeten.bp.ZonedDateTime;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsCodec;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.TimeIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The persistent implementation of {@link Contracts}: an append-only log of {@link News} in
+ * memory-mapped segment files (news-00000000.seg, news-00000001.seg, ..) plus a {@link LongIndex}
+ * over the id.
+ *
+ * Each record is [length][crc32][payload], the payload in the {@link NewsCodec} format. The
+ * length is written last, so a record torn by a crash has length 0 or a wrong crc and is dropped
+ * (with everything after it, the later segments too) when the log is opened again. A new segment
+ * is created when the record doesn't fit in the current one.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplMappedLog implements Contracts, Closeable {
+
+    /**
+     * The default size of each segment: 4 MiB.
+     */
+    public static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * The first bytes of a segment: "NEWS".
+     */
+    static final int MAGIC = 0x4E455753;
+
+    /**
+     * The version of the format: 2 is the {@link NewsCodec} payload.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * The size of the segment header: magic + version.
+     */
+    static final int HEADER = 8;
+
+    /**
+     * The size of the record header: length + crc32.
+     */
+    static final int RECORD_HEADER = 8;
+
+    /**
+     * The directory of the segments.
+     */
+    private final File directory;
+
+    /**
+     * The size of each segment.
+     */
+    private final int segmentSize;
+
+    /**
+     * The open segments.
+     */
+    private final List<FileChannel> channels = new ArrayList<>();
+
+    /**
+     * The mapping of each segment.
+     */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * The id -> number of the record.
+     */
+    private final LongIndex index;
+
+    /**
+     * The publishedAt (epoch millis) -> number of the record.
+     */
+    private final TimeIndex timeIndex = new TimeIndex();
+
+    /**
+     * The number of the record -> (segment << 32 | offset in the segment).
+     */
+    private long[] positions = new long[64];
+
+    /**
+     * The number of records.
+     */
+    private int size;
+
+    /**
+     * The offset of the next record in the last segment.
+     */
+    private int tail;
+
+    /**
+     * The checksum of the records.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * True after {@link #close()}.
+     */
+    private boolean closed;
+
+    /**
+     * The Constructor.
+     *
+     * @param directory of the segments, created if needed.
+     * @throws IOException in case of error opening the segments.
+     */
+    public ContractsImplMappedLog(final File directory) throws IOException {
+        this(directory, SEGMENT_SIZE);
+    }
+
+    /**
+     * The Constructor: open the segments and rebuild the index.
+     *
+     * @param directory   of the segments, created if needed.
+     * @param segmentSize size of each segment.
+     * @throws IOException in case of error opening the segments.
+     */
+    public ContractsImplMappedLog(final File directory, final int segmentSize) throws IOException {
+        Validation.notNull(directory, "directory");
+        if (segmentSize <= HEADER + RECORD_HEADER) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create the directory: " + directory);
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.index = new LongIndex(64);
+
+        try {
+            this.recover();
+        } catch (IOException | RuntimeException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Map all the segments and index the valid records, dropping a torn tail.
+     *
+     * @throws IOException in case of error.
+     */
+    private void recover() throws IOException {
+
+        // The segments, in order
+        final String[] names = this.directory.list((dir, name) -> name.matches("news-\\d{8}\\.seg"));
+        Arrays.sort(names);
+
+        for (int s = 0; s < names.length; s++) {
+            if (!names[s].equals(segmentName(s))) {
+                throw new IOException("Missing segment: " + segmentName(s));
+            }
+            final MappedByteBuffer segment = this.map(s);
+
+            int offset = HEADER;
+            while (offset + RECORD_HEADER <= segment.limit()) {
+                final int length = segment.getInt(offset);
+                if (length <= 0 || offset + RECORD_HEADER + length > segment.limit()
+                        || segment.getInt(offset + 4) != this.checksum(segment, offset + RECORD_HEADER, length)) {
+                    break;
+                }
+                // Only the id and the publishedAt for the indexes
+                final long position = ((long) s << 32) | offset;
+                final NewsHeader header = NewsCodec.decodeHeader(this.record(position));
+                if (this.index.putIfAbsent(header.getId(), this.size) == LongIndex.ABSENT) {
+                    this.timeIndex.add(header.getPublishedAtMillis(), this.size);
+                    this.append(position);
+                }
+                offset += RECORD_HEADER + length;
+            }
+            this.tail = offset;
+
+            // Torn record: clean the rest of the segment and drop the later segments
+            if (this.isTorn(segment, offset)) {
+                for (int i = offset; i < segment.limit(); i++) {
+                    segment.put(i, (byte) 0);
+                }
+                for (int later = s + 1; later < names.length; later++) {
+                    if (!new File(this.directory, names[later]).delete()) {
+                        throw new IOException("Can't drop the segment: " + names[later]);
+                    }
+                }
+                break;
+            }
+        }
+
+        // Empty directory
+        if (this.segments.isEmpty()) {
+            this.map(0);
+            this.tail = HEADER;
+        }
+    }
+
+    /**
+     * A segment ends with zeros (the record didn't fit, the next one is in a new segment) or with
+     * a torn record: a length, crc or payload written.
+     *
+     * @param segment to check.
+     * @param offset  of the end of the valid records.
+     * @return true if the end is a torn record.
+     */
+    private boolean isTorn(final MappedByteBuffer segment, final int offset) {
+        final int limit = Math.min(segment.limit(), offset + RECORD_HEADER + 1);
+        for (int i = offset; i < limit; i++) {
+            if (segment.get(i) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map the segment, writing the header when new.
+     *
+     * @param s number of the segment.
+     * @return the mapping.
+     * @throws IOException in case of error or wrong header.
+     */
+    private MappedByteBuffer map(final int s) throws IOException {
+        final FileChannel channel = new RandomAccessFile(new File(this.directory, segmentName(s)), "rw").getChannel();
+        this.channels.add(channel);
+
+        final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+        this.segments.add(segment);
+
+        if (segment.getInt(0) == 0) {
+            segment.putInt(0, MAGIC);
+            segment.putInt(4, VERSION);
+        } else if (segment.getInt(0) != MAGIC || segment.getInt(4) != VERSION) {
+            throw new IOException("Wrong header in segment: " + segmentName(s));
+        }
+        return segment;
+    }
+
+    /**
+     * @param s number of the segment.
+     * @return the name of the file.
+     */
+    static String segmentName(final int s) {
+        return String.format("news-%08d.seg", s);
+    }
+
+    /**
+     * Get the list of News, read from the mapping when accessed.
+     *
+     * @param size size of the list.
+     * @return the last "size" News saved.
+     */
+    @Override
+    public synchronized List<News> retrieveNews(final Integer size) {
+        Validation.notNull(size, "size");
+        this.checkOpen();
+
+        final int to = this.size;
+        final int from = Math.max(0, to - Math.max(0, size));
+        return new Records<>(from, to, NewsCodec::decodeRecord);
+    }
+
+    /**
+     * Get the list of headers of News, read from the mapping when accessed (the body isn't
+     * decoded).
+     *
+     * @param size size of the list.
+     * @return the headers of the last "size" News saved.
+     */
+    @Override
+    public synchronized List<NewsHeader> retrieveHeaders(final Integer size) {
+        Validation.notNull(size, "size");
+        this.checkOpen();
+
+        final int to = this.size;
+        final int from = Math.max(0, to - Math.max(0, size));
+        return new Records<>(from, to, NewsCodec::decodeHeader);
+    }
+
+    /**
+     * Get one News by id, read from the mapping.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public synchronized News findNews(final long id) {
+        this.checkOpen();
+
+        final int record = this.index.get(id);
+        return record == LongIndex.ABSENT ? null : this.read(this.positions[record]);
+    }
+
+    /**
+     * Save one News into the System. Don't allow repeated.
+     *
+     * @param news to save.
+     */
+    @Override
+    public synchronized void saveNews(final News news) {
+
+        // Nullity
+        Validation.notNull(news, "news");
+        this.checkOpen();
+
+        if (this.index.contains(news.getId())) {
+            throw new DuplicateNewsException(news.getId());
+        }
+
+        this.write(news, NewsCodec.size(news));
+    }
+
+    /**
+     * Save a batch of News, holding the lock once for the whole batch.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public synchronized List<SaveOutcome> saveAll(final Collection<News> news) {
+        Validation.notNull(news, "news");
+        this.checkOpen();
+
+        final List<SaveOutcome> outcomes = new ArrayList<>(news.size());
+        for (final News n : news) {
+            if (n == null) {
+                outcomes.add(SaveOutcome.INVALID);
+            } else if (this.index.contains(n.getId())) {
+                outcomes.add(SaveOutcome.DUPLICATE);
+            } else {
+                final int length = NewsCodec.size(n);
+                if (HEADER + RECORD_HEADER + length > this.segmentSize) {
+                    outcomes.add(SaveOutcome.REJECTED);
+                } else {
+                    this.write(n, length);
+                    outcomes.add(SaveOutcome.SAVED);
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Append the record of the News to the log (checked: not duplicate).
+     *
+     * @param news   to write.
+     * @param length of the encoded News.
+     */
+    private void write(final News news, final int length) {
+        if (HEADER + RECORD_HEADER + length > this.segmentSize) {
+            throw new IllegalArgumentException("News too big for the segment: " + length + " bytes");
+        }
+
+        // Roll to a new segment
+        if (this.tail + RECORD_HEADER + length > this.segmentSize) {
+            try {
+                this.map(this.segments.size());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            this.tail = HEADER;
+        }
+
+        // The payload ..
+        final MappedByteBuffer segment = this.segments.get(this.segments.size() - 1);
+        final ByteBuffer out = segment.duplicate();
+        out.position(this.tail + RECORD_HEADER);
+        NewsCodec.encodeRecord(news, out);
+
+        // .. the crc and, at last, the length
+        segment.putInt(this.tail + 4, this.checksum(segment, this.tail + RECORD_HEADER, length));
+        segment.putInt(this.tail, length);
+
+        this.index.putIfAbsent(news.getId(), this.size);
+        this.timeIndex.add(news.getPublishedAtMillis(), this.size);
+        this.append(((long) (this.segments.size() - 1) << 32) | this.tail);
+        this.tail += RECORD_HEADER + length;
+    }
+
+    /**
+     * Get the News published in [from, to) (millisecond precision), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public synchronized List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size) {
+        Validation.notNull(from, "from");
+        Validation.notNull(to, "to");
+        this.checkOpen();
+        return this.news(this.timeIndex.range(from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli(), size));
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public synchronized List<News> retrieveNewest(final Integer size) {
+        this.checkOpen();
+        return this.news(this.timeIndex.newest(size));
+    }
+
+    /**
+     * @param records the numbers of the records.
+     * @return the News, read from the mapping.
+     */
+    private List<News> news(final int[] records) {
+        final List<News> news = new ArrayList<>(records.length);
+        for (int record : records) {
+            news.add(this.read(this.positions[record]));
+        }
+        return news;
+    }
+
+    /**
+     * @param id of the News.
+     * @return true if the News is already saved.
+     */
+    public synchronized boolean contains(final long id) {
+        return this.index.contains(id);
+    }
+
+    /**
+     * @return the number of News saved.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of segments.
+     */
+    public synchronized int segments() {
+        return this.segments.size();
+    }
+
+    /**
+     * Write the mapped segments to the storage device.
+     */
+    public synchronized void flush() {
+        this.checkOpen();
+        for (MappedByteBuffer segment : this.segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Flush and close the segments.
+     *
+     * @throws IOException in case of error.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+
+        IOException error = null;
+        for (MappedByteBuffer segment : this.segments) {
+            segment.force();
+        }
+        for (FileChannel channel : this.channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        this.segments.clear();
+        this.channels.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if closed.
+     */
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("The log is closed");
+        }
+    }
+
+    /**
+     * @param position of the record.
+     */
+    private void append(final long position) {
+        if (this.size == this.positions.length) {
+            this.positions = Arrays.copyOf(this.positions, this.size * 2);
+        }
+        this.positions[this.size++] = position;
+    }
+
+    /**
+     * @param segment to read.
+     * @param offset  of the payload.
+     * @param length  of the payload.
+     * @return the crc32 of the payload.
+     */
+    private int checksum(final MappedByteBuffer segment, final int offset, final int length) {
+        final ByteBuffer payload = segment.duplicate();
+        payload.limit(offset + length).position(offset);
+        this.crc.reset();
+        this.crc.update(payload);
+        return (int) this.crc.getValue();
+    }
+
+    /**
+     * Read the News straight from the mapping.
+     *
+     * @param position of the record.
+     * @return the News.
+     */
+    private News read(final long position) {
+        return NewsCodec.decodeRecord(this.record(position));
+    }
+
+    /**
+     * @param position of the record.
+     * @return the payload of the record.
+     */
+    private ByteBuffer record(final long position) {
+        final ByteBuffer in = this.segments.get((int) (position >>> 32)).duplicate();
+        in.position((int) position + RECORD_HEADER);
+        in.limit(in.position() + in.getInt((int) position));
+        return in;
+    }
+
+    /**
+     * The view of a range of records, each one read from the mapping when accessed.
+     *
+     * @param <T> News or NewsHeader.
+     */
+    private final class Records<T> extends AbstractList<T> implements RandomAccess {
+
+        /**
+         * The first record.
+         */
+        private final int from;
+
+        /**
+         * The last record, exclusive.
+         */
+        private final int to;
+
+        /**
+         * The decoder of a record.
+         */
+        private final Function<ByteBuffer, T> decoder;
+
+        /**
+         * The Constructor.
+         *
+         * @param from    the first record.
+         * @param to      the last record, exclusive.
+         * @param decoder of a record.
+         */
+        Records(final int from, final int to, final Function<ByteBuffer, T> decoder) {
+            this.from = from;
+            this.to = to;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public T get(final int i) {
+            if (i < 0 || i >= this.size()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + this.size());
+            }
+            synchronized (ContractsImplMappedLog.this) {
+                checkOpen();
+                return this.decoder.apply(record(positions[this.from + i]));
+            }
+        }
+
+        @Override
+        public int size() {
+            return this.to - this.from;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.TimeIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The in memory implementation of {@link Contracts}: an insertion ordered log of {@link News}
+ * plus a {@link LongIndex} over the id, so the duplicate check is O(1), and a {@link TimeIndex}
+ * over the publishedAt, so the time queries are O(log n + k).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplMemory implements Contracts {
+
+    /**
+     * The List of News, in insertion order.
+     */
+    private final ArrayList<News> theNews;
+
+    /**
+     * The id -> position in theNews.
+     */
+    private final LongIndex index;
+
+    /**
+     * The publishedAt (epoch millis) -> position in theNews.
+     */
+    private final TimeIndex timeIndex = new TimeIndex();
+
+    /**
+     * The Constructor.
+     */
+    public ContractsImplMemory() {
+        this(16);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param expected number of News to store without resizing.
+     */
+    public ContractsImplMemory(final int expected) {
+        this.theNews = new ArrayList<>(expected);
+        this.index = new LongIndex(expected);
+    }
+
+    /**
+     * Get the list of News.
+     *
+     * @param size size of the list.
+     * @return the last "size" News saved.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+
+        // Return all the data
+        if (size > this.theNews.size()) {
+            return Collections.unmodifiableList(this.theNews);
+        }
+
+        // The last "size" elements.
+        return Collections.unmodifiableList(
+                this.theNews.subList(this.theNews.size() - size, this.theNews.size())
+        );
+    }
+
+    /**
+     * Save one News into the System. Don't allow repeated.
+     *
+     * @param news to save.
+     */
+    @Override
+    public void saveNews(final News news) {
+
+        // Nullity
+        Validation.notNull(news, "news");
+
+        // Check duplicates and reserve the position in one probe
+        if (this.index.putIfAbsent(news.getId(), this.theNews.size()) != LongIndex.ABSENT) {
+            throw new DuplicateNewsException(news.getId());
+        }
+
+        // Add news
+        this.timeIndex.add(news.getPublishedAtMillis(), this.theNews.size());
+        this.theNews.add(news);
+    }
+
+    /**
+     * Save a batch of News, with one probe of the index by News (duplicates in the batch
+     * included) and growing the List once.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public List<SaveOutcome> saveAll(final Collection<News> news) {
+        Validation.notNull(news, "news");
+
+        final List<SaveOutcome> outcomes = new ArrayList<>(news.size());
+        this.theNews.ensureCapacity(this.theNews.size() + news.size());
+        for (final News n : news) {
+            if (n == null) {
+                outcomes.add(SaveOutcome.INVALID);
+            } else if (this.index.putIfAbsent(n.getId(), this.theNews.size()) != LongIndex.ABSENT) {
+                outcomes.add(SaveOutcome.DUPLICATE);
+            } else {
+                this.timeIndex.add(n.getPublishedAtMillis(), this.theNews.size());
+                this.theNews.add(n);
+                outcomes.add(SaveOutcome.SAVED);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Get the News published in [from, to) (millisecond precision), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size) {
+        Validation.notNull(from, "from");
+        Validation.notNull(to, "to");
+        return this.news(this.timeIndex.range(from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli(), size));
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNewest(final Integer size) {
+        return this.news(this.timeIndex.newest(size));
+    }
+
+    /**
+     * @param positions in theNews.
+     * @return the News.
+     */
+    private List<News> news(final int[] positions) {
+        final List<News> news = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            news.add(this.theNews.get(position));
+        }
+        return news;
+    }
+
+    /**
+     * Get one News by id.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public News findNews(final long id) {
+        final int position = this.index.get(id);
+        return position == LongIndex.ABSENT ? null : this.theNews.get(position);
+    }
+
+    /**
+     * @param id of the News.
+     * @return true if the News is already saved.
+     */
+    public boolean contains(final long id) {
+        return this.index.contains(id);
+    }
+
+    /**
+     * @return the number of News saved.
+     */
+    public int size() {
+        return this.theNews.size();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import cl.ucn.disc.dsm.gcornejo.news.metrics.LatencyHistogram;
+import cl.ucn.disc.dsm.gcornejo.news.metrics.Metrics;
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The metrics of a {@link Contracts}: the latency of retrieveNews, saveNews and saveAll, the
+ * retrieveNews ok / error / by http status (of a {@link NewsApiException}) and the News
+ * received, the saveNews by {@link SaveOutcome}. Use {@link #instrument(Contracts, Metrics)}:
+ * with {@link Metrics#DISABLED} the Contracts is returned without the decorator.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplMetrics implements Contracts {
+
+    /**
+     * The Contracts with the News.
+     */
+    private final Contracts contracts;
+
+    /**
+     * The Metrics, for the status.
+     */
+    private final Metrics metrics;
+
+    /**
+     * The latency of retrieveNews.
+     */
+    private final LatencyHistogram retrieveLatency;
+
+    /**
+     * The retrieveNews ok.
+     */
+    private final LongAdder retrieveOk;
+
+    /**
+     * The retrieveNews with error.
+     */
+    private final LongAdder retrieveErrors;
+
+    /**
+     * The News retrieved.
+     */
+    private final LongAdder retrieved;
+
+    /**
+     * The latency of saveNews.
+     */
+    private final LatencyHistogram saveLatency;
+
+    /**
+     * The latency of saveAll.
+     */
+    private final LatencyHistogram saveAllLatency;
+
+    /**
+     * The saveNews by outcome (ordinal).
+     */
+    private final LongAdder[] outcomes;
+
+    /**
+     * The saveNews with error (not an outcome).
+     */
+    private final LongAdder saveErrors;
+
+    /**
+     * The Constructor.
+     *
+     * @param contracts to instrument.
+     * @param metrics   to record.
+     */
+    public ContractsImplMetrics(final Contracts contracts, final Metrics metrics) {
+        Validation.notNull(contracts, "contracts");
+        Validation.notNull(metrics, "metrics");
+        this.contracts = contracts;
+        this.metrics = metrics;
+        this.retrieveLatency = metrics.latency("retrieveNews");
+        this.retrieveOk = metrics.counter("retrieveNews.ok");
+        this.retrieveErrors = metrics.counter("retrieveNews.error");
+        this.retrieved = metrics.counter("retrieveNews.news");
+        this.saveLatency = metrics.latency("saveNews");
+        this.saveAllLatency = metrics.latency("saveAll");
+        this.saveErrors = metrics.counter("saveNews.error");
+
+        final SaveOutcome[] values = SaveOutcome.values();
+        this.outcomes = new LongAdder[values.length];
+        for (SaveOutcome outcome : values) {
+            this.outcomes[outcome.ordinal()] = metrics.counter("saveNews." + outcome.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * @param contracts to instrument.
+     * @param metrics   to record.
+     * @return the Contracts with the metrics, the same contracts if disabled.
+     */
+    public static Contracts instrument(final Contracts contracts, final Metrics metrics) {
+        Validation.notNull(contracts, "contracts");
+        Validation.notNull(metrics, "metrics");
+        return metrics.isEnabled() ? new ContractsImplMetrics(contracts, metrics) : contracts;
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        final long start = System.nanoTime();
+        try {
+            final List<News> news = this.contracts.retrieveNews(size);
+            this.retrieveOk.increment();
+            this.retrieved.add(news.size());
+            return news;
+        } catch (NewsApiException e) {
+            this.retrieveErrors.increment();
+            this.metrics.counter("retrieveNews.status." + e.getCode()).increment();
+            throw e;
+        } catch (RuntimeException e) {
+            this.retrieveErrors.increment();
+            throw e;
+        } finally {
+            this.retrieveLatency.recordSince(start);
+        }
+    }
+
+    /**
+     * Save one News into the System.
+     *
+     * @param news to save.
+     */
+    @Override
+    public void saveNews(final News news) {
+        final long start = System.nanoTime();
+        try {
+            this.contracts.saveNews(news);
+            this.outcomes[SaveOutcome.SAVED.ordinal()].increment();
+        } catch (DuplicateNewsException e) {
+            this.outcomes[SaveOutcome.DUPLICATE.ordinal()].increment();
+            throw e;
+        } catch (IllegalArgumentException e) {
+            this.outcomes[(news == null ? SaveOutcome.INVALID : SaveOutcome.REJECTED).ordinal()].increment();
+            throw e;
+        } catch (RuntimeException e) {
+            this.saveErrors.increment();
+            throw e;
+        } finally {
+            this.saveLatency.recordSince(start);
+        }
+    }
+
+    /**
+     * Save a batch of News into the System.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public List<SaveOutcome> saveAll(final Collection<News> news) {
+        final long start = System.nanoTime();
+        try {
+            final List<SaveOutcome> outcomes = this.contracts.saveAll(news);
+            for (int i = 0; i < outcomes.size(); i++) {
+                this.outcomes[outcomes.get(i).ordinal()].increment();
+            }
+            return outcomes;
+        } catch (RuntimeException e) {
+            this.saveErrors.increment();
+            throw e;
+        } finally {
+            this.saveAllLatency.recordSince(start);
+        }
+    }
+
+    /**
+     * Get the list of headers of News.
+     *
+     * @param size size of the list.
+     * @return the List of NewsHeader.
+     */
+    @Override
+    public List<NewsHeader> retrieveHeaders(final Integer size) {
+        return this.contracts.retrieveHeaders(size);
+    }
+
+    /**
+     * Get one News by id.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public News findNews(final long id) {
+        return this.contracts.findNews(id);
+    }
+
+    /**
+     * Get the News published in [from, to), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size) {
+        return this.contracts.retrieveNews(from, to, size);
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNewest(final Integer size) {
+        return this.contracts.retrieveNewest(size);
+    }
+
+    /**
+     * Iterate over all the News.
+     *
+     * @param pageSize size of each page.
+     * @return the Iterator of News.
+     */
+    @Override
+    public Iterator<News> iterateNews(final Integer pageSize) {
+        return this.contracts.iterateNews(pageSize);
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+import cl.ucn.disc.dsm.gcornejo.news.search.NearDuplicateIndex;
+import cl.ucn.disc.dsm.gcornejo.news.search.SimHash;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Near duplicates over a {@link Contracts}: the same story republished by other source, or with
+ * the title tweaked, has a {@link SimHash} of the title and description near to the first one.
+ * The near duplicates are rejected or saved in the cluster of the first one.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplNearDuplicate implements Contracts {
+
+    /**
+     * What to do with a near duplicate.
+     */
+    public enum Policy {
+
+        /**
+         * Don't save it: {@link #saveNews(News)} throws IllegalArgumentException.
+         */
+        REJECT,
+
+        /**
+         * Save it, in the cluster of the first News of the story.
+         */
+        CLUSTER
+    }
+
+    /**
+     * The default max Hamming distance: 5 of 64 bits (a word changed in a title + description
+     * is 3 to 5, unrelated News are more than 6).
+     */
+    public static final int MAX_DISTANCE = 5;
+
+    /**
+     * The Contracts with the News.
+     */
+    private final Contracts contracts;
+
+    /**
+     * What to do with a near duplicate.
+     */
+    private final Policy policy;
+
+    /**
+     * The index of the SimHash.
+     */
+    private final NearDuplicateIndex index;
+
+    /**
+     * The max Hamming distance of a near duplicate.
+     */
+    private final int maxDistance;
+
+    /**
+     * The id -> document.
+     */
+    private final LongIndex documents = new LongIndex();
+
+    /**
+     * The id of each document.
+     */
+    private long[] ids = new long[64];
+
+    /**
+     * The first document of the cluster of each document.
+     */
+    private int[] clusters = new int[64];
+
+    /**
+     * The Constructor.
+     *
+     * @param contracts with the News.
+     * @param policy    for the near duplicates.
+     */
+    public ContractsImplNearDuplicate(final Contracts contracts, final Policy policy) {
+        this(contracts, policy, MAX_DISTANCE);
+    }
+
+    /**
+     * The Constructor: index the News already saved in contracts.
+     *
+     * @param contracts   with the News.
+     * @param policy      for the near duplicates.
+     * @param maxDistance the max Hamming distance of a near duplicate, 0 to 7.
+     */
+    public ContractsImplNearDuplicate(final Contracts contracts, final Policy policy, final int maxDistance) {
+        Validation.notNull(contracts, "contracts");
+        Validation.notNull(policy, "policy");
+        this.contracts = contracts;
+        this.policy = policy;
+        this.index = new NearDuplicateIndex(maxDistance);
+        this.maxDistance = maxDistance;
+
+        for (News news : contracts.retrieveNews(Integer.MAX_VALUE)) {
+            final long signature = signature(news);
+            this.add(news, signature, this.index.find(signature));
+        }
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        return this.contracts.retrieveNews(size);
+    }
+
+    /**
+     * Save one News, if it isn't a near duplicate (REJECT) or in its cluster (CLUSTER).
+     *
+     * @param news to save.
+     * @throws DuplicateNewsException if the same id is already saved.
+     */
+    @Override
+    public synchronized void saveNews(final News news) {
+        Validation.notNull(news, "news");
+        if (this.documents.contains(news.getId())) {
+            throw new DuplicateNewsException(news.getId());
+        }
+
+        final long signature = signature(news);
+        final int nearest = this.index.find(signature);
+        if (nearest >= 0 && this.policy == Policy.REJECT) {
+            throw new IllegalArgumentException("Near duplicate of news: " + this.ids[nearest]);
+        }
+
+        this.contracts.saveNews(news);
+        this.add(news, signature, nearest);
+    }
+
+    /**
+     * Save a batch of News, holding the lock once for the whole batch: the near duplicates (in
+     * the store or earlier in the batch) are {@link SaveOutcome#REJECTED} with
+     * {@link Policy#REJECT}, the rest go to the store in one saveAll.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public synchronized List<SaveOutcome> saveAll(final Collection<News> news) {
+        Validation.notNull(news, "news");
+
+        // The near duplicates out, the rest (nulls and exact duplicates too) to the store
+        final List<SaveOutcome> outcomes = new ArrayList<>(Collections.nCopies(news.size(), SaveOutcome.REJECTED));
+        final List<News> toSave = new ArrayList<>(news.size());
+        final int[] positions = new int[news.size()];
+        final long[] toSaveSignatures = new long[news.size()];
+        final long[] signatures = new long[news.size()];
+        final LongIndex batch = new LongIndex(news.size());
+        int count = 0;
+        int i = 0;
+        for (final News n : news) {
+            final int position = i++;
+            if (n != null && !this.documents.contains(n.getId()) && !batch.contains(n.getId())) {
+                final long signature = signature(n);
+                if (this.policy == Policy.REJECT
+                        && (this.index.find(signature) >= 0 || this.isNear(signature, signatures, count))) {
+                    continue;
+                }
+                batch.putIfAbsent(n.getId(), count);
+                signatures[count++] = signature;
+                toSaveSignatures[toSave.size()] = signature;
+            }
+            positions[toSave.size()] = position;
+            toSave.add(n);
+        }
+
+        // Merge the outcomes of the store and index the saved ones, in order
+        final List<SaveOutcome> saved = this.contracts.saveAll(toSave);
+        for (int j = 0; j < toSave.size(); j++) {
+            outcomes.set(positions[j], saved.get(j));
+            if (saved.get(j) == SaveOutcome.SAVED) {
+                this.add(toSave.get(j), toSaveSignatures[j], this.index.find(toSaveSignatures[j]));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * @param signature to check.
+     * @param batch     the signatures accepted in the batch.
+     * @param count     of signatures.
+     * @return true if near to one of the batch.
+     */
+    private boolean isNear(final long signature, final long[] batch, final int count) {
+        for (int i = 0; i < count; i++) {
+            if (SimHash.distance(signature, batch[i]) <= this.maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the list of headers of News.
+     *
+     * @param size size of the list.
+     * @return the List of NewsHeader.
+     */
+    @Override
+    public List<NewsHeader> retrieveHeaders(final Integer size) {
+        return this.contracts.retrieveHeaders(size);
+    }
+
+    /**
+     * Get one News by id.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public News findNews(final long id) {
+        return this.contracts.findNews(id);
+    }
+
+    /**
+     * Get the News published in [from, to), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size) {
+        return this.contracts.retrieveNews(from, to, size);
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNewest(final Integer size) {
+        return this.contracts.retrieveNewest(size);
+    }
+
+    /**
+     * Iterate over all the News.
+     *
+     * @param pageSize size of each page.
+     * @return the Iterator of News.
+     */
+    @Override
+    public Iterator<News> iterateNews(final Integer pageSize) {
+        return this.contracts.iterateNews(pageSize);
+    }
+
+    /**
+     * @param id of the News.
+     * @return the id of the first News of its cluster (itself if it's the first).
+     * @throws IllegalArgumentException if the News isn't saved.
+     */
+    public synchronized long clusterOf(final long id) {
+        final int doc = this.documents.get(id);
+        if (doc == LongIndex.ABSENT) {
+            throw new IllegalArgumentException("News not saved: " + id);
+        }
+        return this.ids[this.clusters[doc]];
+    }
+
+    /**
+     * Get the last News, one of each cluster.
+     *
+     * @param size size of the list.
+     * @return the last "size" News saved that are the first of its cluster.
+     */
+    public synchronized List<News> retrieveDistinct(final Integer size) {
+        final List<News> distinct = new ArrayList<>();
+        final List<News> all = this.contracts.retrieveNews(Integer.MAX_VALUE);
+        for (int i = all.size() - 1; i >= 0 && distinct.size() < size; i--) {
+            final int doc = this.documents.get(all.get(i).getId());
+            if (doc != LongIndex.ABSENT && this.clusters[doc] == doc) {
+                distinct.add(all.get(i));
+            }
+        }
+
+        // In order of insertion, as retrieveNews
+        Collections.reverse(distinct);
+        return distinct;
+    }
+
+    /**
+     * @param news     saved.
+     * @param signature of the News.
+     * @param nearest  document, or -1.
+     */
+    private void add(final News news, final long signature, final int nearest) {
+        final int doc = this.index.add(signature);
+        if (doc == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, doc * 2);
+            this.clusters = Arrays.copyOf(this.clusters, doc * 2);
+        }
+        this.ids[doc] = news.getId();
+        this.clusters[doc] = nearest < 0 ? doc : this.clusters[nearest];
+        this.documents.putIfAbsent(news.getId(), doc);
+    }
+
+    /**
+     * @param news to sign.
+     * @return the SimHash of the title and description.
+     */
+    static long signature(final News news) {
+        return SimHash.of(news.getTitle(), news.getDescription());
+    }
+}
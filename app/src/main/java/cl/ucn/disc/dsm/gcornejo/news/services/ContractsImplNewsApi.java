@@ -15,12 +15,16 @@ import com.kwabenaberko.newsapilib.models.Article;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneOffset;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsStrings;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Iso8601;
 import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
 
 /**
@@ -36,11 +40,21 @@ public class ContractsImplNewsApi implements Contracts {
      */
     private static final Logger log = LoggerFactory.getLogger(ContractsImplNewsApi.class);
 
+    /**
+     * The zone of the News.
+     */
+    static final ZoneOffset ZONE = ZoneOffset.ofHours(-3);
+
     /**
      * The connection to NewsApi.
      */
     private final NewsApiService newsApiService;
 
+    /**
+     * The category to request.
+     */
+    private final String category;
+
     /**
      * The Constructor.
      * @param apiKey to use.
@@ -49,6 +63,20 @@ public class ContractsImplNewsApi implements Contracts {
         Validation.notNull(apiKey, "ApiKey");
 
         this.newsApiService = new NewsApiService(apiKey);
+        this.category = "general";
+    }
+
+    /**
+     * The Constructor.
+     * @param newsApiService to use.
+     * @param category to request.
+     */
+    public ContractsImplNewsApi(NewsApiService newsApiService, String category) {
+        Validation.notNull(newsApiService, "newsApiService");
+        Validation.notNull(category, "category");
+
+        this.newsApiService = newsApiService;
+        this.category = category;
     }
 
     /**
@@ -59,22 +87,20 @@ public class ContractsImplNewsApi implements Contracts {
      */
     @Override
     public List<News> retrieveNews(Integer size) {
+        return this.retrieveNews(this.query(size));
+    }
 
-        try{
-            // Request to NewsApi
-            List<Article> articles = this.newsApiService.getTopHeadlines("general", size);
-
-            // The final list of News.
-            List<News> news = new ArrayList<>();
-
-            // ... iterate over the articles
-            for (Article article : articles){
-                // article -> News
-                news.add(article2news(article));
-            }
+    /**
+     * Get the list News.
+     *
+     * @param query to send.
+     * @return the List of News.
+     */
+    public List<News> retrieveNews(HeadlinesQuery query) {
 
-            // ... return the list of News.
-            return news;
+        try{
+            // Request to NewsApi, the json is read straight into News
+            return new ArrayList<>(this.newsApiService.getTopHeadlinesNews(query).getNews());
         } catch (IOException e){
             log.error("Error", e);
             // Inner exception
@@ -82,18 +108,116 @@ public class ContractsImplNewsApi implements Contracts {
         }
     }
 
-    private static News article2news(Article article) {
+    /**
+     * Iterate over all the News, fetching them one page at time (the next page in background).
+     *
+     * @param pageSize size of each page.
+     * @return the Iterator of News, a {@link HeadlinesIterator}.
+     */
+    @Override
+    public Iterator<News> iterateNews(Integer pageSize) {
+        return new HeadlinesIterator(this.newsApiService, this.query(pageSize));
+    }
+
+    /**
+     * @param size size of the list.
+     * @return the query sent by {@link #retrieveNews(Integer)}.
+     */
+    HeadlinesQuery query(Integer size) {
+        return new HeadlinesQuery(this.category, null, size);
+    }
+
+    /**
+     * Convert a List of Article into a List of News, skipping the Article that can't be News.
+     *
+     * @param articles to convert.
+     * @return the List of News.
+     */
+    static List<News> articles2news(List<Article> articles) {
+
+        // The final list of News.
+        List<News> news = new ArrayList<>(articles.size());
+        final Validation.Result result = new Validation.Result();
+
+        // ... iterate over the articles
+        for (int i = 0; i < articles.size(); i++){
+            final Article article = articles.get(i);
+            final long publishedAt = publishedAt(article.getPublishedAt(), result);
+            final String source = article.getSource() == null ? null : article.getSource().getName();
+            if (publishedAt == Iso8601.INVALID || !News.isValid(article.getTitle(), source, article.getAuthor(),
+                    article.getDescription(), article.getDescription(), result)) {
+                log.debug("Article {} rejected: {}", i, result);
+                continue;
+            }
+
+            // article -> News
+            news.add(article2news(article, publishedAt));
+        }
+
+        return news;
+    }
+
+    /**
+     * Convert one Article into a News.
+     *
+     * @param article to convert.
+     * @return the News.
+     */
+    static News article2news(Article article) {
+        return article2news(article, publishedAt(article.getPublishedAt()));
+    }
+
+    /**
+     * Convert one Article into a News.
+     *
+     * @param article     to convert.
+     * @param publishedAt of the article, already parsed, in epoch millis.
+     * @return the News.
+     */
+    private static News article2news(Article article, long publishedAt) {
         return new News(
                 article.getTitle(),
-                article.getSource().getName(),
-                article.getAuthor(),
+                NewsStrings.source(article.getSource().getName()),
+                NewsStrings.author(article.getAuthor()),
                 article.getUrl(),
                 article.getUrlToImage(),
                 article.getDescription(),
                 article.getDescription(),
+                publishedAt,
+                ZONE
         );
     }
 
+    /**
+     * @param publishedAt the date of NewsApi, in ISO-8601.
+     * @return the epoch millis of the date.
+     * @throws IllegalArgumentException in case of null or wrong format.
+     */
+    static long publishedAt(String publishedAt) {
+        final long millis = Iso8601.parseMillis(publishedAt);
+        if (millis == Iso8601.INVALID) {
+            throw new IllegalArgumentException("Wrong format of publishedAt -> " + publishedAt);
+        }
+        return millis;
+    }
+
+    /**
+     * @param publishedAt the date of NewsApi, in ISO-8601.
+     * @param result      to fill in case of null or wrong format.
+     * @return the epoch millis of the date, {@link Iso8601#INVALID} if rejected.
+     */
+    static long publishedAt(String publishedAt, Validation.Result result) {
+        result.reset();
+        if (!Validation.notNull(publishedAt, "publishedAt", result)) {
+            return Iso8601.INVALID;
+        }
+        final long millis = Iso8601.parseMillis(publishedAt);
+        if (millis == Iso8601.INVALID) {
+            result.reject("publishedAt", Validation.Reason.WRONG_FORMAT);
+        }
+        return millis;
+    }
+
     /**
      * Save one News into the System.
      *
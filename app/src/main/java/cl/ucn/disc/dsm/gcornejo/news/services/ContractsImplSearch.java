@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+import cl.ucn.disc.dsm.gcornejo.news.search.InvertedIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Full-text search over a {@link Contracts}: each News saved is added to an {@link InvertedIndex}
+ * of the title, description and content.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplSearch implements Contracts {
+
+    /**
+     * The Contracts with the News.
+     */
+    private final Contracts contracts;
+
+    /**
+     * The index of the News.
+     */
+    private final InvertedIndex index = new InvertedIndex();
+
+    /**
+     * The document -> News.
+     */
+    private final List<News> documents = new ArrayList<>();
+
+    /**
+     * The Constructor: index the News already saved in contracts.
+     *
+     * @param contracts with the News.
+     */
+    public ContractsImplSearch(final Contracts contracts) {
+        Validation.notNull(contracts, "contracts");
+        this.contracts = contracts;
+
+        for (News news : contracts.retrieveNews(Integer.MAX_VALUE)) {
+            this.index(news);
+        }
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        return this.contracts.retrieveNews(size);
+    }
+
+    /**
+     * Save one News into the System and the index.
+     *
+     * @param news to save.
+     */
+    @Override
+    public synchronized void saveNews(final News news) {
+        this.contracts.saveNews(news);
+        this.index(news);
+    }
+
+    /**
+     * Save a batch of News into the System and index the saved ones.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public synchronized List<SaveOutcome> saveAll(final Collection<News> news) {
+        final List<SaveOutcome> outcomes = this.contracts.saveAll(news);
+        int i = 0;
+        for (final News n : news) {
+            if (outcomes.get(i++) == SaveOutcome.SAVED) {
+                this.index(n);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Get the list of headers of News.
+     *
+     * @param size size of the list.
+     * @return the List of NewsHeader.
+     */
+    @Override
+    public List<NewsHeader> retrieveHeaders(final Integer size) {
+        return this.contracts.retrieveHeaders(size);
+    }
+
+    /**
+     * Get one News by id.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public News findNews(final long id) {
+        return this.contracts.findNews(id);
+    }
+
+    /**
+     * Get the News published in [from, to), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size) {
+        return this.contracts.retrieveNews(from, to, size);
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNewest(final Integer size) {
+        return this.contracts.retrieveNewest(size);
+    }
+
+    /**
+     * Iterate over all the News.
+     *
+     * @param pageSize size of each page.
+     * @return the Iterator of News.
+     */
+    @Override
+    public Iterator<News> iterateNews(final Integer pageSize) {
+        return this.contracts.iterateNews(pageSize);
+    }
+
+    /**
+     * Search the News.
+     *
+     * @param query the terms, "phrases" and OR, see {@link InvertedIndex}.
+     * @param size  the max number of News.
+     * @return the News, the best first.
+     */
+    public List<News> search(final String query, final int size) {
+        final List<InvertedIndex.Hit> hits = this.index.search(query, size);
+
+        final List<News> news = new ArrayList<>(hits.size());
+        synchronized (this) {
+            for (InvertedIndex.Hit hit : hits) {
+                news.add(this.documents.get(hit.getDoc()));
+            }
+        }
+        return news;
+    }
+
+    /**
+     * @param news to add to the index.
+     */
+    private synchronized void index(final News news) {
+        this.index.add(news.getTitle(), news.getDescription(), news.getContent());
+        this.documents.add(news);
+    }
+}
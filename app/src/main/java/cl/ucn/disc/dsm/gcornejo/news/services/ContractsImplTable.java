@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.analytics.NewsTable;
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Analytics over a {@link Contracts}: each News saved is added to a columnar {@link NewsTable}
+ * (count, histogram and top by source or author).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class ContractsImplTable implements Contracts {
+
+    /**
+     * The Contracts with the News.
+     */
+    private final Contracts contracts;
+
+    /**
+     * The table of the News.
+     */
+    private final NewsTable table = new NewsTable();
+
+    /**
+     * The Constructor: add the News already saved in contracts.
+     *
+     * @param contracts with the News.
+     */
+    public ContractsImplTable(final Contracts contracts) {
+        Validation.notNull(contracts, "contracts");
+        this.contracts = contracts;
+
+        final Iterator<News> news = contracts.iterateNews(1000);
+        while (news.hasNext()) {
+            this.table.add(news.next());
+        }
+    }
+
+    /**
+     * Get the list News.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final Integer size) {
+        return this.contracts.retrieveNews(size);
+    }
+
+    /**
+     * Save one News into the System and the table.
+     *
+     * @param news to save.
+     */
+    @Override
+    public synchronized void saveNews(final News news) {
+        this.contracts.saveNews(news);
+        this.table.add(news);
+    }
+
+    /**
+     * Save a batch of News into the System and add the saved ones to the table.
+     *
+     * @param news the batch of News.
+     * @return the outcome of each News.
+     */
+    @Override
+    public synchronized List<SaveOutcome> saveAll(final Collection<News> news) {
+        final List<SaveOutcome> outcomes = this.contracts.saveAll(news);
+        int i = 0;
+        for (final News n : news) {
+            if (outcomes.get(i++) == SaveOutcome.SAVED) {
+                this.table.add(n);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Get the list of headers of News.
+     *
+     * @param size size of the list.
+     * @return the List of NewsHeader.
+     */
+    @Override
+    public List<NewsHeader> retrieveHeaders(final Integer size) {
+        return this.contracts.retrieveHeaders(size);
+    }
+
+    /**
+     * Get one News by id.
+     *
+     * @param id of the News.
+     * @return the News, null if not found.
+     */
+    @Override
+    public News findNews(final long id) {
+        return this.contracts.findNews(id);
+    }
+
+    /**
+     * Get the News published in [from, to), the newest first.
+     *
+     * @param from the min publishedAt, inclusive.
+     * @param to   the max publishedAt, exclusive.
+     * @param size max size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNews(final ZonedDateTime from, final ZonedDateTime to, final Integer size) {
+        return this.contracts.retrieveNews(from, to, size);
+    }
+
+    /**
+     * Get the most recent News by publishedAt, the newest first.
+     *
+     * @param size size of the list.
+     * @return the List of News.
+     */
+    @Override
+    public List<News> retrieveNewest(final Integer size) {
+        return this.contracts.retrieveNewest(size);
+    }
+
+    /**
+     * Iterate over all the News.
+     *
+     * @param pageSize size of each page.
+     * @return the Iterator of News.
+     */
+    @Override
+    public Iterator<News> iterateNews(final Integer pageSize) {
+        return this.contracts.iterateNews(pageSize);
+    }
+
+    /**
+     * @return the News saved until now, for the queries.
+     */
+    public NewsTable.Snapshot snapshot() {
+        return this.table.snapshot();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+/**
+ * A News with the id of other News already saved.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class DuplicateNewsException extends IllegalArgumentException {
+
+    /**
+     * The version of the serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The id of the News.
+     */
+    private final long id;
+
+    /**
+     * The Constructor.
+     *
+     * @param id of the News.
+     */
+    public DuplicateNewsException(final long id) {
+        super("Can't allow duplicate news!");
+        this.id = id;
+    }
+
+    /**
+     * @return the id of the News.
+     */
+    public long getId() {
+        return id;
+    }
+}
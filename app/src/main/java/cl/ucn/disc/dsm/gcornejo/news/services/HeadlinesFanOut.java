@@ -0,0 +1,233 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Request the top-headlines of several categories and countries at the same time, using a
+ * bounded pool of threads, and merge the results without duplicated {@link News}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class HeadlinesFanOut implements Closeable {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(HeadlinesFanOut.class);
+
+    /**
+     * The max pageSize of NewsApi, the most News expected of each query.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * The connection to NewsApi.
+     */
+    private final NewsApiService newsApiService;
+
+    /**
+     * The bounded pool of threads.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The timeout of each request, in millis.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The Constructor.
+     *
+     * @param newsApiService to use.
+     * @param parallelism    max number of requests at the same time.
+     * @param timeout        of each request.
+     * @param unit           of the timeout.
+     */
+    public HeadlinesFanOut(final NewsApiService newsApiService, final int parallelism, final long timeout, final TimeUnit unit) {
+        Validation.notNull(newsApiService, "newsApiService");
+        Validation.notNull(unit, "unit");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Error: parallelism need to be >0");
+        }
+        if (timeout < 1) {
+            throw new IllegalArgumentException("Error: timeout need to be >0");
+        }
+
+        this.newsApiService = newsApiService;
+        this.timeoutMillis = unit.toMillis(timeout);
+
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "headlines-fanout-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request every category in every country. Empty countries means no country filter.
+     *
+     * @param categories to search.
+     * @param countries  to search, can be empty.
+     * @param pageSize   the number of News of each request.
+     * @return the merged News and the failed requests.
+     */
+    public Result retrieveNews(final Collection<String> categories, final Collection<String> countries, final Integer pageSize) {
+        Validation.notNull(categories, "categories");
+        Validation.notNull(countries, "countries");
+
+        // category x country
+        final List<HeadlinesQuery> queries = new ArrayList<>();
+        for (String category : categories) {
+            if (countries.isEmpty()) {
+                queries.add(new HeadlinesQuery(category, null, pageSize));
+            }
+            for (String country : countries) {
+                queries.add(new HeadlinesQuery(category, country, pageSize));
+            }
+        }
+        return this.retrieveNews(queries);
+    }
+
+    /**
+     * Send all the queries at the same time.
+     *
+     * @param queries to send.
+     * @return the merged News and the failed requests.
+     */
+    public Result retrieveNews(final List<HeadlinesQuery> queries) {
+        Validation.notNull(queries, "queries");
+
+        // Fan out ..
+        final List<Future<List<News>>> futures = new ArrayList<>(queries.size());
+        for (HeadlinesQuery query : queries) {
+            futures.add(this.executor.submit(() -> this.newsApiService
+                    .getTopHeadlinesNews(query, this.timeoutMillis, TimeUnit.MILLISECONDS).getNews()));
+        }
+
+        // .. and merge, in order of query, without duplicates
+        final List<News> news = new ArrayList<>();
+        final LongIndex ids = new LongIndex(expected(queries));
+        final Map<HeadlinesQuery, Exception> failures = new LinkedHashMap<>();
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                for (News n : futures.get(i).get()) {
+                    if (ids.putIfAbsent(n.getId(), news.size()) == LongIndex.ABSENT) {
+                        news.add(n);
+                    }
+                }
+            } catch (ExecutionException e) {
+                log.warn("Request {} failed: {}", queries.get(i), e.getCause().toString());
+                failures.put(queries.get(i), e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            } catch (InterruptedException e) {
+                // Give up the pending requests
+                Thread.currentThread().interrupt();
+                for (int j = i; j < futures.size(); j++) {
+                    futures.get(j).cancel(true);
+                    failures.put(queries.get(j), e);
+                }
+                break;
+            }
+        }
+
+        return new Result(news, failures);
+    }
+
+    /**
+     * @param queries to send.
+     * @return the number of News expected of the queries, to size the index (it grows after that).
+     */
+    static int expected(final List<HeadlinesQuery> queries) {
+        long expected = 0;
+        for (HeadlinesQuery query : queries) {
+            expected += Math.min(query.getPageSize(), MAX_PAGE_SIZE);
+        }
+        return (int) Math.min(expected, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Stop the pool of threads.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * The result of a fan out: the News and the failures.
+     */
+    public static final class Result {
+
+        /**
+         * The merged News.
+         */
+        private final List<News> news;
+
+        /**
+         * The failed requests.
+         */
+        private final Map<HeadlinesQuery, Exception> failures;
+
+        /**
+         * The Constructor.
+         *
+         * @param news     merged.
+         * @param failures by request.
+         */
+        Result(final List<News> news, final Map<HeadlinesQuery, Exception> failures) {
+            this.news = Collections.unmodifiableList(news);
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return the News, without duplicates.
+         */
+        public List<News> getNews() {
+            return news;
+        }
+
+        /**
+         * @return the failed requests and the cause.
+         */
+        public Map<HeadlinesQuery, Exception> getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return true if all the requests finished ok.
+         */
+        public boolean isComplete() {
+            return failures.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Iterate over all the pages of a top-headlines query, one page in memory at time. The next page
+ * is requested in background when the current one starts to be consumed, and the iteration stops
+ * at the totalResults reported by NewsApi.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class HeadlinesIterator implements Iterator<News>, Closeable {
+
+    /**
+     * The connection to NewsApi.
+     */
+    private final NewsApiService newsApiService;
+
+    /**
+     * The query of the first page.
+     */
+    private final HeadlinesQuery query;
+
+    /**
+     * The News of the current page.
+     */
+    private Iterator<News> current = Collections.emptyIterator();
+
+    /**
+     * The next page, null at the end.
+     */
+    private CompletableFuture<NewsPage> next;
+
+    /**
+     * The number of the current page.
+     */
+    private int page;
+
+    /**
+     * The number of articles received.
+     */
+    private long received;
+
+    /**
+     * The Constructor: request the first page.
+     *
+     * @param newsApiService to use.
+     * @param query          of the first page.
+     */
+    public HeadlinesIterator(final NewsApiService newsApiService, final HeadlinesQuery query) {
+        Validation.notNull(newsApiService, "newsApiService");
+        Validation.notNull(query, "query");
+
+        this.newsApiService = newsApiService;
+        this.query = query;
+        this.page = query.getPage();
+        this.next = newsApiService.getTopHeadlinesNewsAsync(query);
+    }
+
+    /**
+     * @return true if there are more News, waiting for the next page if needed.
+     */
+    @Override
+    public boolean hasNext() {
+        while (!this.current.hasNext()) {
+            if (this.next == null) {
+                return false;
+            }
+            this.advance();
+        }
+        return true;
+    }
+
+    /**
+     * @return the next News.
+     */
+    @Override
+    public News next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.current.next();
+    }
+
+    /**
+     * Cancel the page requested in background.
+     */
+    @Override
+    public void close() {
+        if (this.next != null) {
+            this.next.cancel(true);
+            this.next = null;
+        }
+        this.current = Collections.emptyIterator();
+    }
+
+    /**
+     * Wait for the next page and request the one after it.
+     */
+    private void advance() {
+        final NewsPage response;
+        try {
+            response = this.next.join();
+        } catch (CompletionException e) {
+            this.next = null;
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+
+        // The rejected articles count too, are part of the totalResults
+        this.received += response.getNews().size() + response.getRejected().size();
+        this.current = response.getNews().iterator();
+
+        // Prefetch, while this page is consumed (a page all rejected isn't the end)
+        if (response.getNews().isEmpty() && response.getRejected().isEmpty()
+                || this.received >= response.getTotalResults()) {
+            this.next = null;
+        } else {
+            this.next = this.newsApiService.getTopHeadlinesNewsAsync(this.query.withPage(++this.page));
+        }
+    }
+}
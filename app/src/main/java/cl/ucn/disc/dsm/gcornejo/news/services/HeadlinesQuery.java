@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * The parameters of one request to the top-headlines endpoint.
+ * https://newsapi.org/docs/endpoints/top-headlines
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class HeadlinesQuery {
+
+    /**
+     * The category, can be null.
+     */
+    private final String category;
+
+    /**
+     * The 2-letter ISO 3166-1 code of the country, can be null.
+     */
+    private final String country;
+
+    /**
+     * The number of results.
+     */
+    private final Integer pageSize;
+
+    /**
+     * The page, starting from 1.
+     */
+    private final Integer page;
+
+    /**
+     * The Constructor.
+     *
+     * @param category to search, can be null if the country isn't.
+     * @param country  to search, can be null if the category isn't.
+     * @param pageSize the number of results, need to be >0.
+     */
+    public HeadlinesQuery(final String category, final String country, final Integer pageSize) {
+        this(category, country, pageSize, 1);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param category to search, can be null if the country isn't.
+     * @param country  to search, can be null if the category isn't.
+     * @param pageSize the number of results, need to be >0.
+     * @param page     the page of results, starting from 1.
+     */
+    public HeadlinesQuery(final String category, final String country, final Integer pageSize, final Integer page) {
+        if (category == null && country == null) {
+            throw new IllegalArgumentException("Error: need a category or a country");
+        }
+        Validation.notNull(pageSize, "pageSize");
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Error: pageSize need to be >0");
+        }
+
+        this.category = category;
+        this.country = country;
+        this.pageSize = pageSize;
+
+        Validation.notNull(page, "page");
+        if (page < 1) {
+            throw new IllegalArgumentException("Error: page need to be >0");
+        }
+        this.page = page;
+    }
+
+    /**
+     * @param page the page of results, starting from 1.
+     * @return the same query for other page.
+     */
+    public HeadlinesQuery withPage(final Integer page) {
+        return new HeadlinesQuery(this.category, this.country, this.pageSize, page);
+    }
+
+    /**
+     * @return the Category.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return the Country.
+     */
+    public String getCountry() {
+        return country;
+    }
+
+    /**
+     * @return the PageSize.
+     */
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return the Page.
+     */
+    public Integer getPage() {
+        return page;
+    }
+
+    /**
+     * Build the map of parameters to send.
+     *
+     * @param apiKey to use.
+     * @return the map of parameters.
+     */
+    Map<String, String> toQueryMap(final String apiKey) {
+
+        // The map of parameters.
+        final Map<String, String> query = new HashMap<>();
+        query.put("apiKey", apiKey);
+
+        if (this.category != null) {
+            query.put("category", this.category);
+        }
+        if (this.country != null) {
+            query.put("country", this.country);
+        }
+        query.put("pageSize", this.pageSize.toString());
+        query.put("page", this.page.toString());
+
+        return query;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HeadlinesQuery)) {
+            return false;
+        }
+        final HeadlinesQuery that = (HeadlinesQuery) o;
+        return Objects.equals(this.category, that.category)
+                && Objects.equals(this.country, that.country)
+                && this.pageSize.equals(that.pageSize)
+                && this.page.equals(that.page);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.category, this.country, this.pageSize, this.page);
+    }
+
+    @Override
+    public String toString() {
+        return "category=" + this.category + ", country=" + this.country + ", pageSize=" + this.pageSize + ", page=" + this.page;
+    }
+}
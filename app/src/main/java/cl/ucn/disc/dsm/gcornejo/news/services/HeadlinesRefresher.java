@@ -0,0 +1,340 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.LongIndex;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Poll the top-headlines of some queries in background, each one with its own interval (plus
+ * jitter, to don't synchronize the requests) and exponential backoff in case of error. Only the
+ * {@link News} with a new id are saved in the {@link Contracts} and sent to the {@link Listener}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class HeadlinesRefresher implements Closeable {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(HeadlinesRefresher.class);
+
+    /**
+     * The jitter of the interval: +/- 10%.
+     */
+    static final double JITTER = 0.1;
+
+    /**
+     * The connection to NewsApi.
+     */
+    private final NewsApiService newsApiService;
+
+    /**
+     * Where to save the new News.
+     */
+    private final Contracts contracts;
+
+    /**
+     * The timeout of each request, in millis.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The pool of threads of the requests.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The ids already seen, by all the queries.
+     */
+    private final LongIndex seen = new LongIndex();
+
+    /**
+     * The listeners of new News.
+     */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The Constructor.
+     *
+     * @param newsApiService to use.
+     * @param contracts      where to save the new News.
+     * @param threads        max number of requests at the same time.
+     * @param timeout        of each request.
+     * @param unit           of the timeout.
+     */
+    public HeadlinesRefresher(final NewsApiService newsApiService, final Contracts contracts, final int threads, final long timeout, final TimeUnit unit) {
+        Validation.notNull(newsApiService, "newsApiService");
+        Validation.notNull(contracts, "contracts");
+        Validation.notNull(unit, "unit");
+        if (threads < 1) {
+            throw new IllegalArgumentException("Error: threads need to be >0");
+        }
+        if (timeout < 1) {
+            throw new IllegalArgumentException("Error: timeout need to be >0");
+        }
+
+        this.newsApiService = newsApiService;
+        this.contracts = contracts;
+        this.timeoutMillis = unit.toMillis(timeout);
+
+        final AtomicInteger counter = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "headlines-refresher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // The News already saved aren't new
+        for (News news : contracts.retrieveNews(Integer.MAX_VALUE)) {
+            this.seen.putIfAbsent(news.getId(), 0);
+        }
+    }
+
+    /**
+     * Poll the query, starting now.
+     *
+     * @param query      to send.
+     * @param interval   between requests.
+     * @param maxBackoff max time between requests in case of error (>= interval).
+     * @param unit       of the times.
+     */
+    public void schedule(final HeadlinesQuery query, final long interval, final long maxBackoff, final TimeUnit unit) {
+        Validation.notNull(query, "query");
+        Validation.notNull(unit, "unit");
+        if (interval < 1) {
+            throw new IllegalArgumentException("Error: interval need to be >0");
+        }
+        if (maxBackoff < interval) {
+            throw new IllegalArgumentException("Error: maxBackoff need to be >= interval");
+        }
+
+        this.scheduler.execute(new Poll(query, unit.toMillis(interval), unit.toMillis(maxBackoff)));
+    }
+
+    /**
+     * @param listener to notify of the new News.
+     */
+    public void addListener(final Listener listener) {
+        Validation.notNull(listener, "listener");
+        this.listeners.add(listener);
+    }
+
+    /**
+     * @param listener to don't notify anymore.
+     */
+    public void removeListener(final Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Request the query once, save and notify the new News.
+     *
+     * @param query to send.
+     * @return the new News.
+     * @throws Exception in case of error of the request.
+     */
+    public List<News> refresh(final HeadlinesQuery query) throws Exception {
+        Validation.notNull(query, "query");
+
+        final NewsPage page = this.newsApiService.getTopHeadlinesNews(query, this.timeoutMillis, TimeUnit.MILLISECONDS);
+
+        final List<News> fresh = this.diff(page.getNews());
+        if (!fresh.isEmpty()) {
+            for (Listener listener : this.listeners) {
+                try {
+                    listener.onNews(query, fresh);
+                } catch (RuntimeException e) {
+                    log.warn("Listener failed: {}", e.toString());
+                }
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Keep the News with an id not seen before and save them. The ids are seen once the Contracts
+     * decide (saved, duplicate, rejected or invalid), a save that throws is retried in the next
+     * request.
+     *
+     * @param news received.
+     * @return the News saved.
+     */
+    private synchronized List<News> diff(final List<News> news) {
+        final List<News> unseen = new ArrayList<>();
+        final LongIndex page = new LongIndex(news.size());
+        for (News n : news) {
+            if (!this.seen.contains(n.getId()) && page.putIfAbsent(n.getId(), 0) == LongIndex.ABSENT) {
+                unseen.add(n);
+            }
+        }
+        if (unseen.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Only the saved ones (i.e. not rejected by the Contracts)
+        final List<SaveOutcome> outcomes = this.contracts.saveAll(unseen);
+        final List<News> saved = new ArrayList<>(unseen.size());
+        for (int i = 0; i < unseen.size(); i++) {
+            if (outcomes.get(i) == SaveOutcome.SAVED) {
+                saved.add(unseen.get(i));
+            }
+            this.seen.putIfAbsent(unseen.get(i).getId(), 0);
+        }
+        return Collections.unmodifiableList(saved);
+    }
+
+    /**
+     * The time until the next request: the interval, doubled for each consecutive failure up to
+     * the max backoff, +/- {@link #JITTER}.
+     *
+     * @param interval   between requests, in millis.
+     * @param maxBackoff max time between requests, in millis.
+     * @param failures   consecutive.
+     * @param random     for the jitter.
+     * @return the delay, in millis.
+     */
+    static long delay(final long interval, final long maxBackoff, final int failures, final Random random) {
+        long delay = interval;
+        for (int i = 0; i < failures && delay < maxBackoff; i++) {
+            delay <<= 1;
+        }
+        delay = Math.min(delay, maxBackoff);
+        return Math.max(1, Math.round(delay * (1 + JITTER * (2 * random.nextDouble() - 1))));
+    }
+
+    /**
+     * Stop the polling.
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * The listener of new News.
+     */
+    public interface Listener {
+
+        /**
+         * Called (in the thread of the request) with the News not seen before.
+         *
+         * @param query of the News.
+         * @param news  the new News, not empty.
+         */
+        void onNews(HeadlinesQuery query, List<News> news);
+
+        /**
+         * Called (in the thread of the request) when a request fails.
+         *
+         * @param query     failed.
+         * @param exception the error.
+         * @param retryIn   millis until the next request.
+         */
+        default void onError(HeadlinesQuery query, Exception exception, long retryIn) {
+            // Nothing here
+        }
+    }
+
+    /**
+     * The polling of one query, rescheduled after each request.
+     */
+    private final class Poll implements Runnable {
+
+        /**
+         * The query to send.
+         */
+        private final HeadlinesQuery query;
+
+        /**
+         * The interval, in millis.
+         */
+        private final long interval;
+
+        /**
+         * The max backoff, in millis.
+         */
+        private final long maxBackoff;
+
+        /**
+         * The consecutive failures.
+         */
+        private int failures;
+
+        /**
+         * The Constructor.
+         *
+         * @param query      to send.
+         * @param interval   in millis.
+         * @param maxBackoff in millis.
+         */
+        Poll(final HeadlinesQuery query, final long interval, final long maxBackoff) {
+            this.query = query;
+            this.interval = interval;
+            this.maxBackoff = maxBackoff;
+        }
+
+        /**
+         * Request, notify and reschedule.
+         */
+        @Override
+        public void run() {
+            Exception error = null;
+            try {
+                refresh(this.query);
+                this.failures = 0;
+            } catch (Exception e) {
+                error = e;
+                this.failures++;
+            }
+
+            // Closed meanwhile
+            if (scheduler.isShutdown()) {
+                return;
+            }
+
+            final long delay = delay(this.interval, this.maxBackoff, this.failures, ThreadLocalRandom.current());
+            if (error != null) {
+                log.warn("Request {} failed ({} times), retry in {} ms: {}", this.query, this.failures, delay, error.toString());
+                for (Listener listener : listeners) {
+                    try {
+                        listener.onError(this.query, error, delay);
+                    } catch (RuntimeException e) {
+                        log.warn("Listener failed: {}", e.toString());
+                    }
+                }
+            }
+
+            try {
+                scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closed meanwhile
+            }
+        }
+    }
+}
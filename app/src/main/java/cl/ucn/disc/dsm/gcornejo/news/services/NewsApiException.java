@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+/**
+ * A non 2xx response of NewsApi.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsApiException extends RuntimeException {
+
+    /**
+     * The version of the serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The http code.
+     */
+    private final int code;
+
+    /**
+     * The millis to wait before the next request (Retry-After), -1 if unknown.
+     */
+    private final long retryAfterMillis;
+
+    /**
+     * The Constructor.
+     *
+     * @param code             of the response.
+     * @param body             of the response.
+     * @param retryAfterMillis to wait, -1 if unknown.
+     */
+    public NewsApiException(final int code, final String body, final long retryAfterMillis) {
+        super("Error: " + code + " --> " + body);
+        this.code = code;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return the http code.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @return the millis to wait before the next request (Retry-After), -1 if unknown.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * @return true if the same request can succeed later (429 Too Many Requests or 5xx).
+     */
+    public boolean isRetryable() {
+        return code == 429 || code >= 500;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+/**
+ * The OkHttp client of {@link NewsApiService}: disk cache, stale-while-revalidate, tuned pool
+ * of connections. The responses are gzip compressed (OkHttp send Accept-Encoding: gzip and
+ * decompress in a transparent way, so don't set that header by hand).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsApiHttpClient {
+
+    /**
+     * The Constructor.
+     */
+    private NewsApiHttpClient() {
+        // Nothing here
+    }
+
+    /**
+     * Build the client with the defaults: 5 idle connections alive for 5 minutes, responses fresh
+     * for 1 minute and served stale for 10 minutes more.
+     *
+     * @param cacheDir  where to store the responses.
+     * @param cacheSize the max size of the cache, in bytes.
+     * @return the client.
+     */
+    public static OkHttpClient create(final File cacheDir, final long cacheSize) {
+        return create(cacheDir, cacheSize, 5, TimeUnit.MINUTES.toMillis(5),
+                TimeUnit.MINUTES.toMillis(1), TimeUnit.MINUTES.toMillis(10));
+    }
+
+    /**
+     * Build the client.
+     *
+     * @param cacheDir           where to store the responses.
+     * @param cacheSize          the max size of the cache, in bytes.
+     * @param maxIdleConnections the number of connections to keep alive.
+     * @param keepAliveMillis    the time to keep alive an idle connection.
+     * @param maxAgeMillis       the time a response is fresh.
+     * @param staleMillis        the time a stale response can be served while revalidating.
+     * @return the client.
+     */
+    public static OkHttpClient create(final File cacheDir, final long cacheSize,
+                                      final int maxIdleConnections, final long keepAliveMillis,
+                                      final long maxAgeMillis, final long staleMillis) {
+        Validation.notNull(cacheDir, "cacheDir");
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Error: cacheSize need to be >0");
+        }
+
+        final StaleWhileRevalidateInterceptor swr = new StaleWhileRevalidateInterceptor(
+                maxAgeMillis, staleMillis, TimeUnit.MILLISECONDS);
+
+        final OkHttpClient client = new OkHttpClient.Builder()
+                .cache(new Cache(cacheDir, cacheSize))
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .addInterceptor(swr)
+                .addNetworkInterceptor(swr.cacheable())
+                .build();
+
+        // The revalidations use the same client (cache and connections)
+        swr.attach(client);
+        return client;
+    }
+}
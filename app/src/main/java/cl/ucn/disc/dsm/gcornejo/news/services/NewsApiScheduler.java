@@ -0,0 +1,490 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.TokenBucket;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Send the requests to NewsApi without exceeding the quota: the requests wait in a queue, by
+ * priority, for a token of a {@link TokenBucket}. The identical requests (queued or in flight)
+ * share one response. A 429 Too Many Requests stops all the requests for the Retry-After time;
+ * the 429, 5xx and io errors are retried with exponential backoff.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsApiScheduler implements Closeable {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(NewsApiScheduler.class);
+
+    /**
+     * The backoff of the first retry, in millis.
+     */
+    static final long BACKOFF_MILLIS = 250;
+
+    /**
+     * The max backoff, in millis.
+     */
+    static final long MAX_BACKOFF_MILLIS = 60000;
+
+    /**
+     * The connection to NewsApi.
+     */
+    private final NewsApiService newsApiService;
+
+    /**
+     * The quota.
+     */
+    private final TokenBucket bucket;
+
+    /**
+     * The max number of retries of each request.
+     */
+    private final int maxRetries;
+
+    /**
+     * The requests waiting for a token, the highest priority first.
+     */
+    private final PriorityQueue<Request> queue = new PriorityQueue<>();
+
+    /**
+     * The requests queued or in flight, by query.
+     */
+    private final Map<HeadlinesQuery, Request> pending = new HashMap<>();
+
+    /**
+     * The thread that takes the tokens and sends the requests.
+     */
+    private final Thread dispatcher;
+
+    /**
+     * The retries waiting for its backoff.
+     */
+    private final ScheduledExecutorService retries;
+
+    /**
+     * The requests waiting for its retry, to cancel them on close.
+     */
+    private final Set<Request> waiting = new HashSet<>();
+
+    /**
+     * No requests before this time (Retry-After), in nanos.
+     */
+    private long blockedUntil;
+
+    /**
+     * The order of arrival.
+     */
+    private long sequence;
+
+    /**
+     * True after close.
+     */
+    private boolean closed;
+
+    /**
+     * The number of requests sent, retries included.
+     */
+    private long sent;
+
+    /**
+     * The number of requests merged with other identical.
+     */
+    private long merged;
+
+    /**
+     * The number of retries.
+     */
+    private long retried;
+
+    /**
+     * The number of 429 Too Many Requests.
+     */
+    private long rateLimited;
+
+    /**
+     * The number of requests sent the first time.
+     */
+    private long waited;
+
+    /**
+     * The sum of the time in the queue until the first send, in nanos.
+     */
+    private long waitNanos;
+
+    /**
+     * The max time in the queue until the first send, in nanos.
+     */
+    private long maxWaitNanos;
+
+    /**
+     * The Constructor.
+     *
+     * @param newsApiService to use.
+     * @param burst          max number of requests at once.
+     * @param requests       allowed each period.
+     * @param period         of the quota.
+     * @param unit           of the period.
+     * @param maxRetries     of each request.
+     */
+    public NewsApiScheduler(final NewsApiService newsApiService, final int burst, final int requests, final long period, final TimeUnit unit, final int maxRetries) {
+        Validation.notNull(newsApiService, "newsApiService");
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Error: maxRetries need to be >=0");
+        }
+
+        this.newsApiService = newsApiService;
+        this.bucket = new TokenBucket(burst, requests, period, unit, System.nanoTime());
+        this.maxRetries = maxRetries;
+        this.blockedUntil = System.nanoTime();
+
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "newsapi-scheduler-retries");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatch, "newsapi-scheduler");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queue the request of top-headlines.
+     *
+     * @param query    to send.
+     * @param priority of the request, the highest first.
+     * @return the future page of News.
+     */
+    public CompletableFuture<NewsPage> submit(final HeadlinesQuery query, final int priority) {
+        Validation.notNull(query, "query");
+
+        final Request request;
+        synchronized (this) {
+            if (this.closed) {
+                final CompletableFuture<NewsPage> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException("Scheduler closed"));
+                return future;
+            }
+
+            final Request same = this.pending.get(query);
+            if (same != null) {
+                // Merge, and move it up if needed
+                this.merged++;
+                if (priority > same.priority && this.queue.remove(same)) {
+                    same.priority = priority;
+                    this.queue.add(same);
+                }
+                request = same;
+            } else {
+                request = new Request(query, priority, this.sequence++, System.nanoTime());
+                this.pending.put(query, request);
+                this.queue.add(request);
+                this.notifyAll();
+            }
+        }
+
+        // Each caller can cancel its own future
+        return request.future.thenApply(page -> page);
+    }
+
+    /**
+     * Take a token and send the first request of the queue, forever.
+     */
+    private void dispatch() {
+        while (true) {
+            final Request request;
+            synchronized (this) {
+                try {
+                    while (!this.closed && this.queue.isEmpty()) {
+                        this.wait();
+                    }
+                    if (this.closed) {
+                        return;
+                    }
+
+                    final long now = System.nanoTime();
+                    final long wait = Math.max(this.blockedUntil - now, this.bucket.waitNanos(now));
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(this, wait);
+                        continue;
+                    }
+
+                    this.bucket.tryAcquire(now);
+                    request = this.queue.poll();
+                    this.sent++;
+                    if (request.attempts == 0) {
+                        final long waiting = now - request.submitted;
+                        this.waited++;
+                        this.waitNanos += waiting;
+                        this.maxWaitNanos = Math.max(this.maxWaitNanos, waiting);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            request.attempts++;
+            this.newsApiService.getTopHeadlinesNewsAsync(request.query)
+                    .whenComplete((page, t) -> this.done(request, page, t));
+        }
+    }
+
+    /**
+     * Complete or retry the request.
+     *
+     * @param request sent.
+     * @param page    received, null in case of error.
+     * @param t       the error, null if ok.
+     */
+    private void done(final Request request, final NewsPage page, final Throwable t) {
+        if (t == null) {
+            this.complete(request, page, null);
+            return;
+        }
+
+        final Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        long delay = -1;
+        boolean limited = false;
+        if (request.attempts <= this.maxRetries) {
+            if (cause instanceof NewsApiException && ((NewsApiException) cause).isRetryable()) {
+                final NewsApiException e = (NewsApiException) cause;
+                delay = e.getRetryAfterMillis() >= 0 ? e.getRetryAfterMillis() : backoff(request.attempts);
+                limited = e.getCode() == 429;
+            } else if (cause instanceof IOException) {
+                delay = backoff(request.attempts);
+            }
+        }
+        if (delay < 0) {
+            this.complete(request, null, cause);
+            return;
+        }
+
+        log.warn("Request {} failed ({} times), retry in {} ms: {}", request.query, request.attempts, delay, cause.toString());
+        synchronized (this) {
+            this.retried++;
+            if (limited) {
+                // The quota is of the key: stop all the requests
+                final long now = System.nanoTime();
+                this.rateLimited++;
+                this.blockedUntil = Math.max(this.blockedUntil, now + TimeUnit.MILLISECONDS.toNanos(delay));
+                this.bucket.drain(now);
+                this.requeue(request);
+                return;
+            }
+            this.waiting.add(request);
+        }
+        try {
+            this.retries.schedule(() -> this.requeue(request), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                this.waiting.remove(request);
+            }
+            this.complete(request, null, cause);
+        }
+    }
+
+    /**
+     * Put the request back in the queue (with its priority and order of arrival).
+     *
+     * @param request to retry.
+     */
+    private synchronized void requeue(final Request request) {
+        this.waiting.remove(request);
+        if (this.closed) {
+            request.future.cancel(false);
+            return;
+        }
+        this.queue.add(request);
+        this.notifyAll();
+    }
+
+    /**
+     * @param request to complete.
+     * @param page    received, null in case of error.
+     * @param t       the error, null if ok.
+     */
+    private void complete(final Request request, final NewsPage page, final Throwable t) {
+        synchronized (this) {
+            this.pending.remove(request.query, request);
+        }
+        if (t == null) {
+            request.future.complete(page);
+        } else {
+            request.future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * The backoff of the retry, with jitter: [1/2, 1] of {@link #BACKOFF_MILLIS} doubled by attempt.
+     *
+     * @param attempts done.
+     * @return the delay, in millis.
+     */
+    static long backoff(final int attempts) {
+        final long delay = Math.min(MAX_BACKOFF_MILLIS, BACKOFF_MILLIS << Math.min(attempts - 1, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * @return the number of requests waiting for a token.
+     */
+    public synchronized int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * @return the number of requests sent, retries included.
+     */
+    public synchronized long getSent() {
+        return this.sent;
+    }
+
+    /**
+     * @return the number of requests merged with other identical.
+     */
+    public synchronized long getMerged() {
+        return this.merged;
+    }
+
+    /**
+     * @return the number of retries.
+     */
+    public synchronized long getRetried() {
+        return this.retried;
+    }
+
+    /**
+     * @return the number of 429 Too Many Requests.
+     */
+    public synchronized long getRateLimited() {
+        return this.rateLimited;
+    }
+
+    /**
+     * @return the average time in the queue until the first send, in millis.
+     */
+    public synchronized double getAverageWaitMillis() {
+        return this.waited == 0 ? 0 : this.waitNanos / 1e6 / this.waited;
+    }
+
+    /**
+     * @return the max time in the queue until the first send, in millis.
+     */
+    public synchronized double getMaxWaitMillis() {
+        return this.maxWaitNanos / 1e6;
+    }
+
+    /**
+     * Stop the dispatcher and cancel the queued requests and the retries.
+     */
+    @Override
+    public void close() {
+        final List<Request> cancelled;
+        synchronized (this) {
+            this.closed = true;
+            cancelled = new ArrayList<>(this.queue);
+            cancelled.addAll(this.waiting);
+            this.queue.clear();
+            this.waiting.clear();
+            this.notifyAll();
+        }
+        this.retries.shutdownNow();
+        for (Request request : cancelled) {
+            request.future.cancel(false);
+        }
+    }
+
+    /**
+     * A request and its response.
+     */
+    private static final class Request implements Comparable<Request> {
+
+        /**
+         * The query to send.
+         */
+        private final HeadlinesQuery query;
+
+        /**
+         * The order of arrival.
+         */
+        private final long sequence;
+
+        /**
+         * The time of arrival, in nanos.
+         */
+        private final long submitted;
+
+        /**
+         * The response, shared by the identical requests.
+         */
+        private final CompletableFuture<NewsPage> future = new CompletableFuture<>();
+
+        /**
+         * The priority, the highest first.
+         */
+        private int priority;
+
+        /**
+         * The number of sends.
+         */
+        private int attempts;
+
+        /**
+         * The Constructor.
+         *
+         * @param query     to send.
+         * @param priority  of the request.
+         * @param sequence  the order of arrival.
+         * @param submitted the time of arrival, in nanos.
+         */
+        Request(final HeadlinesQuery query, final int priority, final long sequence, final long submitted) {
+            this.query = query;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.submitted = submitted;
+        }
+
+        /**
+         * @param other request.
+         * @return the highest priority first, then the oldest.
+         */
+        @Override
+        public int compareTo(final Request other) {
+            if (this.priority != other.priority) {
+                return Integer.compare(other.priority, this.priority);
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
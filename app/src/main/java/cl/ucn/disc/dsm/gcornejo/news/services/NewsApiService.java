@@ -12,23 +12,38 @@ package cl.ucn.disc.dsm.gcornejo.news.services;
 
 import com.kwabenaberko.newsapilib.models.Article;
 import com.kwabenaberko.newsapilib.models.response.ArticleResponse;
-import com.kwabenaberko.newsapilib.network.APIClient;
 import com.kwabenaberko.newsapilib.network.APIService;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Date;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import cl.ucn.disc.dsm.gcornejo.news.metrics.LatencyHistogram;
+import cl.ucn.disc.dsm.gcornejo.news.metrics.Metrics;
+import cl.ucn.disc.dsm.gcornejo.news.metrics.MetricsEventListener;
 import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
- * Naive syncronic NewsApi implementation.
+ * NewsApi implementation, syncronic and asyncronic.
  * @author Gonzalo Cornejo Araya.
  */
 public final class NewsApiService {
 
+    /**
+     * The NewsApi server.
+     */
+    private static final String BASE_URL = "https://newsapi.org/v2/";
+
     /**
      * The Key.
      */
@@ -39,56 +54,379 @@ public final class NewsApiService {
      */
     private final APIService apiService;
 
+    /**
+     * The sub-service that reads the json straight into News.
+     */
+    private final NewsApiEndpoint newsEndpoint;
+
+    /**
+     * The Metrics of the calls, {@link Metrics#DISABLED} by default.
+     */
+    private final Metrics metrics;
+
+    /**
+     * The latency of getTopHeadlines.
+     */
+    private final LatencyHistogram latency;
+
+    /**
+     * The getTopHeadlines ok.
+     */
+    private final LongAdder ok;
+
+    /**
+     * The getTopHeadlines with error (http or i/o).
+     */
+    private final LongAdder errors;
+
+    /**
+     * The Article or News received.
+     */
+    private final LongAdder articles;
+
+    /**
+     * The articles rejected (not converted into News).
+     */
+    private final LongAdder rejected;
+
     /**
      * The Constructor.
      *
      * @param apiKey to use.
      */
     public NewsApiService(String apiKey){
+        this(apiKey, BASE_URL, new OkHttpClient());
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param apiKey to use.
+     * @param client to use, see {@link NewsApiHttpClient}.
+     */
+    public NewsApiService(String apiKey, OkHttpClient client){
+        this(apiKey, BASE_URL, client);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param apiKey  to use.
+     * @param baseUrl of the NewsApi server, ending in /.
+     */
+    public NewsApiService(String apiKey, String baseUrl){
+        this(apiKey, baseUrl, new OkHttpClient());
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param apiKey  to use.
+     * @param baseUrl of the NewsApi server, ending in /.
+     * @param client  to use, see {@link NewsApiHttpClient}.
+     */
+    public NewsApiService(String apiKey, String baseUrl, OkHttpClient client){
+        this(apiKey, baseUrl, client, Metrics.DISABLED);
+    }
+
+    /**
+     * The Constructor, with the metrics of the calls (getTopHeadlines.*) and of OkHttp (http.*,
+     * see {@link MetricsEventListener}).
+     *
+     * @param apiKey  to use.
+     * @param baseUrl of the NewsApi server, ending in /.
+     * @param client  to use, see {@link NewsApiHttpClient}.
+     * @param metrics to record.
+     */
+    public NewsApiService(String apiKey, String baseUrl, OkHttpClient client, Metrics metrics){
         Validation.notNull(apiKey, "apiKey");
+        Validation.notNull(baseUrl, "baseUrl");
+        Validation.notNull(client, "client");
+        Validation.notNull(metrics, "metrics");
         this.apiKey = apiKey;
-        this.apiService = APIClient.getAPIService();
+        this.metrics = metrics;
+        this.latency = metrics.latency("getTopHeadlines");
+        this.ok = metrics.counter("getTopHeadlines.ok");
+        this.errors = metrics.counter("getTopHeadlines.error");
+        this.articles = metrics.counter("getTopHeadlines.articles");
+        this.rejected = metrics.counter("getTopHeadlines.rejected");
+
+        // The same pool and cache, with the listener
+        if (metrics.isEnabled()) {
+            client = client.newBuilder().eventListenerFactory(MetricsEventListener.factory(metrics)).build();
+        }
+
+        // NewsPage with the streaming converter, the rest with Gson
+        final Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(NewsPageConverter.factory())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+        this.apiService = retrofit.create(APIService.class);
+        this.newsEndpoint = retrofit.create(NewsApiEndpoint.class);
     }
 
     /**
      * The getTopHeadLines adaptor.
      *
      * @param category to search.
+     * @param pageSize the number of Article.
      * @return the List of Article.
      * @throws IOException in case of error.
      */
     public List<Article> getTopHeadlines(final String category, final Integer pageSize) throws IOException {
         Validation.notNull(category, "category");
-        Validation.notNull(pageSize, "pageSize");
+        return this.getTopHeadlines(new HeadlinesQuery(category, null, pageSize));
+    }
 
-        if (pageSize < 1) {
-            throw new IllegalArgumentException("Error: pageSize need to be >0");
-        }
+    /**
+     * The getTopHeadLines adaptor.
+     *
+     * @param query to send.
+     * @return the List of Article.
+     * @throws IOException in case of error.
+     */
+    public List<Article> getTopHeadlines(final HeadlinesQuery query) throws IOException {
+        return this.getTopHeadlines(query, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The getTopHeadLines adaptor, with a timeout for the complete call (dns, connect, write, read).
+     *
+     * @param query   to send.
+     * @param timeout of the call, 0 means no timeout.
+     * @param unit    of the timeout.
+     * @return the List of Article.
+     * @throws IOException in case of error (InterruptedIOException in case of timeout).
+     * @throws NewsApiException in case of a non 2xx response.
+     */
+    public List<Article> getTopHeadlines(final HeadlinesQuery query, final long timeout, final TimeUnit unit) throws IOException {
+        Validation.notNull(query, "query");
+
+        return execute(apiService.getTopHeadlines(query.toQueryMap(this.apiKey)), timeout, unit).getArticles();
+    }
+
+    /**
+     * The getTopHeadLines adaptor, without blocking: the call is queued in the OkHttp dispatcher.
+     *
+     * @param category to search.
+     * @param pageSize the number of Article.
+     * @return the future List of Article.
+     */
+    public CompletableFuture<List<Article>> getTopHeadlinesAsync(final String category, final Integer pageSize) {
+        Validation.notNull(category, "category");
+        return this.getTopHeadlinesAsync(new HeadlinesQuery(category, null, pageSize));
+    }
+
+    /**
+     * The getTopHeadLines adaptor, without blocking: the call is queued in the OkHttp dispatcher.
+     *
+     * @param query to send.
+     * @return the future List of Article.
+     */
+    public CompletableFuture<List<Article>> getTopHeadlinesAsync(final HeadlinesQuery query) {
+        return this.getTopHeadlinesPageAsync(query).thenApply(ArticleResponse::getArticles);
+    }
+
+    /**
+     * The getTopHeadLines adaptor, without blocking: the call is queued in the OkHttp dispatcher.
+     *
+     * @param query to send.
+     * @return the future response, with the page of Article and the total of results.
+     */
+    public CompletableFuture<ArticleResponse> getTopHeadlinesPageAsync(final HeadlinesQuery query) {
+        Validation.notNull(query, "query");
+        return enqueue(apiService.getTopHeadlines(query.toQueryMap(this.apiKey)));
+    }
+
+    /**
+     * The getTopHeadLines, reading the json straight into News (without Article).
+     *
+     * @param query to send.
+     * @return the page of News and the total of results.
+     * @throws IOException in case of error.
+     */
+    public NewsPage getTopHeadlinesNews(final HeadlinesQuery query) throws IOException {
+        return this.getTopHeadlinesNews(query, 0, TimeUnit.MILLISECONDS);
+    }
 
-        // TODO: Implements the correct map to request parameters.
-        // https://nwesapi.org/docs/endpoints/top-headlines
+    /**
+     * The getTopHeadLines, reading the json straight into News (without Article), with a timeout
+     * for the complete call (dns, connect, write, read).
+     *
+     * @param query   to send.
+     * @param timeout of the call, 0 means no timeout.
+     * @param unit    of the timeout.
+     * @return the page of News and the total of results.
+     * @throws IOException in case of error (InterruptedIOException in case of timeout).
+     * @throws NewsApiException in case of a non 2xx response.
+     */
+    public NewsPage getTopHeadlinesNews(final HeadlinesQuery query, final long timeout, final TimeUnit unit) throws IOException {
+        Validation.notNull(query, "query");
+        return execute(newsEndpoint.getTopHeadlines(query.toQueryMap(this.apiKey)), timeout, unit);
+    }
 
-        // The map of parameters.
-        Map<String, String> query = new HashMap<>();
-        query.put("apiKey", this.apiKey);
+    /**
+     * The getTopHeadLines, reading the json straight into News (without Article) and without
+     * blocking: the call is queued in the OkHttp dispatcher.
+     *
+     * @param query to send.
+     * @return the future page of News and the total of results.
+     */
+    public CompletableFuture<NewsPage> getTopHeadlinesNewsAsync(final HeadlinesQuery query) {
+        Validation.notNull(query, "query");
+        return enqueue(newsEndpoint.getTopHeadlines(query.toQueryMap(this.apiKey)));
+    }
 
-        // query.put("country", topHeadlinesRequest.getCountry());
-        // query.put("language", topHeadlinesRequest.getLanguage());
-        query.put("category", category);
-        // query.put("sources", topHeadlinesRequest.getSources());
-        // query.put("q", topHeadlinesRequest.getSources());
-        query.put("pageSize", pageSize.toString());
-        // query.put("page", topHeadlinesRequest.getPage());
+    /**
+     * Execute the call.
+     *
+     * @param call    to execute.
+     * @param timeout of the call, 0 means no timeout.
+     * @param unit    of the timeout.
+     * @param <T>     type of the body.
+     * @return the body.
+     * @throws IOException in case of error.
+     */
+    private <T> T execute(final Call<T> call, final long timeout, final TimeUnit unit) throws IOException {
+        call.timeout().timeout(timeout, unit);
+        final long start = this.metrics.isEnabled() ? System.nanoTime() : 0;
 
         // The response (sincronic!)
-        Response<ArticleResponse> response = apiService.getTopHeadlines(query).execute();
+        final Response<T> response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            this.failure(start, 0);
+            throw e;
+        }
 
         // ALL ok, return the data
         if (response.isSuccessful()){
-            return response.body().getArticles();
+            this.success(start, response);
+            return response.body();
         }
 
-        throw new RuntimeException("Error: " + response.code() + " --> " + response.errorBody().string());
+        this.failure(start, response.code());
+        throw error(response);
+    }
+
+    /**
+     * Record a successful call.
+     *
+     * @param start    of the call, 0 if disabled.
+     * @param response of the call.
+     */
+    private void success(final long start, final Response<?> response) {
+        if (start == 0) {
+            return;
+        }
+        this.latency.recordSince(start);
+        this.ok.increment();
+        this.metrics.counter("getTopHeadlines.status." + response.code()).increment();
+
+        final Object body = response.body();
+        if (body instanceof NewsPage) {
+            this.articles.add(((NewsPage) body).getNews().size());
+            this.rejected.add(((NewsPage) body).getRejected().size());
+        } else if (body instanceof ArticleResponse && ((ArticleResponse) body).getArticles() != null) {
+            this.articles.add(((ArticleResponse) body).getArticles().size());
+        }
+    }
+
+    /**
+     * Record a failed call.
+     *
+     * @param start of the call, 0 if disabled.
+     * @param code  of the response, 0 if i/o error.
+     */
+    private void failure(final long start, final int code) {
+        if (start == 0) {
+            return;
+        }
+        this.latency.recordSince(start);
+        this.errors.increment();
+        if (code != 0) {
+            this.metrics.counter("getTopHeadlines.status." + code).increment();
+        }
+    }
+
+    /**
+     * @param response not successful.
+     * @return the exception of the response.
+     * @throws IOException in case of error reading the body.
+     */
+    private static NewsApiException error(final Response<?> response) throws IOException {
+        return new NewsApiException(response.code(), response.errorBody().string(), retryAfter(response.headers()));
+    }
+
+    /**
+     * The Retry-After header: seconds or http date.
+     *
+     * @param headers of the response.
+     * @return the millis to wait, -1 if unknown.
+     */
+    static long retryAfter(final Headers headers) {
+        final String value = headers.get("Retry-After");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            final Date date = headers.getDate("Retry-After");
+            return date == null ? -1 : Math.max(0, date.getTime() - System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Queue the call in the OkHttp dispatcher.
+     *
+     * @param call to queue.
+     * @param <T>  type of the body.
+     * @return the future body.
+     */
+    private <T> CompletableFuture<T> enqueue(final Call<T> call) {
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long start = this.metrics.isEnabled() ? System.nanoTime() : 0;
+
+        call.enqueue(new Callback<T>() {
+
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+
+                // ALL ok, return the data
+                if (response.isSuccessful()) {
+                    success(start, response);
+                    future.complete(response.body());
+                    return;
+                }
+
+                failure(start, response.code());
+                try {
+                    future.completeExceptionally(error(response));
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                failure(start, 0);
+                future.completeExceptionally(t);
+            }
+        });
+
+        // Cancel the http call if nobody waits for it
+        future.whenComplete((body, t) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        return future;
     }
 
 }
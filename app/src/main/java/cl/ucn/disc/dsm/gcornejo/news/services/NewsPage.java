@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.Collections;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * One page of News from NewsApi.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsPage {
+
+    /**
+     * The News of the page.
+     */
+    private final List<News> news;
+
+    /**
+     * The total of results in NewsApi (all the pages).
+     */
+    private final int totalResults;
+
+    /**
+     * The articles not converted into News.
+     */
+    private final List<Rejection> rejected;
+
+    /**
+     * The Constructor.
+     *
+     * @param news         of the page.
+     * @param totalResults of all the pages.
+     */
+    public NewsPage(final List<News> news, final int totalResults) {
+        this(news, totalResults, Collections.<Rejection>emptyList());
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param news         of the page.
+     * @param totalResults of all the pages.
+     * @param rejected     the articles not converted.
+     */
+    public NewsPage(final List<News> news, final int totalResults, final List<Rejection> rejected) {
+        Validation.notNull(news, "news");
+        Validation.notNull(rejected, "rejected");
+        this.news = Collections.unmodifiableList(news);
+        this.totalResults = totalResults;
+        this.rejected = Collections.unmodifiableList(rejected);
+    }
+
+    /**
+     * @return the News of the page.
+     */
+    public List<News> getNews() {
+        return news;
+    }
+
+    /**
+     * @return the total of results in NewsApi.
+     */
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    /**
+     * @return the articles of the page not converted into News.
+     */
+    public List<Rejection> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * One article not converted into News.
+     */
+    public static final class Rejection {
+
+        /**
+         * The position of the article in the page.
+         */
+        private final int index;
+
+        /**
+         * The field rejected.
+         */
+        private final String field;
+
+        /**
+         * The reason.
+         */
+        private final Validation.Reason reason;
+
+        /**
+         * The Constructor.
+         *
+         * @param index  of the article in the page.
+         * @param result of the validation.
+         */
+        public Rejection(final int index, final Validation.Result result) {
+            this.index = index;
+            this.field = result.getField();
+            this.reason = result.getReason();
+        }
+
+        /**
+         * @return the position of the article in the page.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the field rejected.
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * @return the reason.
+         */
+        public Validation.Reason getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "index=" + index + ", field=" + field + ", reason=" + reason;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsStrings;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Iso8601;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Read the json of NewsApi straight into {@link News}, streaming with {@link JsonReader}: each
+ * article is built once, without the Article / Source objects of the Gson converter. The
+ * articles that can't be News are skipped and reported in {@link NewsPage#getRejected()}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsPageConverter implements Converter<ResponseBody, NewsPage> {
+
+    /**
+     * The singleton.
+     */
+    private static final NewsPageConverter INSTANCE = new NewsPageConverter();
+
+    /**
+     * The Constructor.
+     */
+    private NewsPageConverter() {
+        // Nothing here
+    }
+
+    /**
+     * @return the factory to add in Retrofit (before the Gson one).
+     */
+    public static Converter.Factory factory() {
+        return new Converter.Factory() {
+            @Override
+            public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+                return type == NewsPage.class ? INSTANCE : null;
+            }
+        };
+    }
+
+    @Override
+    public NewsPage convert(final ResponseBody body) throws IOException {
+        try (ResponseBody b = body) {
+            return read(b.charStream());
+        }
+    }
+
+    /**
+     * Read a page of top-headlines.
+     *
+     * @param json to read.
+     * @return the page of News.
+     * @throws IOException in case of error reading or wrong json.
+     */
+    public static NewsPage read(final Reader json) throws IOException {
+
+        final JsonReader reader = new JsonReader(json);
+        final List<News> news = new ArrayList<>();
+        final List<NewsPage.Rejection> rejected = new ArrayList<>(0);
+        final Validation.Result result = new Validation.Result();
+        int totalResults = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "totalResults":
+                    totalResults = reader.nextInt();
+                    break;
+                case "articles":
+                    reader.beginArray();
+                    for (int i = 0; reader.hasNext(); i++) {
+                        final News n = readArticle(reader, result);
+                        if (n != null) {
+                            news.add(n);
+                        } else {
+                            rejected.add(new NewsPage.Rejection(i, result));
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new NewsPage(news, totalResults, rejected);
+    }
+
+    /**
+     * Read one article, with the same mapping of {@link ContractsImplNewsApi#article2news}.
+     *
+     * @param reader positioned at the article.
+     * @param result of the validation, reused.
+     * @return the News, null if rejected (see result).
+     * @throws IOException in case of error reading.
+     */
+    private static News readArticle(final JsonReader reader, final Validation.Result result) throws IOException {
+
+        String title = null;
+        String source = null;
+        String author = null;
+        String url = null;
+        String urlToImage = null;
+        String description = null;
+        String publishedAt = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "source":
+                    source = readSourceName(reader);
+                    break;
+                case "author":
+                    author = nextString(reader);
+                    break;
+                case "title":
+                    title = nextString(reader);
+                    break;
+                case "description":
+                    description = nextString(reader);
+                    break;
+                case "url":
+                    url = nextString(reader);
+                    break;
+                case "urlToImage":
+                    urlToImage = nextString(reader);
+                    break;
+                case "publishedAt":
+                    publishedAt = nextString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        final long date = ContractsImplNewsApi.publishedAt(publishedAt, result);
+        if (date == Iso8601.INVALID || !News.isValid(title, source, author, description, description, result)) {
+            return null;
+        }
+        return new News(
+                title,
+                NewsStrings.source(source),
+                NewsStrings.author(author),
+                url,
+                urlToImage,
+                description,
+                description,
+                date,
+                ContractsImplNewsApi.ZONE
+        );
+    }
+
+    /**
+     * @param reader positioned at the source.
+     * @return the name of the source.
+     * @throws IOException in case of error reading.
+     */
+    private static String readSourceName(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("name".equals(reader.nextName())) {
+                name = nextString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    /**
+     * @param reader positioned at a string or null.
+     * @return the string or null.
+     * @throws IOException in case of error reading.
+     */
+    private static String nextString(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Okio;
+
+/**
+ * Stale-while-revalidate over the OkHttp disk cache: a fresh cached response is returned without
+ * network; a stale one (inside the stale window) is returned at once while a conditional request
+ * (If-None-Match / If-Modified-Since) refreshes the cache in background.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+final class StaleWhileRevalidateInterceptor implements Interceptor {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidateInterceptor.class);
+
+    /**
+     * Ask the cache to revalidate: OkHttp sends the conditional headers.
+     */
+    private static final CacheControl REVALIDATE = new CacheControl.Builder()
+            .maxAge(0, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * The tag of the background revalidations.
+     */
+    private static final class Revalidation {
+    }
+
+    /**
+     * The time a response is fresh, in millis.
+     */
+    private final long maxAgeMillis;
+
+    /**
+     * The time a stale response can be served while revalidating, in millis.
+     */
+    private final long staleMillis;
+
+    /**
+     * The urls being revalidated.
+     */
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The client to send the revalidations.
+     */
+    private volatile Call.Factory callFactory;
+
+    /**
+     * The Constructor.
+     *
+     * @param maxAge time a response is fresh.
+     * @param stale  time a stale response can be served while revalidating.
+     * @param unit   of the times.
+     */
+    StaleWhileRevalidateInterceptor(final long maxAge, final long stale, final TimeUnit unit) {
+        Validation.notNull(unit, "unit");
+        this.maxAgeMillis = unit.toMillis(maxAge);
+        this.staleMillis = unit.toMillis(stale);
+    }
+
+    /**
+     * @param callFactory the client that contains this interceptor.
+     */
+    void attach(final Call.Factory callFactory) {
+        this.callFactory = callFactory;
+    }
+
+    /**
+     * @return the network interceptor that makes the NewsApi responses cacheable for maxAge.
+     */
+    Interceptor cacheable() {
+        final String cacheControl = "public, max-age=" + TimeUnit.MILLISECONDS.toSeconds(this.maxAgeMillis + 999);
+        return chain -> {
+            final Response response = chain.proceed(chain.request());
+            final CacheControl cc = response.cacheControl();
+            if (!"GET".equals(chain.request().method()) || cc.noStore() || cc.maxAgeSeconds() != -1) {
+                return response;
+            }
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", cacheControl)
+                    .build();
+        };
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+
+        // Only for GET, without explicit cache control
+        if (!"GET".equals(request.method())
+                || request.tag(Revalidation.class) != null
+                || request.header("Cache-Control") != null) {
+            return chain.proceed(request);
+        }
+
+        // Look in the cache only
+        final Response cached = chain.proceed(request.newBuilder().cacheControl(CacheControl.FORCE_CACHE).build());
+        if (cached.cacheResponse() == null) {
+            cached.close();
+            return chain.proceed(request);
+        }
+
+        final long age = System.currentTimeMillis() - cached.receivedResponseAtMillis();
+
+        // Fresh
+        if (age <= this.maxAgeMillis) {
+            return cached;
+        }
+
+        // Stale, but can be served
+        if (age <= this.maxAgeMillis + this.staleMillis && this.callFactory != null) {
+            this.revalidate(request);
+            return cached;
+        }
+
+        // Too old: revalidate now
+        cached.close();
+        return chain.proceed(request.newBuilder().cacheControl(REVALIDATE).build());
+    }
+
+    /**
+     * Send the conditional request in background, one at time by url.
+     *
+     * @param request to revalidate.
+     */
+    private void revalidate(final Request request) {
+        final String url = request.url().toString();
+        if (!this.revalidating.add(url)) {
+            return;
+        }
+
+        final Request revalidation = request.newBuilder()
+                .cacheControl(REVALIDATE)
+                .tag(Revalidation.class, new Revalidation())
+                .build();
+
+        this.callFactory.newCall(revalidation).enqueue(new Callback() {
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                // Read all the body, so the cache store it
+                try (Response r = response) {
+                    r.body().source().readAll(Okio.blackhole());
+                } catch (IOException e) {
+                    log.warn("Revalidation of {} failed: {}", request.url().encodedPath(), e.toString());
+                } finally {
+                    revalidating.remove(url);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("Revalidation of {} failed: {}", request.url().encodedPath(), e.toString());
+                revalidating.remove(url);
+            }
+        });
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+/**
+ * Parse the dates of NewsApi, ISO-8601 with offset (yyyy-MM-ddTHH:mm:ss[.SSS](Z|+HH:mm|+HHmm|+HH)),
+ * straight into epoch millis: without exceptions, without allocations.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class Iso8601 {
+
+    /**
+     * The result of a date with wrong format.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * The days of each month, no leap year.
+     */
+    private static final int[] DAYS = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * The Constructor.
+     */
+    private Iso8601() {
+        // Nothing here
+    }
+
+    /**
+     * @param text the date, in ISO-8601 with offset.
+     * @return the epoch millis (the fraction after the millis is truncated), {@link #INVALID} in
+     * case of null or wrong format.
+     */
+    public static long parseMillis(final CharSequence text) {
+        if (text == null || text.length() < 20) {
+            return INVALID;
+        }
+
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 5, 2);
+        final int day = digits(text, 8, 2);
+        final int hour = digits(text, 11, 2);
+        final int minute = digits(text, 14, 2);
+        final int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':'
+                || month < 1 || month > 12 || day < 1 || day > daysOf(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return INVALID;
+        }
+
+        // The fraction: only the millis
+        int i = 19;
+        int millis = 0;
+        if (text.charAt(i) == '.') {
+            int scale = 100;
+            i++;
+            final int start = i;
+            while (i < text.length() && isDigit(text.charAt(i))) {
+                millis += (text.charAt(i) - '0') * scale;
+                scale /= 10;
+                i++;
+            }
+            if (i == start || i == text.length()) {
+                return INVALID;
+            }
+        }
+
+        final int offset = offsetSeconds(text, i);
+        if (offset == Integer.MIN_VALUE) {
+            return INVALID;
+        }
+
+        final long seconds = epochDay(year, month, day) * 86_400L + hour * 3_600 + minute * 60 + second - offset;
+        return seconds * 1_000 + millis;
+    }
+
+    /**
+     * @param text  the date.
+     * @param start of the offset.
+     * @return the offset in seconds, Integer.MIN_VALUE in case of wrong format.
+     */
+    private static int offsetSeconds(final CharSequence text, final int start) {
+        final int length = text.length() - start;
+        final char sign = text.charAt(start);
+        if (sign == 'Z') {
+            return length == 1 ? 0 : Integer.MIN_VALUE;
+        }
+        if (sign != '+' && sign != '-') {
+            return Integer.MIN_VALUE;
+        }
+
+        final int hours = digits(text, start + 1, 2);
+        final int minutes;
+        if (length == 3) {
+            minutes = 0;
+        } else if (length == 5) {
+            minutes = digits(text, start + 3, 2);
+        } else if (length == 6 && text.charAt(start + 3) == ':') {
+            minutes = digits(text, start + 4, 2);
+        } else {
+            return Integer.MIN_VALUE;
+        }
+        if (hours < 0 || minutes < 0 || hours > 18 || minutes > 59) {
+            return Integer.MIN_VALUE;
+        }
+        final int seconds = hours * 3_600 + minutes * 60;
+        return sign == '-' ? -seconds : seconds;
+    }
+
+    /**
+     * @param text  to read.
+     * @param start of the digits.
+     * @param count of digits.
+     * @return the number, -1 if not digits.
+     */
+    private static int digits(final CharSequence text, final int start, final int count) {
+        if (start + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @param c to check.
+     * @return true if 0-9.
+     */
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @param year  of the month.
+     * @param month 1-12.
+     * @return the days of the month.
+     */
+    private static int daysOf(final int year, final int month) {
+        if (month == 2 && (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0))) {
+            return 29;
+        }
+        return DAYS[month - 1];
+    }
+
+    /**
+     * The days since 1970-01-01 (https://howardhinnant.github.io/date_algorithms.html).
+     *
+     * @param year  the year.
+     * @param month 1-12.
+     * @param day   1-31.
+     * @return the epoch day.
+     */
+    static long epochDay(final int year, final int month, final int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = Math.floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+}
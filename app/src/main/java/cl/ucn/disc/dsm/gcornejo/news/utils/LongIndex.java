@@ -0,0 +1,186 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash index from a primitive long key to a non-negative int position.
+ * No boxing, linear probing, power of two capacity.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class LongIndex {
+
+    /**
+     * The value returned when the key is not in the index.
+     */
+    public static final int ABSENT = -1;
+
+    /**
+     * The golden ratio, used to spread the keys.
+     */
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The keys.
+     */
+    private long[] keys;
+
+    /**
+     * The positions, ABSENT means free slot.
+     */
+    private int[] values;
+
+    /**
+     * The number of keys stored.
+     */
+    private int size;
+
+    /**
+     * The bits to shift the spread hash to get a slot.
+     */
+    private int shift;
+
+    /**
+     * The Constructor.
+     */
+    public LongIndex() {
+        this(16);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param expected number of keys to store without resizing.
+     */
+    public LongIndex(final int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Error: expected need to be >=0");
+        }
+        this.allocate(capacityFor(expected));
+    }
+
+    /**
+     * @param key to find.
+     * @return the position associated to the key or {@link #ABSENT}.
+     */
+    public int get(final long key) {
+        final int mask = this.values.length - 1;
+        for (int slot = this.slot(key); ; slot = (slot + 1) & mask) {
+            final int value = this.values[slot];
+            if (value == ABSENT || this.keys[slot] == key) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @param key to find.
+     * @return true if the key is in the index.
+     */
+    public boolean contains(final long key) {
+        return this.get(key) != ABSENT;
+    }
+
+    /**
+     * Associate the position to the key, only if the key is not already there.
+     *
+     * @param key   to insert.
+     * @param value the position, can't be negative.
+     * @return {@link #ABSENT} if inserted, the current position otherwise.
+     */
+    public int putIfAbsent(final long key, final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Error: value need to be >=0");
+        }
+
+        final int mask = this.values.length - 1;
+        int slot = this.slot(key);
+        for (; this.values[slot] != ABSENT; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.values[slot];
+            }
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value;
+
+        // Keep the load factor <= 0.5
+        if (++this.size > this.values.length >> 1) {
+            this.rehash(this.values.length << 1);
+        }
+        return ABSENT;
+    }
+
+    /**
+     * @return the number of keys in the index.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param key to spread.
+     * @return the home slot of the key.
+     */
+    private int slot(final long key) {
+        return (int) ((key * PHI) >>> this.shift);
+    }
+
+    /**
+     * Move all the keys to a bigger table.
+     *
+     * @param capacity the new capacity.
+     */
+    private void rehash(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+
+        this.allocate(capacity);
+
+        final int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int slot = this.slot(oldKeys[i]);
+                while (this.values[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Create the empty tables.
+     *
+     * @param capacity a power of two.
+     */
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(this.values, ABSENT);
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * @param expected number of keys.
+     * @return the power of two capacity to hold the keys at load factor 0.5.
+     */
+    private static int capacityFor(final int expected) {
+        final int capacity = Integer.highestOneBit(Math.max(expected, 4) * 2 - 1) << 1;
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Error: too many keys");
+        }
+        return capacity;
+    }
+}
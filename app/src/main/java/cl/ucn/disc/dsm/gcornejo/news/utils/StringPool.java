@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of Strings, to share one instance of the values that repeat (i.e. the source of
+ * the News). A 2-way set associative table: a miss replaces the value of the slot, so the pool
+ * never grows and the frequent values stay. Thread safe without locks: the slots are read and
+ * written racy, the Strings are immutable and the worst case is a miss.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class StringPool {
+
+    /**
+     * The slots, a power of 2.
+     */
+    private final String[] table;
+
+    /**
+     * The mask of the slot.
+     */
+    private final int mask;
+
+    /**
+     * The max length of the pooled Strings (the long ones don't repeat).
+     */
+    private final int maxLength;
+
+    /**
+     * The counters.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    /**
+     * The Constructor.
+     *
+     * @param capacity  max number of Strings (rounded to a power of 2).
+     * @param maxLength max length of the pooled Strings.
+     */
+    public StringPool(final int capacity, final int maxLength) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Error: capacity need to be in [2, 2^30]");
+        }
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("Error: maxLength need to be >0");
+        }
+
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @param s the String.
+     * @return the pooled String equal to s, or s (now in the pool).
+     */
+    public String intern(final String s) {
+        if (s == null) {
+            return null;
+        }
+        if (s.length() > this.maxLength) {
+            this.skipped.incrementAndGet();
+            return s;
+        }
+
+        final int h = s.hashCode();
+        final int i = (h ^ (h >>> 16)) & this.mask;
+        final int j = i ^ 1;
+
+        final String first = this.table[i];
+        if (s.equals(first)) {
+            this.hits.incrementAndGet();
+            return first;
+        }
+        final String second = this.table[j];
+        if (s.equals(second)) {
+            this.hits.incrementAndGet();
+            return second;
+        }
+
+        // The empty slot, or replace the first one
+        this.misses.incrementAndGet();
+        this.table[first == null || second != null ? i : j] = s;
+        return s;
+    }
+
+    /**
+     * @return the number of Strings found in the pool.
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of Strings added to the pool.
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the number of Strings too long to pool.
+     */
+    public long getSkipped() {
+        return this.skipped.get();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", misses=" + getMisses() + ", skipped=" + getSkipped();
+    }
+}
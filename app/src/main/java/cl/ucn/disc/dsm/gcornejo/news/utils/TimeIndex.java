@@ -0,0 +1,276 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index ordered by a primitive long time (epoch millis) to a non-negative int position. The pairs
+ * are kept sorted in chunks of at most {@link #CHUNK} elements, so an insert is O(log n + CHUNK)
+ * and a query is O(log n + k). Equal times keep the order of insertion.
+ *
+ * Safe for concurrent use: one writer or many readers.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TimeIndex {
+
+    /**
+     * The max size of a chunk.
+     */
+    static final int CHUNK = 256;
+
+    /**
+     * The chunks, in order of time.
+     */
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    /**
+     * The number of pairs.
+     */
+    private int size;
+
+    /**
+     * The lock: one writer or many readers.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The Constructor.
+     */
+    public TimeIndex() {
+        this.chunks.add(new Chunk());
+    }
+
+    /**
+     * Add one pair.
+     *
+     * @param time     of the element.
+     * @param position of the element, can't be negative.
+     */
+    public void add(final long time, final int position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position: " + position);
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            // The last chunk starting at or before time (after the equals)
+            final int c = Math.max(0, this.chunkAfter(time) - 1);
+            final Chunk chunk = this.chunks.get(c);
+            chunk.insert(chunk.upperBound(time), time, position);
+
+            if (chunk.size == CHUNK) {
+                this.chunks.add(c + 1, chunk.split());
+            }
+            this.size++;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of pairs.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The newest positions in [from, to), the newest first.
+     *
+     * @param from  the min time, inclusive.
+     * @param to    the max time, exclusive.
+     * @param limit the max number of positions.
+     * @return the positions.
+     */
+    public int[] range(final long from, final long to, final int limit) {
+        if (limit <= 0 || from >= to) {
+            return new int[0];
+        }
+
+        this.lock.readLock().lock();
+        try {
+            // The last chunk starting before to
+            int c = this.chunkBefore(to) - 1;
+            if (c < 0) {
+                return new int[0];
+            }
+            int i = this.chunks.get(c).lowerBound(to) - 1;
+
+            int[] positions = new int[Math.min(limit, this.size)];
+            int count = 0;
+            while (count < positions.length && c >= 0) {
+                final Chunk chunk = this.chunks.get(c);
+                for (; i >= 0 && count < positions.length; i--) {
+                    if (chunk.times[i] < from) {
+                        return Arrays.copyOf(positions, count);
+                    }
+                    positions[count++] = chunk.positions[i];
+                }
+                if (--c >= 0) {
+                    i = this.chunks.get(c).size - 1;
+                }
+            }
+            return count == positions.length ? positions : Arrays.copyOf(positions, count);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param limit the max number of positions.
+     * @return the positions of the newest times, the newest first.
+     */
+    public int[] newest(final int limit) {
+        return this.range(Long.MIN_VALUE, Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * @param time to search.
+     * @return the number of chunks with the first time &lt;= time.
+     */
+    private int chunkAfter(final long time) {
+        int lo = 0;
+        int hi = this.chunks.size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            final Chunk chunk = this.chunks.get(mid);
+            if (chunk.size > 0 && chunk.times[0] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @param time to search.
+     * @return the number of chunks with the first time &lt; time.
+     */
+    private int chunkBefore(final long time) {
+        int lo = 0;
+        int hi = this.chunks.size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            final Chunk chunk = this.chunks.get(mid);
+            if (chunk.size > 0 && chunk.times[0] < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * A sorted run of pairs.
+     */
+    private static final class Chunk {
+
+        /**
+         * The times, sorted.
+         */
+        final long[] times;
+
+        /**
+         * The position of each time.
+         */
+        final int[] positions;
+
+        /**
+         * The number of pairs.
+         */
+        int size;
+
+        /**
+         * The Constructor.
+         */
+        Chunk() {
+            this.times = new long[CHUNK];
+            this.positions = new int[CHUNK];
+        }
+
+        /**
+         * @param i        where to insert.
+         * @param time     to insert.
+         * @param position to insert.
+         */
+        void insert(final int i, final long time, final int position) {
+            System.arraycopy(this.times, i, this.times, i + 1, this.size - i);
+            System.arraycopy(this.positions, i, this.positions, i + 1, this.size - i);
+            this.times[i] = time;
+            this.positions[i] = position;
+            this.size++;
+        }
+
+        /**
+         * Move the upper half to a new chunk.
+         *
+         * @return the new chunk.
+         */
+        Chunk split() {
+            final Chunk upper = new Chunk();
+            final int half = this.size / 2;
+            upper.size = this.size - half;
+            System.arraycopy(this.times, half, upper.times, 0, upper.size);
+            System.arraycopy(this.positions, half, upper.positions, 0, upper.size);
+            this.size = half;
+            return upper;
+        }
+
+        /**
+         * @param time to search.
+         * @return the index of the first time &gt;= time.
+         */
+        int lowerBound(final long time) {
+            int lo = 0;
+            int hi = this.size;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (this.times[mid] < time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * @param time to search.
+         * @return the index of the first time &gt; time.
+         */
+        int upperBound(final long time) {
+            int lo = 0;
+            int hi = this.size;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (this.times[mid] <= time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket: up to capacity tokens (the burst), refilled at a constant rate. The time is
+ * given by the caller, in nanos. Not thread safe.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TokenBucket {
+
+    /**
+     * The max number of tokens.
+     */
+    private final double capacity;
+
+    /**
+     * The nanos to refill one token.
+     */
+    private final double nanosPerToken;
+
+    /**
+     * The tokens available at {@link #time}.
+     */
+    private double tokens;
+
+    /**
+     * The time of the last refill, in nanos.
+     */
+    private long time;
+
+    /**
+     * The Constructor: the bucket starts full.
+     *
+     * @param capacity max number of tokens, the burst.
+     * @param tokens   refilled each period.
+     * @param period   of the refill.
+     * @param unit     of the period.
+     * @param now      the current time, in nanos.
+     */
+    public TokenBucket(final int capacity, final int tokens, final long period, final TimeUnit unit, final long now) {
+        Validation.notNull(unit, "unit");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Error: capacity need to be >0");
+        }
+        if (tokens < 1 || period < 1) {
+            throw new IllegalArgumentException("Error: tokens and period need to be >0");
+        }
+
+        this.capacity = capacity;
+        this.nanosPerToken = (double) unit.toNanos(period) / tokens;
+        this.tokens = capacity;
+        this.time = now;
+    }
+
+    /**
+     * @param now the current time, in nanos.
+     */
+    private void refill(final long now) {
+        if (now > this.time) {
+            this.tokens = Math.min(this.capacity, this.tokens + (now - this.time) / this.nanosPerToken);
+            this.time = now;
+        }
+    }
+
+    /**
+     * @param now the current time, in nanos.
+     * @return the nanos until one token is available, 0 if available now.
+     */
+    public long waitNanos(final long now) {
+        this.refill(now);
+        return this.tokens >= 1 ? 0 : (long) Math.ceil((1 - this.tokens) * this.nanosPerToken);
+    }
+
+    /**
+     * Take one token, if available.
+     *
+     * @param now the current time, in nanos.
+     * @return true if taken.
+     */
+    public boolean tryAcquire(final long now) {
+        this.refill(now);
+        if (this.tokens >= 1) {
+            this.tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take all the tokens, i.e. after a 429 Too Many Requests.
+     *
+     * @param now the current time, in nanos.
+     */
+    public void drain(final long now) {
+        this.refill(now);
+        this.tokens = 0;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache with LRU eviction and time to live. The misses of the same key at the same time
+ * share one call to the loader.
+ *
+ * @param <K> the type of the key.
+ * @param <V> the type of the value.
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TtlLruCache<K, V> {
+
+    /**
+     * The source of time, in nanos.
+     */
+    public interface Ticker {
+
+        /**
+         * @return the current time, in nanos.
+         */
+        long read();
+    }
+
+    /**
+     * The entries, in access order (the eldest is the least recently used).
+     */
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    /**
+     * The loads in progress, by key.
+     */
+    private final ConcurrentMap<K, FutureTask<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * The max number of entries.
+     */
+    private final int maxSize;
+
+    /**
+     * The time to live, in nanos.
+     */
+    private final long ttlNanos;
+
+    /**
+     * The source of time.
+     */
+    private final Ticker ticker;
+
+    /**
+     * The counters.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * The Constructor.
+     *
+     * @param maxSize max number of entries.
+     * @param ttl     time to live of each entry.
+     * @param unit    of the ttl.
+     */
+    public TtlLruCache(final int maxSize, final long ttl, final TimeUnit unit) {
+        this(maxSize, ttl, unit, System::nanoTime);
+    }
+
+    /**
+     * The Constructor.
+     *
+     * @param maxSize max number of entries.
+     * @param ttl     time to live of each entry.
+     * @param unit    of the ttl.
+     * @param ticker  the source of time.
+     */
+    public TtlLruCache(final int maxSize, final long ttl, final TimeUnit unit, final Ticker ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Error: maxSize need to be >0");
+        }
+        if (ttl < 1) {
+            throw new IllegalArgumentException("Error: ttl need to be >0");
+        }
+        Validation.notNull(unit, "unit");
+        Validation.notNull(ticker, "ticker");
+
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > TtlLruCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the value of the key, calling the loader in case of miss (or expired value).
+     *
+     * @param key    to find.
+     * @param loader to call in case of miss, the exceptions aren't cached.
+     * @return the value.
+     */
+    public V get(final K key, final Callable<V> loader) {
+        Validation.notNull(key, "key");
+        Validation.notNull(loader, "loader");
+
+        final V cached = this.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Join the load in progress, or start a new one
+        final FutureTask<V> task = new FutureTask<>(loader);
+        final FutureTask<V> running = this.inFlight.putIfAbsent(key, task);
+        if (running != null) {
+            this.coalesced.incrementAndGet();
+            return await(running);
+        }
+
+        this.misses.incrementAndGet();
+        try {
+            task.run();
+            final V value = await(task);
+            synchronized (this.entries) {
+                this.entries.put(key, new CacheEntry<>(value, this.ticker.read() + this.ttlNanos));
+            }
+            return value;
+        } finally {
+            this.inFlight.remove(key, task);
+        }
+    }
+
+    /**
+     * @param key to find.
+     * @return the value (not expired) of the key or null.
+     */
+    public V getIfPresent(final K key) {
+        synchronized (this.entries) {
+            final CacheEntry<V> entry = this.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - this.ticker.read() <= 0) {
+                this.entries.remove(key);
+                this.expirations.incrementAndGet();
+                return null;
+            }
+            this.hits.incrementAndGet();
+            return entry.value;
+        }
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    public void invalidateAll() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Remove the expired entries.
+     */
+    public void cleanUp() {
+        final long now = this.ticker.read();
+        synchronized (this.entries) {
+            final Iterator<CacheEntry<V>> it = this.entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAt - now <= 0) {
+                    it.remove();
+                    this.expirations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of entries (including the expired not removed yet).
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * @return the number of requests served from the cache.
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return the number of calls to the loader.
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * @return the number of misses that waited for a load in progress.
+     */
+    public long getCoalesced() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * @return the number of entries removed by size.
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * @return the number of entries removed by time.
+     */
+    public long getExpirations() {
+        return this.expirations.get();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", misses=" + getMisses() + ", coalesced=" + getCoalesced()
+                + ", evictions=" + getEvictions() + ", expirations=" + getExpirations();
+    }
+
+    /**
+     * Wait for the load, rethrowing the original RuntimeException.
+     *
+     * @param task to wait.
+     * @param <V>  the type of the value.
+     * @return the value.
+     */
+    private static <V> V await(final FutureTask<V> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * One value and its expiration time.
+     *
+     * @param <V> the type of the value.
+     */
+    private static final class CacheEntry<V> {
+
+        /**
+         * The value.
+         */
+        final V value;
+
+        /**
+         * The expiration time, in nanos of the ticker.
+         */
+        final long expiresAt;
+
+        /**
+         * The Constructor.
+         *
+         * @param value     to store.
+         * @param expiresAt in nanos.
+         */
+        CacheEntry(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
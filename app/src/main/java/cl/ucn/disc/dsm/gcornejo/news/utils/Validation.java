@@ -46,4 +46,118 @@ public final class Validation {
             throw new IllegalArgumentException ("Argument null or wrong size -> " + message);
         }
     }
+
+    /**
+     * Check nullity, without exception.
+     *
+     * @param o      object to test.
+     * @param field  the name of the object.
+     * @param result to fill in case of null.
+     * @return true if not null.
+     */
+    public static boolean notNull(Object o, String field, Result result){
+        return o != null || result.reject(field, Reason.NULL);
+    }
+
+    /**
+     * Check the size, without exception.
+     *
+     * @param value   to check.
+     * @param minSize to fail.
+     * @param field   the name of the value.
+     * @param result  to fill in case of null or wrong size.
+     * @return true if not null and with the size.
+     */
+    public static boolean minSize(String value, int minSize, String field, Result result){
+        if (value == null) {
+            return result.reject(field, Reason.NULL);
+        }
+        return value.length() >= minSize || result.reject(field, Reason.TOO_SHORT);
+    }
+
+    /**
+     * The reason of a rejection.
+     */
+    public enum Reason {
+
+        /**
+         * The value was null.
+         */
+        NULL,
+
+        /**
+         * The value was too short.
+         */
+        TOO_SHORT,
+
+        /**
+         * The value can't be parsed.
+         */
+        WRONG_FORMAT
+    }
+
+    /**
+     * The result of the checks without exception: the first field rejected. Reusable (see
+     * {@link #reset()}), not thread safe.
+     */
+    public static final class Result {
+
+        /**
+         * The field rejected, null if valid.
+         */
+        private String field;
+
+        /**
+         * The reason of the rejection, null if valid.
+         */
+        private Reason reason;
+
+        /**
+         * Clear the result before a new check.
+         *
+         * @return this.
+         */
+        public Result reset() {
+            this.field = null;
+            this.reason = null;
+            return this;
+        }
+
+        /**
+         * @param field  rejected.
+         * @param reason of the rejection.
+         * @return false, always.
+         */
+        public boolean reject(final String field, final Reason reason) {
+            this.field = field;
+            this.reason = reason;
+            return false;
+        }
+
+        /**
+         * @return true if nothing was rejected.
+         */
+        public boolean isValid() {
+            return this.reason == null;
+        }
+
+        /**
+         * @return the field rejected, null if valid.
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * @return the reason of the rejection, null if valid.
+         */
+        public Reason getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "field=" + field + ", reason=" + reason;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache bounded by the total weight of the values (i.e. bytes), with LRU eviction. Thread safe.
+ *
+ * @param <K> the type of the key.
+ * @param <V> the type of the value.
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class WeightedLruCache<K, V> {
+
+    /**
+     * The weight of a value.
+     *
+     * @param <V> the type of the value.
+     */
+    public interface Weigher<V> {
+
+        /**
+         * @param value to weigh.
+         * @return the weight, >= 0.
+         */
+        int weigh(V value);
+    }
+
+    /**
+     * The entries, in access order (the eldest is the least recently used).
+     */
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The max total weight.
+     */
+    private final long maxWeight;
+
+    /**
+     * The weight of a value.
+     */
+    private final Weigher<V> weigher;
+
+    /**
+     * The total weight of the entries.
+     */
+    private long weight;
+
+    /**
+     * The counters.
+     */
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * The Constructor.
+     *
+     * @param maxWeight max total weight.
+     * @param weigher   the weight of a value.
+     */
+    public WeightedLruCache(final long maxWeight, final Weigher<V> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Error: maxWeight need to be >0");
+        }
+        Validation.notNull(weigher, "weigher");
+
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @param key to find.
+     * @return the value of the key or null.
+     */
+    public synchronized V get(final K key) {
+        final V value = this.entries.get(key);
+        if (value == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Save the value, evicting the least recently used entries to fit. A value heavier than the
+     * max weight isn't saved.
+     *
+     * @param key   of the value.
+     * @param value to save.
+     * @return true if saved.
+     */
+    public synchronized boolean put(final K key, final V value) {
+        Validation.notNull(key, "key");
+        Validation.notNull(value, "value");
+
+        final int w = this.weigher.weigh(value);
+        if (w > this.maxWeight) {
+            return false;
+        }
+
+        final V previous = this.entries.put(key, value);
+        if (previous != null) {
+            this.weight -= this.weigher.weigh(previous);
+        }
+        this.weight += w;
+
+        // The eldest first
+        final Iterator<Map.Entry<K, V>> it = this.entries.entrySet().iterator();
+        while (this.weight > this.maxWeight) {
+            final Map.Entry<K, V> eldest = it.next();
+            this.weight -= this.weigher.weigh(eldest.getValue());
+            it.remove();
+            this.evictions++;
+        }
+        return true;
+    }
+
+    /**
+     * @param key to remove.
+     */
+    public synchronized void remove(final K key) {
+        final V previous = this.entries.remove(key);
+        if (previous != null) {
+            this.weight -= this.weigher.weigh(previous);
+        }
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return the total weight of the entries.
+     */
+    public synchronized long getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * @return the number of get with value.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return the number of get without value.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return the number of entries evicted.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * Testing of NewsTable.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNewsTable {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNewsTable.class);
+
+    /**
+     * The first publishedAt.
+     */
+    private static final long START = 1_600_000_000_000L;
+
+    /**
+     * The hour, in millis.
+     */
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * @param random to use.
+     * @param i      number of the News.
+     * @return the News, of one of 20 sources and 200 authors in 48 hours.
+     */
+    private static News news(final Random random, final int i) {
+        final long millis = START + (long) (random.nextDouble() * 48 * HOUR);
+        return new News("Title " + i, "Source " + random.nextInt(20), "Author " + random.nextInt(200),
+                "http://news/" + i, null, "Description " + i, "Content " + i,
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+
+    /**
+     * The Test of the rows and the text off heap.
+     */
+    @Test
+    public void testRows() {
+
+        final NewsTable table = new NewsTable(4);
+        final Random random = new Random(1);
+        final List<News> news = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            news.add(news(random, i));
+            Assertions.assertEquals(i, table.add(news.get(i)), "Wrong row");
+        }
+
+        final NewsTable.Snapshot snapshot = table.snapshot();
+        table.add(news(random, 100));
+        Assertions.assertEquals(100, snapshot.size(), "Snapshot changed");
+        Assertions.assertEquals(101, table.size(), "Wrong size");
+
+        for (int row = 0; row < 100; row++) {
+            final News n = news.get(row);
+            Assertions.assertEquals(n.getId().longValue(), snapshot.id(row), "Wrong id");
+            Assertions.assertEquals(n.getPublishedAt().toInstant().toEpochMilli(), snapshot.publishedAt(row));
+            Assertions.assertEquals(n.getSource(), snapshot.value(NewsTable.Column.SOURCE, row));
+            Assertions.assertEquals(n.getAuthor(), snapshot.value(NewsTable.Column.AUTHOR, row));
+            Assertions.assertEquals(n.getTitle(), snapshot.news(row).getTitle(), "Wrong text");
+            Assertions.assertEquals(n.getContent(), snapshot.news(row).getContent(), "Wrong text");
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> snapshot.news(100));
+    }
+
+    /**
+     * The Test of count, histogram and top against a plain scan (parallel, more than one task).
+     */
+    @Test
+    public void testScans() {
+
+        final int n = 5 * NewsTable.THRESHOLD;
+        final NewsTable table = new NewsTable();
+        final Random random = new Random(7);
+        final List<News> news = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            news.add(news(random, i));
+            table.add(news.get(i));
+        }
+        final NewsTable.Snapshot snapshot = table.snapshot();
+
+        // The hours [6, 30)
+        final long from = START + 6 * HOUR;
+        final long to = START + 30 * HOUR;
+
+        // The plain scan
+        final Map<String, Long> counts = new HashMap<>();
+        final Map<String, Long> hours = new HashMap<>();
+        for (final News each : news) {
+            final long millis = each.getPublishedAt().toInstant().toEpochMilli();
+            if (millis >= from && millis < to) {
+                counts.merge(each.getAuthor(), 1L, Long::sum);
+                hours.merge(each.getSource() + "@" + (millis - from) / HOUR, 1L, Long::sum);
+            }
+        }
+
+        // Count by author
+        final long[] count = snapshot.count(NewsTable.Column.AUTHOR, from, to);
+        long total = 0;
+        for (int code = 0; code < count.length; code++) {
+            final String author = snapshot.decode(NewsTable.Column.AUTHOR, code);
+            Assertions.assertEquals(counts.getOrDefault(author, 0L).longValue(), count[code], "Wrong count of " + author);
+            total += count[code];
+        }
+        Assertions.assertEquals(counts.values().stream().mapToLong(Long::longValue).sum(), total, "Wrong total");
+
+        // Histogram by source by hour
+        final long[][] histogram = snapshot.histogram(NewsTable.Column.SOURCE, from, to, 1, TimeUnit.HOURS);
+        Assertions.assertEquals(24, histogram.length, "Wrong buckets");
+        for (int hour = 0; hour < 24; hour++) {
+            for (int code = 0; code < histogram[hour].length; code++) {
+                final String source = snapshot.decode(NewsTable.Column.SOURCE, code);
+                Assertions.assertEquals(hours.getOrDefault(source + "@" + hour, 0L).longValue(), histogram[hour][code],
+                        "Wrong histogram of " + source + " at " + hour);
+            }
+        }
+
+        // Top 5 authors
+        final List<NewsTable.Count> top = snapshot.top(NewsTable.Column.AUTHOR, 5, from, to);
+        log.debug("Top: {}", top);
+        Assertions.assertEquals(5, top.size(), "Wrong top");
+        final long fifth = counts.values().stream().sorted((a, b) -> Long.compare(b, a)).skip(4).findFirst().get();
+        for (int i = 0; i < top.size(); i++) {
+            Assertions.assertEquals(counts.get(top.get(i).getValue()).longValue(), top.get(i).getCount(), "Wrong count");
+            Assertions.assertTrue(top.get(i).getCount() >= fifth, "Not in the top");
+            if (i > 0) {
+                Assertions.assertTrue(top.get(i - 1).getCount() >= top.get(i).getCount(), "Wrong order");
+            }
+        }
+
+        // Empty range
+        Assertions.assertEquals(0, snapshot.count(NewsTable.Column.SOURCE, to, from)[0]);
+        Assertions.assertTrue(snapshot.top(NewsTable.Column.SOURCE, 3, START - HOUR, START).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> snapshot.histogram(NewsTable.Column.SOURCE, from, to, 0, TimeUnit.HOURS));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> snapshot.histogram(NewsTable.Column.AUTHOR, from, from + 10 * 24 * HOUR, 1, TimeUnit.MINUTES));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> snapshot.histogram(NewsTable.Column.SOURCE, 0, Long.MAX_VALUE, 1, TimeUnit.HOURS));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> snapshot.histogram(NewsTable.Column.SOURCE, Long.MIN_VALUE, Long.MAX_VALUE, 1, TimeUnit.DAYS));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.images;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Testing of ImageLoader against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestImageLoader {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestImageLoader.class);
+
+    /**
+     * The directory of the disk cache.
+     */
+    @TempDir
+    File directory;
+
+    /**
+     * The fake image server.
+     */
+    private MockWebServer server;
+
+    /**
+     * Start the server: /N.png is a 1000 bytes PNG of N x N pixels (slow), the rest 404.
+     */
+    @BeforeEach
+    public void start() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final String path = request.getPath();
+                if (!path.endsWith(".png")) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                final int n = Integer.parseInt(path.substring(1, path.length() - 4));
+                return new MockResponse()
+                        .setBody(new Buffer().write(TestImageSize.png(n, n, 1000)))
+                        .setHeadersDelay(100, TimeUnit.MILLISECONDS);
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Stop the server.
+     */
+    @AfterEach
+    public void stop() throws IOException {
+        this.server.shutdown();
+    }
+
+    /**
+     * @param n the size of the image.
+     * @return the url of the image.
+     */
+    private String url(final int n) {
+        return this.server.url("/" + n + ".png").toString();
+    }
+
+    /**
+     * The Test of the coalescing and the two levels of cache.
+     */
+    @Test
+    public void testLoad() throws Exception {
+
+        log.debug("Testing ..");
+
+        try (ImageLoader loader = new ImageLoader(new OkHttpClient(), 2500, new ImageDiskCache(this.directory, 100000), 4)) {
+
+            // 5 loads of the same url, one request
+            final List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(loader.load(this.url(100)));
+            }
+            for (CompletableFuture<byte[]> future : futures) {
+                Assertions.assertEquals(100, ImageSize.of(future.get(5, TimeUnit.SECONDS)).getWidth());
+            }
+            Assertions.assertEquals(1, this.server.getRequestCount(), "Not coalesced");
+            Assertions.assertEquals(4, loader.getCoalesced(), "Wrong coalesced");
+
+            // Memory
+            Assertions.assertNotNull(loader.load(this.url(100)).get(), "Not in memory");
+            Assertions.assertEquals(1, loader.getMemoryHits(), "Wrong memory hits");
+
+            // 2 more, the first one evicted from memory (2500 bytes) ..
+            loader.load(this.url(200)).get(5, TimeUnit.SECONDS);
+            loader.load(this.url(300)).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(2000, loader.getMemoryBytes(), "Wrong memory bytes");
+            Assertions.assertNull(loader.getIfPresent(this.url(100)), "Not evicted");
+
+            // .. but in disk
+            Assertions.assertNotNull(loader.load(this.url(100)).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, loader.getDiskHits(), "Wrong disk hits");
+            Assertions.assertEquals(3, this.server.getRequestCount(), "Wrong requests");
+
+            // Errors aren't cached
+            final CompletableFuture<byte[]> missing = loader.load(this.server.url("/missing").toString());
+            Assertions.assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        }
+
+        // The disk after the restart
+        try (ImageLoader loader = new ImageLoader(new OkHttpClient(), 2500, new ImageDiskCache(this.directory, 100000), 4)) {
+            Assertions.assertNotNull(loader.load(this.url(300)).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, loader.getDiskHits(), "Not in disk");
+            Assertions.assertEquals(0, loader.getDownloads(), "Downloaded again");
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the close: the loads in progress (and the lookups in disk not started) fail.
+     */
+    @Test
+    public void testClose() throws Exception {
+
+        final ImageDiskCache disk = new ImageDiskCache(this.directory, 100000);
+        final List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        final ImageLoader loader = new ImageLoader(new OkHttpClient(), 100000, disk, 4);
+
+        // The disk busy: 2 lookups waiting for it, the rest queued
+        synchronized (disk) {
+            for (int i = 1; i <= 5; i++) {
+                futures.add(loader.load(this.url(i * 10)));
+            }
+            loader.close();
+            for (CompletableFuture<byte[]> future : futures) {
+                Assertions.assertTrue(future.isCompletedExceptionally(), "Load not failed");
+            }
+        }
+        Assertions.assertTrue(loader.load(this.url(60)).isCompletedExceptionally(), "Load after close");
+    }
+
+    /**
+     * The Test of the prefetch of the next News.
+     */
+    @Test
+    public void testPrefetching() throws Exception {
+
+        final List<News> news = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            news.add(new News("The Title " + i, "The Source", "The Author", "The URL",
+                    this.url(i), "The Description", "The Content", ZonedDateTime.now(ZoneId.of("-3"))));
+        }
+
+        try (ImageLoader loader = new ImageLoader(new OkHttpClient(), 100000, new ImageDiskCache(this.directory, 100000), 3)) {
+
+            // The first one and 3 ahead, but only 3 prefetches at the same time
+            final Iterator<News> iterator = loader.prefetching(news.iterator(), 3);
+            Assertions.assertEquals("The Title 1", iterator.next().getTitle());
+            Assertions.assertEquals(0, loader.prefetch(news), "Over the max prefetches");
+            for (int i = 1; i <= 3; i++) {
+                Assertions.assertNotNull(loader.load(this.url(i)).get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(3, this.server.getRequestCount(), "Not prefetched");
+            Assertions.assertEquals(3, loader.getDownloads(), "Wrong downloads");
+
+            // All, in order
+            int count = 1;
+            while (iterator.hasNext()) {
+                Assertions.assertEquals("The Title " + (++count), iterator.next().getTitle());
+            }
+            Assertions.assertEquals(10, count, "Wrong iteration");
+
+            // Nothing to prefetch
+            for (News n : news) {
+                loader.load(n.getUrlImage()).get(5, TimeUnit.SECONDS);
+            }
+            Assertions.assertEquals(0, loader.prefetch(news), "Prefetch of cached");
+            Assertions.assertEquals(10, this.server.getRequestCount(), "Wrong requests");
+        }
+    }
+}
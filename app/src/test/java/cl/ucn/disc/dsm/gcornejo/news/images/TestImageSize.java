@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.images;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing of ImageSize.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestImageSize {
+
+    /**
+     * @param width  of the image.
+     * @param height of the image.
+     * @param length of the bytes.
+     * @return a PNG header (IHDR) of the size, padded to the length.
+     */
+    static byte[] png(final int width, final int height, final int length) {
+        final byte[] data = new byte[Math.max(24, length)];
+        final byte[] header = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+        System.arraycopy(header, 0, data, 0, header.length);
+        for (int i = 0; i < 4; i++) {
+            data[16 + i] = (byte) (width >>> (24 - 8 * i));
+            data[20 + i] = (byte) (height >>> (24 - 8 * i));
+        }
+        return data;
+    }
+
+    /**
+     * The Test of the formats.
+     */
+    @Test
+    public void testOf() {
+
+        // PNG
+        final ImageSize png = ImageSize.of(png(1920, 1080, 100));
+        Assertions.assertEquals(1920, png.getWidth());
+        Assertions.assertEquals(1080, png.getHeight());
+
+        // GIF
+        final byte[] gif = {'G', 'I', 'F', '8', '9', 'a', (byte) 0x80, 0x02, (byte) 0xE0, 0x01};
+        Assertions.assertEquals("640x480", ImageSize.of(gif).toString());
+
+        // JPEG: SOI, APP0 (length 16), SOF0 (height 600, width 800)
+        final byte[] jpeg = new byte[40];
+        final byte[] markers = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16};
+        System.arraycopy(markers, 0, jpeg, 0, markers.length);
+        final byte[] sof = {(byte) 0xFF, (byte) 0xC0, 0, 17, 8, 0x02, 0x58, 0x03, 0x20};
+        System.arraycopy(sof, 0, jpeg, 4 + 16, sof.length);
+        Assertions.assertEquals("800x600", ImageSize.of(jpeg).toString());
+
+        // WebP extended: canvas 1024x768
+        final byte[] webp = new byte[30];
+        System.arraycopy(new byte[]{'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', 'X'}, 0, webp, 0, 16);
+        webp[24] = (byte) 0xFF;
+        webp[25] = 0x03;
+        webp[27] = (byte) 0xFF;
+        webp[28] = 0x02;
+        Assertions.assertEquals("1024x768", ImageSize.of(webp).toString());
+
+        // Unknown
+        Assertions.assertNull(ImageSize.of(new byte[]{1, 2, 3}));
+        Assertions.assertNull(ImageSize.of(null));
+    }
+
+    /**
+     * The Test of the sample size.
+     */
+    @Test
+    public void testSampleSize() {
+        final ImageSize size = new ImageSize(4000, 3000);
+        Assertions.assertEquals(1, size.sampleSize(new ImageSize(4000, 3000)));
+        Assertions.assertEquals(1, size.sampleSize(new ImageSize(2001, 1000)));
+        Assertions.assertEquals(2, size.sampleSize(new ImageSize(2000, 1500)));
+        Assertions.assertEquals(16, size.sampleSize(new ImageSize(200, 150)));
+        Assertions.assertEquals(1, size.sampleSize(new ImageSize(0, 0)));
+        Assertions.assertEquals(1, new ImageSize(100, 100).sampleSize(new ImageSize(400, 400)));
+    }
+}
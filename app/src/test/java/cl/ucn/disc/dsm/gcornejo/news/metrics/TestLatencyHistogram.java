@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Testing of LatencyHistogram.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestLatencyHistogram {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestLatencyHistogram.class);
+
+    /**
+     * The Test of the buckets: exact until 127, then with an error of 1/64.
+     */
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 128; value++) {
+            Assertions.assertEquals(value, LatencyHistogram.value(LatencyHistogram.index(value)), "Not exact");
+        }
+        final Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            final long value = (long) (random.nextDouble() * LatencyHistogram.MAX);
+            final long highest = LatencyHistogram.value(LatencyHistogram.index(value));
+            Assertions.assertTrue(highest >= value, "Wrong bucket of " + value);
+            Assertions.assertTrue(highest - value <= value / 64, "Wrong error of " + value);
+        }
+        Assertions.assertEquals(LatencyHistogram.MAX, LatencyHistogram.value(LatencyHistogram.index(LatencyHistogram.MAX)));
+    }
+
+    /**
+     * The Test of the percentiles against the sorted values.
+     */
+    @Test
+    public void testPercentiles() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99), "Not empty");
+
+        final Random random = new Random(7);
+        final long[] values = new long[10_000];
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal, around 1 ms
+            values[i] = (long) Math.exp(13.8 + random.nextGaussian());
+            sum += values[i];
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        log.debug("Histogram: {}", histogram);
+
+        Assertions.assertEquals(values.length, histogram.getCount(), "Wrong count");
+        Assertions.assertEquals((double) sum / values.length, histogram.getMean(), 1, "Wrong mean");
+        Assertions.assertEquals(values[values.length - 1], histogram.getMax(), "Wrong max");
+        for (double p : new double[]{1, 50, 90, 99, 99.9}) {
+            final long expected = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            final long actual = histogram.getValueAtPercentile(p);
+            Assertions.assertTrue(actual >= expected && actual - expected <= expected / 64,
+                    "Wrong p" + p + ": " + actual + " vs " + expected);
+        }
+        Assertions.assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+}
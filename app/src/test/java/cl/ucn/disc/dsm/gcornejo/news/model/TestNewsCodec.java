@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import com.github.javafaker.Faker;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testing of NewsCodec.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNewsCodec {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNewsCodec.class);
+
+    /**
+     * @param faker to use.
+     * @param i     the number of the News.
+     * @return a News with random content.
+     */
+    private static News news(final Faker faker, final int i) {
+        return new News(
+                faker.book().title() + " " + i,
+                faker.name().username(),
+                faker.name().fullName(),
+                i % 4 == 0 ? null : faker.internet().url(),
+                i % 5 == 0 ? null : faker.internet().avatar(),
+                faker.harryPotter().quote() + " ñandú 😀",
+                faker.lorem().paragraph(8),
+                ZonedDateTime.now(i % 2 == 0 ? ZoneId.of("-3") : ZoneId.of("+05:45")).minusSeconds(i)
+        );
+    }
+
+    /**
+     * @param expected the News encoded.
+     * @param actual   the News decoded.
+     */
+    private static void assertNews(final News expected, final News actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getTitle(), actual.getTitle());
+        Assertions.assertEquals(expected.getSource(), actual.getSource());
+        Assertions.assertEquals(expected.getAuthor(), actual.getAuthor());
+        Assertions.assertEquals(expected.getUrl(), actual.getUrl());
+        Assertions.assertEquals(expected.getUrlImage(), actual.getUrlImage());
+        Assertions.assertEquals(expected.getDescription(), actual.getDescription());
+        Assertions.assertEquals(expected.getContent(), actual.getContent());
+        Assertions.assertEquals(expected.getPublishedAt(), actual.getPublishedAt());
+    }
+
+    /**
+     * The Test of the round trip of one News, heap and direct buffers.
+     */
+    @Test
+    public void testRoundTrip() {
+
+        log.debug("Testing ..");
+
+        final Faker faker = Faker.instance();
+        for (int i = 0; i < 100; i++) {
+            final News news = news(faker, i);
+            final int size = NewsCodec.size(news) + 1;
+
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(size), ByteBuffer.allocateDirect(size)}) {
+                NewsCodec.encode(news, buffer);
+                Assertions.assertEquals(size, buffer.position(), "Wrong size");
+
+                buffer.flip();
+                assertNews(news, NewsCodec.decode(buffer));
+                Assertions.assertFalse(buffer.hasRemaining(), "Bytes not read");
+            }
+        }
+
+        // An unpaired surrogate is '?', as String.getBytes
+        final News news = new News("The \uD83D Title", "The Source", "The Author", null, null,
+                "The Description", "", ZonedDateTime.now(ZoneId.of("-3")));
+        final ByteBuffer buffer = ByteBuffer.allocate(NewsCodec.size(news) + 1);
+        NewsCodec.encode(news, buffer);
+        buffer.flip();
+        Assertions.assertEquals("The ? Title", NewsCodec.decode(buffer).getTitle());
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the header of a record, without the body.
+     */
+    @Test
+    public void testDecodeHeader() {
+
+        final Faker faker = Faker.instance();
+        for (int i = 0; i < 100; i++) {
+            final News news = news(faker, i);
+            final ByteBuffer buffer = ByteBuffer.allocate(NewsCodec.size(news));
+            NewsCodec.encodeRecord(news, buffer);
+            buffer.flip();
+
+            final NewsHeader header = NewsCodec.decodeHeader(buffer);
+            Assertions.assertEquals(news.getId().longValue(), header.getId(), "Wrong id");
+            Assertions.assertEquals(news.getTitle(), header.getTitle());
+            Assertions.assertEquals(news.getSource(), header.getSource());
+            Assertions.assertEquals(news.getUrlImage(), header.getUrlImage());
+            Assertions.assertEquals(news.getPublishedAtMillis(), header.getPublishedAtMillis(), "Wrong millis");
+            Assertions.assertEquals(news.getPublishedAt().toOffsetDateTime(), header.getPublishedAt().toOffsetDateTime());
+            Assertions.assertFalse(buffer.hasRemaining(), "Bytes not skipped");
+
+            // The same date (and zone) from the News
+            Assertions.assertEquals(news.getPublishedAt(), NewsHeader.of(news).getPublishedAt(), "Wrong date of the header");
+        }
+    }
+
+    /**
+     * The Test of the batch and the errors.
+     */
+    @Test
+    public void testBatch() {
+
+        log.debug("Testing ..");
+
+        final Faker faker = Faker.instance();
+        final List<News> news = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            news.add(news(faker, i));
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(NewsCodec.size(news));
+        NewsCodec.encodeAll(news, buffer);
+        Assertions.assertFalse(buffer.hasRemaining(), "Wrong size");
+        buffer.flip();
+
+        final List<News> decoded = NewsCodec.decodeAll(buffer.duplicate());
+        Assertions.assertEquals(news.size(), decoded.size());
+        for (int i = 0; i < news.size(); i++) {
+            assertNews(news.get(i), decoded.get(i));
+        }
+
+        // Truncated
+        final ByteBuffer truncated = buffer.duplicate();
+        truncated.limit(truncated.limit() - 10);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NewsCodec.decodeAll(truncated));
+
+        // Wrong version
+        final ByteBuffer wrong = buffer.duplicate();
+        wrong.put(0, (byte) 99);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NewsCodec.decodeAll(wrong));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the size against the Gson json.
+     */
+    @Test
+    public void testSizeVsGson() {
+
+        log.debug("Testing ..");
+
+        final Faker faker = Faker.instance();
+        final List<News> news = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            news.add(news(faker, i));
+        }
+
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapter(ZonedDateTime.class, new TypeAdapter<ZonedDateTime>() {
+                    @Override
+                    public void write(JsonWriter out, ZonedDateTime value) throws IOException {
+                        out.value(value.toString());
+                    }
+
+                    @Override
+                    public ZonedDateTime read(JsonReader in) throws IOException {
+                        return ZonedDateTime.parse(in.nextString());
+                    }
+                })
+                .create();
+
+        final int json = gson.toJson(news).getBytes(StandardCharsets.UTF_8).length;
+        final int binary = NewsCodec.size(news);
+        log.debug("Size of 1000 News: json {} bytes, binary {} bytes", json, binary);
+
+        Assertions.assertTrue(binary < json, "Binary bigger than json");
+
+        log.debug("Done.");
+    }
+}
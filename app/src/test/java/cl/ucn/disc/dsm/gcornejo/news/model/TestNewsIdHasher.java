@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import net.openhft.hashing.LongHashFunction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.Random;
+
+/**
+ * Testing of NewsIdHasher.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNewsIdHasher {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNewsIdHasher.class);
+
+    /**
+     * The Test of the known id.
+     */
+    @Test
+    public void testKnownId() {
+
+        News news = new News(
+                "The Title",
+                "The Source",
+                "The Author",
+                "the URL",
+                "The URL Image",
+                "The Description",
+                "The Content",
+                ZonedDateTime.now(ZoneId.of("-3"))
+        );
+
+        Assertions.assertEquals(1182003507361219134L, news.getId(), "Wrong id !");
+    }
+
+    /**
+     * The Test of the same value of the concatenated String, with random lengths and chars.
+     */
+    @Test
+    public void testSameAsConcatenation() {
+
+        log.debug("Testing ..");
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            final String title = randomString(random, random.nextInt(80));
+            final String source = randomString(random, random.nextInt(20));
+            final String author = randomString(random, random.nextInt(30));
+
+            Assertions.assertEquals(
+                    LongHashFunction.xx().hashChars(title + "|" + source + "|" + author),
+                    NewsIdHasher.hash(title, source, author),
+                    "Wrong id for: " + title + "|" + source + "|" + author);
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * @param random to use.
+     * @param length of the String.
+     * @return a String with ascii, latin and other unicode chars.
+     */
+    private static String randomString(final Random random, final int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    sb.append((char) (' ' + random.nextInt(95)));
+                    break;
+                case 1:
+                    sb.append((char) (0xC0 + random.nextInt(64)));
+                    break;
+                default:
+                    sb.append((char) random.nextInt(0xD800));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testing of Tokenizer and InvertedIndex.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestInvertedIndex {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestInvertedIndex.class);
+
+    /**
+     * @param hits of the search.
+     * @return the documents.
+     */
+    private static List<Integer> docs(final List<InvertedIndex.Hit> hits) {
+        final List<Integer> docs = new ArrayList<>();
+        for (InvertedIndex.Hit hit : hits) {
+            docs.add(hit.getDoc());
+        }
+        return docs;
+    }
+
+    /**
+     * The Test of the Tokenizer.
+     */
+    @Test
+    public void testTokenize() {
+
+        log.debug("Testing ..");
+
+        Assertions.assertEquals(Arrays.asList("la", "cancion", "de", "nunoa", "covid", "19"),
+                Tokenizer.tokenize("La Canción de ÑUÑOA: covid-19!"));
+        Assertions.assertEquals(Arrays.asList("pinguino", "cafe"),
+                Tokenizer.tokenize("Pingüino  café"));
+        Assertions.assertEquals(Arrays.asList("naive", "resume"), Tokenizer.tokenize("Naïve résumé"));
+        Assertions.assertTrue(Tokenizer.tokenize(null).isEmpty());
+        Assertions.assertTrue(Tokenizer.tokenize(" ,.;- ").isEmpty());
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of AND, OR and phrases.
+     */
+    @Test
+    public void testSearch() {
+
+        log.debug("Testing ..");
+
+        final InvertedIndex index = new InvertedIndex();
+        Assertions.assertTrue(index.search("chile", 10).isEmpty());
+
+        index.add("Chile enfrenta la segunda ola", "El gobierno anuncia medidas");
+        index.add("La segunda vuelta en Chile", null, "Ola de calor en Santiago");
+        index.add("Pandemic: the second wave", "Chile and Peru", "The second wave reaches Chile");
+        index.add("Economía", "El cobre sube", "Sin noticias de la pandemia");
+        Assertions.assertEquals(4, index.size());
+
+        // AND
+        Assertions.assertEquals(Arrays.asList(0, 1, 2), sorted(docs(index.search("chile", 10))));
+        Assertions.assertEquals(Arrays.asList(0, 1), sorted(docs(index.search("CHILE segunda", 10))));
+        Assertions.assertTrue(index.search("chile cobre", 10).isEmpty());
+        Assertions.assertTrue(index.search("chile inexistente", 10).isEmpty());
+
+        // Phrase: consecutive, and not across fields
+        Assertions.assertEquals(Arrays.asList(0), docs(index.search("\"segunda ola\"", 10)));
+        Assertions.assertEquals(Arrays.asList(2), docs(index.search("\"second wave\" chile", 10)));
+        Assertions.assertTrue(index.search("\"medidas ola\"", 10).isEmpty());
+        Assertions.assertTrue(index.search("\"chile ola\"", 10).isEmpty());
+
+        // OR
+        Assertions.assertEquals(Arrays.asList(0, 3), sorted(docs(index.search("\"segunda ola\" OR cobre", 10))));
+        Assertions.assertEquals(Arrays.asList(3), docs(index.search("inexistente OR economia", 10)));
+
+        // k
+        Assertions.assertEquals(2, index.search("chile", 2).size());
+        Assertions.assertTrue(index.search("chile", 0).isEmpty());
+        Assertions.assertTrue(index.search("OR", 10).isEmpty());
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the BM25 ranking.
+     */
+    @Test
+    public void testRanking() {
+
+        log.debug("Testing ..");
+
+        final InvertedIndex index = new InvertedIndex();
+        index.add("chile", "una noticia larga sobre muchos temas distintos de la semana en el pais");
+        index.add("terremoto terremoto", "chile");
+        index.add("terremoto en chile");
+        for (int i = 0; i < 100; i++) {
+            index.add("chile noticia " + i);
+        }
+
+        // More frequency of the rare term, then the rare term over the common one
+        final List<InvertedIndex.Hit> hits = index.search("chile OR terremoto", 3);
+        Assertions.assertEquals(3, hits.size());
+        Assertions.assertEquals(1, hits.get(0).getDoc(), "Wrong best hit");
+        Assertions.assertEquals(2, hits.get(1).getDoc(), "Wrong second hit");
+        Assertions.assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        Assertions.assertTrue(hits.get(1).getScore() > hits.get(2).getScore());
+
+        // Ties: the newest first
+        final List<InvertedIndex.Hit> ties = index.search("noticia 5", 2);
+        Assertions.assertEquals(Arrays.asList(8), docs(ties));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * @param list to sort.
+     * @return the list sorted.
+     */
+    private static List<Integer> sorted(final List<Integer> list) {
+        list.sort(null);
+        return list;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+
+/**
+ * Testing of SimHash and NearDuplicateIndex.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNearDuplicateIndex {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNearDuplicateIndex.class);
+
+    /**
+     * The description of the story.
+     */
+    private static final String DESCRIPTION = "El gobierno anunció hoy un nuevo paquete de medidas sanitarias para "
+            + "contener la segunda ola de contagios en la Región Metropolitana, que incluye restricciones de aforo "
+            + "y toque de queda.";
+
+    /**
+     * The Test of the SimHash of the same, near and other story.
+     */
+    @Test
+    public void testSimHash() {
+
+        log.debug("Testing ..");
+
+        final long story = SimHash.of("Chile anuncia nuevas medidas contra la pandemia", DESCRIPTION);
+
+        // Same terms after the normalization
+        Assertions.assertEquals(story, SimHash.of("CHILE ANUNCIA nuevas medidas, contra la pandemia!", DESCRIPTION));
+        Assertions.assertEquals(story, SimHash.of("Chile anuncia nuevas medidas contra la pandemia " + DESCRIPTION));
+
+        // Tweaked title or description
+        Assertions.assertTrue(SimHash.distance(story,
+                SimHash.of("Chile anuncia nuevas medidas contra el virus", DESCRIPTION)) <= 5);
+        Assertions.assertTrue(SimHash.distance(story,
+                SimHash.of("Chile anuncia nuevas medidas contra la pandemia", DESCRIPTION.replace("hoy", "este martes"))) <= 5);
+
+        // Other story
+        Assertions.assertTrue(SimHash.distance(story, SimHash.of("El cobre sube a su mayor precio en ocho años",
+                "Los mercados reaccionan a la demanda china por el metal rojo, que alcanzó su mayor valor desde 2013.")) > 10);
+
+        Assertions.assertEquals(0L, SimHash.of((String) null));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the index against the brute force.
+     */
+    @Test
+    public void testFind() {
+
+        log.debug("Testing ..");
+
+        final Random random = new Random(11);
+        for (int maxDistance = 0; maxDistance <= 7; maxDistance++) {
+
+            final NearDuplicateIndex index = new NearDuplicateIndex(maxDistance);
+            final long[] signatures = new long[2000];
+            for (int i = 0; i < signatures.length; i++) {
+                // Half are a few bits away of a previous one
+                long signature = random.nextLong();
+                if (i > 0 && random.nextBoolean()) {
+                    signature = signatures[random.nextInt(i)];
+                    for (int b = random.nextInt(maxDistance + 3); b > 0; b--) {
+                        signature ^= 1L << random.nextInt(64);
+                    }
+                }
+
+                // Brute force: the nearest, the oldest on ties
+                int expected = -1;
+                int best = maxDistance + 1;
+                for (int j = 0; j < i; j++) {
+                    final int distance = SimHash.distance(signature, signatures[j]);
+                    if (distance < best) {
+                        best = distance;
+                        expected = j;
+                    }
+                }
+
+                Assertions.assertEquals(expected, index.find(signature), "Wrong nearest");
+                signatures[i] = signature;
+                Assertions.assertEquals(i, index.add(signature));
+            }
+            Assertions.assertEquals(signatures.length, index.size());
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NearDuplicateIndex(8));
+
+        log.debug("Done.");
+    }
+}
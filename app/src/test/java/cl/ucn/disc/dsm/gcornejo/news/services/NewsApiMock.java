@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The json responses of a fake NewsApi server, for MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+final class NewsApiMock {
+
+    /**
+     * The Constructor.
+     */
+    private NewsApiMock() {
+        // Nothing here
+    }
+
+    /**
+     * @param totalResults in the server.
+     * @param titles       of the articles in the page.
+     * @return the json of a page of top-headlines.
+     */
+    static String page(final int totalResults, final String... titles) {
+        return page(totalResults, Arrays.asList(titles));
+    }
+
+    /**
+     * @param totalResults in the server.
+     * @param titles       of the articles in the page.
+     * @return the json of a page of top-headlines.
+     */
+    static String page(final int totalResults, final List<String> titles) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"status\":\"ok\",\"totalResults\":").append(totalResults).append(",\"articles\":[");
+        for (int i = 0; i < titles.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(article(titles.get(i)));
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * @param title of the article.
+     * @return the json of one article.
+     */
+    static String article(final String title) {
+        return "{\"source\":{\"id\":\"the-source\",\"name\":\"The Source\"},"
+                + "\"author\":\"The Author\","
+                + "\"title\":\"" + title + "\","
+                + "\"description\":\"The Description of " + title + "\","
+                + "\"url\":\"https://example.com/" + title.hashCode() + "\","
+                + "\"urlToImage\":\"https://example.com/" + title.hashCode() + ".jpg\","
+                + "\"publishedAt\":\"2020-11-18T12:34:56Z\"}";
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * Testing of the AsyncContracts adaptors.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestAsyncContracts {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestAsyncContracts.class);
+
+    /**
+     * The Test of Contracts -> AsyncContracts -> Contracts.
+     */
+    @Test
+    public void testAdaptors() throws Exception {
+
+        log.debug("Testing ..");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Blocking -> non blocking
+            AsyncContracts async = new AsyncContractsImplContracts(new ContractsImplFaker(), executor);
+
+            // Fan out some requests
+            CompletableFuture<List<News>> three = async.retrieveNews(3);
+            CompletableFuture<List<News>> five = async.retrieveNews(5);
+            Assertions.assertEquals(3, three.get().size(), "List is not 3");
+            Assertions.assertEquals(5, five.get().size(), "List is not 5");
+
+            // Non blocking -> blocking
+            Contracts contracts = new ContractsImplAsync(async);
+            List<News> news = contracts.retrieveNews(5);
+            Assertions.assertEquals(5, news.size(), "List is not 5");
+
+            // The original exception reach the caller
+            Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(news.get(0)));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(null));
+        } finally {
+            executor.shutdown();
+        }
+
+        log.debug("Done.");
+    }
+}
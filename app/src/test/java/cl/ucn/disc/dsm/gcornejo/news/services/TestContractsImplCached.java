@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Testing of ContractsImplCached against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplCached {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplCached.class);
+
+    /**
+     * The Test of hits, misses and coalescing.
+     */
+    @Test
+    public void testRetrieveNews() throws Exception {
+
+        log.debug("Testing ..");
+
+        try (MockWebServer server = new MockWebServer()) {
+
+            // Slow server, to get simultaneous misses
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse()
+                            .setBody(NewsApiMock.page(1, "The news of " + request.getRequestUrl().queryParameter("pageSize")))
+                            .setHeadersDelay(300, TimeUnit.MILLISECONDS);
+                }
+            });
+            server.start();
+
+            final ContractsImplCached contracts = new ContractsImplCached(
+                    new ContractsImplNewsApi(new NewsApiService("the-key", server.url("/v2/").toString()), "general"),
+                    10, 1, TimeUnit.MINUTES);
+
+            // 8 callers, same query, at the same time
+            final ExecutorService executor = Executors.newFixedThreadPool(8);
+            final List<Future<List<News>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> contracts.retrieveNews(5)));
+            }
+            for (Future<List<News>> future : futures) {
+                Assertions.assertEquals("The news of 5", future.get().get(0).getTitle());
+            }
+            executor.shutdown();
+
+            // Only one request
+            Assertions.assertEquals(1, server.getRequestCount(), "Misses not coalesced");
+
+            // Hit
+            contracts.retrieveNews(5);
+            Assertions.assertEquals(1, server.getRequestCount(), "Not cached");
+
+            // Other query, other request
+            Assertions.assertEquals("The news of 3", contracts.retrieveNews(3).get(0).getTitle());
+            Assertions.assertEquals(2, server.getRequestCount(), "Wrong key");
+
+            Assertions.assertEquals(2, contracts.getCache().getMisses(), "Wrong misses");
+            Assertions.assertEquals(8, contracts.getCache().getHits() + contracts.getCache().getCoalesced(),
+                    "Wrong hits + coalesced");
+
+            log.debug("Done: {}", contracts.getCache());
+        }
+    }
+}
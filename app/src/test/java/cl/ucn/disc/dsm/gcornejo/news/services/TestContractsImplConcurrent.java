@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * Testing of ContractsImplConcurrent.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplConcurrent {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplConcurrent.class);
+
+    /**
+     * The first publishedAt.
+     */
+    private static final ZonedDateTime START = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+
+    /**
+     * @param i the number of the News.
+     * @return a valid News, of one of 7 sources and 13 authors, one minute after the previous.
+     */
+    private static News news(final int i) {
+        return new News(
+                "The Title " + i,
+                "The Source " + i % 7,
+                "The Author " + i % 13,
+                "https://example.com/" + i,
+                "https://example.com/" + i + ".jpg",
+                "The Description of " + i,
+                "The Content of " + i,
+                START.plusMinutes(i)
+        );
+    }
+
+    /**
+     * The Test of Save and Retrieve, one thread.
+     */
+    @Test
+    public void testSaveAndRetrieveNews() {
+
+        log.debug("Testing ..");
+
+        final ContractsImplConcurrent contracts = new ContractsImplConcurrent();
+        for (int i = 0; i < 5000; i++) {
+            contracts.saveNews(news(i));
+        }
+        Assertions.assertEquals(5000, contracts.size(), "Wrong size");
+
+        final List<News> last = contracts.retrieveNews(3);
+        Assertions.assertEquals("The Title 4997", last.get(0).getTitle(), "Wrong order");
+        Assertions.assertEquals("The Title 4999", last.get(2).getTitle(), "Wrong order");
+        Assertions.assertEquals(0, contracts.retrieveNews(0).size(), "List is not 0");
+        Assertions.assertEquals(5000, contracts.retrieveNews(10000).size(), "List is not all");
+
+        // The snapshot doesn't change
+        final List<News> snapshot = contracts.retrieveNews(10);
+        contracts.saveNews(news(5000));
+        Assertions.assertEquals("The Title 4999", snapshot.get(9).getTitle(), "Snapshot changed");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(news(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(null));
+        Assertions.assertEquals(5001, contracts.size(), "Wrong size");
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The stress Test: 8 writers save the same News in different order while 2 readers iterate.
+     */
+    @Test
+    public void testConcurrentSave() throws Exception {
+
+        log.debug("Testing ..");
+
+        final int size = 20000;
+        final int writers = 8;
+        final List<News> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(news(i));
+        }
+
+        final ContractsImplConcurrent contracts = new ContractsImplConcurrent();
+        final AtomicInteger saved = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                final List<News> mine = new ArrayList<>(all);
+                Collections.shuffle(mine, new Random(w));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (News news : mine) {
+                        try {
+                            contracts.saveNews(news);
+                            saved.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // The readers: each snapshot is complete and stable
+            final List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (!done.get()) {
+                        final List<News> snapshot = contracts.retrieveNews(Integer.MAX_VALUE);
+                        final int n = snapshot.size();
+                        for (News news : snapshot) {
+                            Assertions.assertNotNull(news, "Hole in the snapshot");
+                        }
+                        Assertions.assertEquals(n, snapshot.size(), "Snapshot changed");
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            done.set(true);
+            for (Future<?> future : readers) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Each News saved once
+        Assertions.assertEquals(size, saved.get(), "Wrong saved");
+        Assertions.assertEquals(size * (writers - 1), rejected.get(), "Wrong rejected");
+        Assertions.assertEquals(size, contracts.size(), "Wrong size");
+
+        final Set<Long> ids = new HashSet<>();
+        for (News news : contracts.retrieveNews(Integer.MAX_VALUE)) {
+            Assertions.assertTrue(ids.add(news.getId()), "Duplicated");
+        }
+        Assertions.assertEquals(size, ids.size(), "Lost News");
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The stress Test of the batch save: 8 writers save the same News in batches of different
+     * order.
+     */
+    @Test
+    public void testConcurrentSaveAll() throws Exception {
+
+        log.debug("Testing ..");
+
+        final int size = 20000;
+        final int writers = 8;
+        final List<News> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(news(i));
+        }
+
+        final ContractsImplConcurrent contracts = new ContractsImplConcurrent();
+        final AtomicInteger saved = new AtomicInteger();
+        final AtomicInteger duplicated = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                final List<News> mine = new ArrayList<>(all);
+                Collections.shuffle(mine, new Random(w));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int from = 0; from < size; from += 100) {
+                        for (SaveOutcome outcome : contracts.saveAll(mine.subList(from, from + 100))) {
+                            (outcome == SaveOutcome.SAVED ? saved : duplicated).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Each News saved once, no holes
+        Assertions.assertEquals(size, saved.get(), "Wrong saved");
+        Assertions.assertEquals(size * (writers - 1), duplicated.get(), "Wrong duplicated");
+        Assertions.assertEquals(size, contracts.size(), "Wrong size");
+
+        final Set<Long> ids = new HashSet<>();
+        for (News news : contracts.retrieveNews(Integer.MAX_VALUE)) {
+            Assertions.assertTrue(ids.add(news.getId()), "Duplicated");
+        }
+        Assertions.assertEquals(size, ids.size(), "Lost News");
+
+        // Null and duplicated in the batch
+        final List<SaveOutcome> outcomes = contracts.saveAll(Arrays.asList(news(size), null, news(size)));
+        Assertions.assertEquals(Arrays.asList(SaveOutcome.SAVED, SaveOutcome.INVALID, SaveOutcome.DUPLICATE), outcomes);
+
+        log.debug("Done.");
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.model.NewsHeader;
+
+/**
+ * Testing of ContractsImplMappedLog.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplMappedLog {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplMappedLog.class);
+
+    /**
+     * The directory of the segments.
+     */
+    @TempDir
+    File directory;
+
+    /**
+     * @param i the number of the News.
+     * @return a valid News.
+     */
+    private static News news(final int i) {
+        return new News(
+                "The Title " + i,
+                "The Source",
+                "The Author ñandú",
+                "The URL",
+                i % 2 == 0 ? null : "The URL Image",
+                "The Description",
+                "The Content " + i,
+                ZonedDateTime.of(2020, 11, 18, 12, 34, 56, i, i % 3 == 0 ? ZoneId.of("-3") : ZoneId.of("America/Santiago"))
+        );
+    }
+
+    /**
+     * @param expected the News saved.
+     * @param actual   the News read.
+     */
+    private static void assertNews(final News expected, final News actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId());
+        Assertions.assertEquals(expected.getTitle(), actual.getTitle());
+        Assertions.assertEquals(expected.getSource(), actual.getSource());
+        Assertions.assertEquals(expected.getAuthor(), actual.getAuthor());
+        Assertions.assertEquals(expected.getUrl(), actual.getUrl());
+        Assertions.assertEquals(expected.getUrlImage(), actual.getUrlImage());
+        Assertions.assertEquals(expected.getDescription(), actual.getDescription());
+        Assertions.assertEquals(expected.getContent(), actual.getContent());
+        Assertions.assertEquals(expected.getPublishedAt().toOffsetDateTime(), actual.getPublishedAt().toOffsetDateTime());
+    }
+
+    /**
+     * The Test of Save, Retrieve and reopen, with segment rolling.
+     */
+    @Test
+    public void testSaveAndReopen() throws Exception {
+
+        log.debug("Testing ..");
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            for (int i = 0; i < 1000; i++) {
+                contracts.saveNews(news(i));
+            }
+            Assertions.assertEquals(1000, contracts.size(), "Wrong size");
+            Assertions.assertTrue(contracts.segments() > 1, "No segment rolling");
+
+            final List<News> last = contracts.retrieveNews(3);
+            Assertions.assertEquals(3, last.size(), "List is not 3");
+            assertNews(news(997), last.get(0));
+            assertNews(news(999), last.get(2));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(news(5)));
+        }
+
+        // The same News after the restart
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            Assertions.assertEquals(1000, contracts.size(), "Wrong size after reopen");
+
+            final List<News> all = contracts.retrieveNews(2000);
+            Assertions.assertEquals(1000, all.size(), "List is not all");
+            for (int i = 0; i < 1000; i++) {
+                assertNews(news(i), all.get(i));
+                Assertions.assertTrue(contracts.contains(news(i).getId()), "Id not indexed");
+            }
+            Assertions.assertEquals(0, contracts.retrieveNews(0).size(), "List is not 0");
+
+            // Duplicated, after the restart
+            Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(news(5)));
+            contracts.saveNews(news(1000));
+            assertNews(news(1000), contracts.retrieveNews(1).get(0));
+
+            // The time index, rebuilt on reopen
+            assertNews(news(1000), contracts.retrieveNewest(1).get(0));
+            Assertions.assertEquals(1001, contracts.retrieveNewest(2000).size(), "Time index not rebuilt");
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the headers and the body by id.
+     */
+    @Test
+    public void testHeadersAndFind() throws Exception {
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            for (int i = 0; i < 100; i++) {
+                contracts.saveNews(news(i));
+            }
+
+            // The same order of retrieveNews
+            final List<NewsHeader> headers = contracts.retrieveHeaders(10);
+            final List<News> news = contracts.retrieveNews(10);
+            Assertions.assertEquals(10, headers.size(), "Wrong size");
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals(news.get(i).getId().longValue(), headers.get(i).getId(), "Wrong order");
+                Assertions.assertEquals(news.get(i).getTitle(), headers.get(i).getTitle());
+                Assertions.assertEquals(news.get(i).getUrlImage(), headers.get(i).getUrlImage());
+            }
+
+            // The body, on demand
+            assertNews(news(95), contracts.findNews(headers.get(5).getId()));
+            Assertions.assertNull(contracts.findNews(news(100).getId()), "Found not saved");
+        }
+    }
+
+    /**
+     * The Test of the recovery of a torn record.
+     */
+    @Test
+    public void testRecoverTornRecord() throws Exception {
+
+        log.debug("Testing ..");
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            for (int i = 0; i < 3; i++) {
+                contracts.saveNews(news(i));
+            }
+        }
+
+        // Corrupt one byte of the last record, as a crash in the middle of the write
+        try (RandomAccessFile file = new RandomAccessFile(new File(this.directory, ContractsImplMappedLog.segmentName(0)), "rw")) {
+            int offset = ContractsImplMappedLog.HEADER;
+            int last = offset;
+            int length;
+            file.seek(offset);
+            while ((length = file.readInt()) != 0) {
+                last = offset;
+                offset += ContractsImplMappedLog.RECORD_HEADER + length;
+                file.seek(offset);
+            }
+            file.seek(last + ContractsImplMappedLog.RECORD_HEADER + 10);
+            final int b = file.read();
+            file.seek(last + ContractsImplMappedLog.RECORD_HEADER + 10);
+            file.write(b ^ 0xFF);
+        }
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            Assertions.assertEquals(2, contracts.size(), "Torn record not dropped");
+            Assertions.assertFalse(contracts.contains(news(2).getId()), "Torn record indexed");
+
+            // The log continues after the good records
+            contracts.saveNews(news(2));
+            contracts.saveNews(news(3));
+        }
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            Assertions.assertEquals(4, contracts.size(), "Wrong size");
+            assertNews(news(3), contracts.retrieveNews(1).get(0));
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of a torn record in a segment before the last one: the later segments are dropped.
+     */
+    @Test
+    public void testRecoverTornSegment() throws Exception {
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            for (int i = 0; i < 100; i++) {
+                contracts.saveNews(news(i));
+            }
+        }
+        final File second = new File(this.directory, ContractsImplMappedLog.segmentName(1));
+        Assertions.assertTrue(second.exists(), "Only one segment");
+
+        // Corrupt the payload of the first record
+        try (RandomAccessFile file = new RandomAccessFile(new File(this.directory, ContractsImplMappedLog.segmentName(0)), "rw")) {
+            file.seek(ContractsImplMappedLog.HEADER + ContractsImplMappedLog.RECORD_HEADER + 10);
+            final int b = file.read();
+            file.seek(ContractsImplMappedLog.HEADER + ContractsImplMappedLog.RECORD_HEADER + 10);
+            file.write(b ^ 0xFF);
+        }
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            Assertions.assertEquals(0, contracts.size(), "Records after the torn one");
+            Assertions.assertFalse(second.exists(), "Later segment not dropped");
+
+            contracts.saveNews(news(0));
+        }
+
+        try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(this.directory, 4096)) {
+            Assertions.assertEquals(1, contracts.size(), "Wrong size");
+            assertNews(news(0), contracts.retrieveNews(1).get(0));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * Testing of ContractsImplMemory.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplMemory {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplMemory.class);
+
+    /**
+     * @param i the number of the News.
+     * @return a valid News.
+     */
+    private static News news(final int i) {
+        return new News(
+                "The Title " + i,
+                "The Source",
+                "The Author",
+                "The URL",
+                "The URL Image",
+                "The Description",
+                "The Content",
+                ZonedDateTime.now(ZoneId.of("-3"))
+        );
+    }
+
+    /**
+     * The Test of Save and Retrieve news.
+     */
+    @Test
+    public void testSaveAndRetrieveNews() {
+
+        log.debug("Testing ..");
+
+        // The concrete implementation
+        ContractsImplMemory contracts = new ContractsImplMemory();
+
+        // Save 10.000 News, more than the initial capacity
+        for (int i = 0; i < 10000; i++) {
+            contracts.saveNews(news(i));
+        }
+        Assertions.assertEquals(10000, contracts.size(), "Wrong size");
+
+        // .. the last 3, in insertion order ..
+        List<News> last = contracts.retrieveNews(3);
+        Assertions.assertEquals(3, last.size(), "List is not 3");
+        Assertions.assertEquals("The Title 9997", last.get(0).getTitle(), "Wrong order");
+        Assertions.assertEquals("The Title 9999", last.get(2).getTitle(), "Wrong order");
+
+        // .. size = 0 and size > saved ..
+        Assertions.assertEquals(0, contracts.retrieveNews(0).size(), "List is not 0");
+        Assertions.assertEquals(10000, contracts.retrieveNews(20000).size(), "List is not all");
+
+        // .. all the ids are indexed ..
+        for (int i = 0; i < 10000; i++) {
+            Assertions.assertTrue(contracts.contains(news(i).getId()), "Id not indexed");
+        }
+        Assertions.assertFalse(contracts.contains(news(10000).getId()), "Id indexed");
+
+        // .. and found by id
+        Assertions.assertEquals("The Title 1234", contracts.findNews(news(1234).getId()).getTitle(), "Wrong News");
+        Assertions.assertNull(contracts.findNews(news(10000).getId()), "Found not saved");
+        Assertions.assertEquals("The Title 9999", contracts.retrieveHeaders(1).get(0).getTitle(), "Wrong header");
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of duplicated and null news.
+     */
+    @Test
+    public void testSaveNewsInvalid() {
+
+        log.debug("Testing ..");
+
+        ContractsImplMemory contracts = new ContractsImplMemory(0);
+        contracts.saveNews(news(1));
+
+        // Duplicated
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(news(1)));
+
+        // Null
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(null));
+
+        // Nothing added
+        Assertions.assertEquals(1, contracts.size(), "Wrong size");
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the batch save, against the default method (one saveNews by News).
+     */
+    @Test
+    public void testSaveAll() {
+
+        log.debug("Testing ..");
+
+        final News first = news(1);
+        final ContractsImplMemory contracts = new ContractsImplMemory(0);
+        contracts.saveNews(first);
+
+        // The same News, with the default saveAll
+        final List<News> saved = new ArrayList<>();
+        final Contracts simple = new Contracts() {
+            @Override
+            public List<News> retrieveNews(Integer size) {
+                return saved;
+            }
+
+            @Override
+            public void saveNews(News news) {
+                for (News n : saved) {
+                    if (n.getId().equals(news.getId())) {
+                        throw new DuplicateNewsException(n.getId());
+                    }
+                }
+                saved.add(news);
+            }
+        };
+        simple.saveNews(first);
+
+        // Duplicated in the store, null and duplicated in the batch
+        final List<News> batch = Arrays.asList(news(0), news(1), null, news(2), news(0), news(3));
+        final List<SaveOutcome> expected = Arrays.asList(SaveOutcome.SAVED, SaveOutcome.DUPLICATE,
+                SaveOutcome.INVALID, SaveOutcome.SAVED, SaveOutcome.DUPLICATE, SaveOutcome.SAVED);
+        Assertions.assertEquals(expected, contracts.saveAll(batch), "Wrong outcomes");
+        Assertions.assertEquals(expected, simple.saveAll(batch), "Wrong default outcomes");
+
+        // Saved in the order of the batch, and indexed
+        Assertions.assertEquals(4, contracts.size(), "Wrong size");
+        Assertions.assertEquals(saved, contracts.retrieveNews(10), "Wrong order");
+        Assertions.assertTrue(contracts.contains(news(3).getId()), "Id not indexed");
+        Assertions.assertEquals(4, contracts.retrieveNewest(10).size(), "Not in the time index");
+
+        // Empty batch
+        Assertions.assertTrue(contracts.saveAll(new ArrayList<>()).isEmpty(), "Not empty");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveAll(null));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the time queries, against the sort of the default methods.
+     */
+    @Test
+    public void testRetrieveByTime() {
+
+        log.debug("Testing ..");
+
+        final ZonedDateTime base = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+        final ContractsImplMemory contracts = new ContractsImplMemory();
+
+        // The same News, without the index
+        final List<News> saved = new ArrayList<>();
+        final Contracts sorted = new Contracts() {
+            @Override
+            public List<News> retrieveNews(Integer size) {
+                return saved;
+            }
+
+            @Override
+            public void saveNews(News news) {
+                saved.add(news);
+            }
+        };
+
+        // Out of order: each 3 hours, some in the past
+        for (int i = 0; i < 1000; i++) {
+            final News news = new News("The Title " + i, "The Source", "The Author", "The URL",
+                    "The URL Image", "The Description", "The Content",
+                    base.plusHours(i % 7 == 0 ? -i : 3L * i));
+            contracts.saveNews(news);
+            sorted.saveNews(news);
+        }
+
+        // Newest
+        Assertions.assertEquals(sorted.retrieveNewest(10), contracts.retrieveNewest(10), "Wrong newest");
+        Assertions.assertEquals("The Title 999", contracts.retrieveNewest(1).get(0).getTitle(), "Wrong newest");
+        Assertions.assertEquals(1000, contracts.retrieveNewest(5000).size(), "Not all");
+
+        // Range [from, to), in other zone
+        final ZonedDateTime from = base.plusDays(10).withZoneSameInstant(ZoneId.of("Z"));
+        final ZonedDateTime to = base.plusDays(40);
+        final List<News> range = contracts.retrieveNews(from, to, 1000);
+        Assertions.assertEquals(sorted.retrieveNews(from, to, 1000), range, "Wrong range");
+        Assertions.assertFalse(range.isEmpty(), "Empty range");
+        for (News news : range) {
+            Assertions.assertFalse(news.getPublishedAt().isBefore(from), "Before from");
+            Assertions.assertTrue(news.getPublishedAt().isBefore(to), "Not before to");
+        }
+        Assertions.assertEquals(3, contracts.retrieveNews(from, to, 3).size(), "Wrong limit");
+
+        log.debug("Done.");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.Arrays;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.metrics.Metrics;
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Testing of ContractsImplMetrics and the metrics of NewsApiService.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplMetrics {
+
+    /**
+     * The Logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplMetrics.class);
+
+    /**
+     * @param title of the News.
+     * @return the News.
+     */
+    private static News news(final String title) {
+        return new News(title, "The Source", "The Author", "The URL", "The URL Image",
+                "The Description", "The Content", ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3")));
+    }
+
+    /**
+     * The Test of the saveNews and saveAll by outcome.
+     */
+    @Test
+    public void testSave() {
+
+        final Metrics metrics = new Metrics();
+        final Contracts contracts = ContractsImplMetrics.instrument(new ContractsImplMemory(), metrics);
+        Assertions.assertTrue(contracts instanceof ContractsImplMetrics, "Not instrumented");
+
+        final News first = news("The first");
+        contracts.saveNews(first);
+        Assertions.assertThrows(DuplicateNewsException.class, () -> contracts.saveNews(first));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(null));
+        final List<SaveOutcome> outcomes = contracts.saveAll(Arrays.asList(news("The second"), first, null));
+        Assertions.assertEquals(Arrays.asList(SaveOutcome.SAVED, SaveOutcome.DUPLICATE, SaveOutcome.INVALID), outcomes);
+
+        Assertions.assertEquals(2, metrics.getCount("saveNews.saved"), "Wrong saved");
+        Assertions.assertEquals(2, metrics.getCount("saveNews.duplicate"), "Wrong duplicate");
+        Assertions.assertEquals(2, metrics.getCount("saveNews.invalid"), "Wrong invalid");
+        Assertions.assertEquals(3, metrics.getLatency("saveNews").getCount(), "Wrong latency");
+        Assertions.assertEquals(1, metrics.getLatency("saveAll").getCount(), "Wrong latency");
+
+        // Disabled: no decorator
+        final Contracts memory = new ContractsImplMemory();
+        Assertions.assertSame(memory, ContractsImplMetrics.instrument(memory, Metrics.DISABLED));
+    }
+
+    /**
+     * The Test of the retrieveNews, getTopHeadlines and http metrics against a MockWebServer.
+     */
+    @Test
+    public void testRetrieve() throws Exception {
+
+        final MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody(NewsApiMock.page(3, "The first", "The second", "The third")));
+        server.enqueue(new MockResponse().setResponseCode(429).setBody("{\"status\":\"error\"}"));
+        server.start();
+        try {
+            final Metrics metrics = new Metrics();
+            final NewsApiService service = new NewsApiService("the-key", server.url("/v2/").toString(),
+                    new OkHttpClient(), metrics);
+            final Contracts contracts = ContractsImplMetrics.instrument(new ContractsImplNewsApi(service, "general"), metrics);
+
+            Assertions.assertEquals(3, contracts.retrieveNews(10).size());
+            final NewsApiException e = Assertions.assertThrows(NewsApiException.class, () -> contracts.retrieveNews(10));
+            Assertions.assertEquals(429, e.getCode());
+            log.debug("Metrics:\n{}", metrics);
+
+            Assertions.assertEquals(1, metrics.getCount("retrieveNews.ok"), "Wrong ok");
+            Assertions.assertEquals(1, metrics.getCount("retrieveNews.error"), "Wrong error");
+            Assertions.assertEquals(1, metrics.getCount("retrieveNews.status.429"), "Wrong status");
+            Assertions.assertEquals(3, metrics.getCount("retrieveNews.news"), "Wrong news");
+            Assertions.assertEquals(2, metrics.getLatency("retrieveNews").getCount(), "Wrong latency");
+
+            Assertions.assertEquals(1, metrics.getCount("getTopHeadlines.status.200"), "Wrong status");
+            Assertions.assertEquals(1, metrics.getCount("getTopHeadlines.status.429"), "Wrong status");
+            Assertions.assertEquals(3, metrics.getCount("getTopHeadlines.articles"), "Wrong articles");
+
+            // The listener of OkHttp
+            Assertions.assertEquals(1, metrics.getCount("http.status.200"), "Wrong http status");
+            Assertions.assertEquals(1, metrics.getCount("http.status.429"), "Wrong http status");
+            Assertions.assertTrue(metrics.getCount("http.bytes") > 0, "Wrong bytes");
+            Assertions.assertEquals(2, metrics.getLatency("http.ttfb").getCount(), "Wrong ttfb");
+            Assertions.assertEquals(1, metrics.getLatency("http.connect").getCount(), "Connection not reused");
+        } finally {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * Testing of ContractsImplNearDuplicate.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplNearDuplicate {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplNearDuplicate.class);
+
+    /**
+     * @param title  of the News.
+     * @param source of the News.
+     * @return the News of the story.
+     */
+    private static News story(final String title, final String source) {
+        return new News(
+                title,
+                source,
+                "The Author",
+                "The URL",
+                "The URL Image",
+                "El gobierno anunció hoy un nuevo paquete de medidas sanitarias para contener la segunda ola "
+                        + "de contagios en la Región Metropolitana, que incluye restricciones de aforo.",
+                "The Content",
+                ZonedDateTime.now(ZoneId.of("-3"))
+        );
+    }
+
+    /**
+     * @return other News.
+     */
+    private static News other() {
+        return new News(
+                "El cobre sube a su mayor precio en ocho años",
+                "The Source",
+                "The Author",
+                "The URL",
+                "The URL Image",
+                "Los mercados reaccionan a la demanda china por el metal rojo, que alcanzó su mayor valor desde 2013.",
+                "The Content",
+                ZonedDateTime.now(ZoneId.of("-3"))
+        );
+    }
+
+    /**
+     * The Test of the REJECT policy.
+     */
+    @Test
+    public void testReject() {
+
+        log.debug("Testing ..");
+
+        final ContractsImplNearDuplicate contracts = new ContractsImplNearDuplicate(
+                new ContractsImplMemory(), ContractsImplNearDuplicate.Policy.REJECT);
+
+        contracts.saveNews(story("Chile anuncia nuevas medidas contra la pandemia", "La Tercera"));
+        contracts.saveNews(other());
+
+        // Republished by other source, and with the title tweaked
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> contracts.saveNews(story("Chile anuncia nuevas medidas contra la pandemia", "El Mercurio")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> contracts.saveNews(story("Chile anuncia nuevas medidas contra el virus", "La Tercera")));
+
+        Assertions.assertEquals(2, contracts.retrieveNews(10).size(), "Near duplicate saved");
+
+        // The exact duplicate is a duplicate, not a near one
+        Assertions.assertThrows(DuplicateNewsException.class, () -> contracts.saveNews(other()));
+        Assertions.assertEquals(Arrays.asList(SaveOutcome.DUPLICATE), contracts.saveAll(Arrays.asList(other())));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the CLUSTER policy, with News saved before the decorator.
+     */
+    @Test
+    public void testCluster() {
+
+        log.debug("Testing ..");
+
+        final ContractsImplMemory memory = new ContractsImplMemory();
+        final News first = story("Chile anuncia nuevas medidas contra la pandemia", "La Tercera");
+        memory.saveNews(first);
+
+        final ContractsImplNearDuplicate contracts = new ContractsImplNearDuplicate(
+                memory, ContractsImplNearDuplicate.Policy.CLUSTER);
+
+        final News copy = story("Chile anuncia nuevas medidas contra la pandemia", "El Mercurio");
+        final News other = other();
+        final News tweaked = story("Chile anuncia nuevas medidas contra el virus", "La Tercera");
+        contracts.saveNews(copy);
+        contracts.saveNews(other);
+        contracts.saveNews(tweaked);
+
+        Assertions.assertEquals(4, contracts.retrieveNews(10).size(), "Near duplicate not saved");
+        Assertions.assertEquals(first.getId(), contracts.clusterOf(first.getId()));
+        Assertions.assertEquals(first.getId(), contracts.clusterOf(copy.getId()));
+        Assertions.assertEquals(first.getId(), contracts.clusterOf(tweaked.getId()));
+        Assertions.assertEquals(other.getId(), contracts.clusterOf(other.getId()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.clusterOf(123L));
+
+        // One of each story
+        final List<News> distinct = contracts.retrieveDistinct(10);
+        Assertions.assertEquals(2, distinct.size(), "Wrong distinct");
+        Assertions.assertEquals(first.getId(), distinct.get(0).getId());
+        Assertions.assertEquals(other.getId(), distinct.get(1).getId());
+
+        // Exact duplicate: rejected by the store
+        Assertions.assertThrows(IllegalArgumentException.class, () -> contracts.saveNews(copy));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of saveAll: the near duplicates filtered here, the rest saved in one saveAll of the
+     * store.
+     */
+    @Test
+    public void testSaveAll() {
+
+        log.debug("Testing ..");
+
+        final ContractsImplMemory memory = new ContractsImplMemory();
+        final AtomicInteger batches = new AtomicInteger();
+        final Contracts store = new Contracts() {
+            @Override
+            public List<News> retrieveNews(final Integer size) {
+                return memory.retrieveNews(size);
+            }
+
+            @Override
+            public void saveNews(final News news) {
+                Assertions.fail("Saved one by one");
+            }
+
+            @Override
+            public List<SaveOutcome> saveAll(final Collection<News> news) {
+                batches.incrementAndGet();
+                return memory.saveAll(news);
+            }
+        };
+
+        final ContractsImplNearDuplicate rejecting = new ContractsImplNearDuplicate(
+                store, ContractsImplNearDuplicate.Policy.REJECT);
+        final News first = story("Chile anuncia nuevas medidas contra la pandemia", "La Tercera");
+        final List<SaveOutcome> outcomes = rejecting.saveAll(Arrays.asList(
+                first,
+                story("Chile anuncia nuevas medidas contra la pandemia", "El Mercurio"),
+                null,
+                first,
+                other()));
+
+        Assertions.assertEquals(Arrays.asList(SaveOutcome.SAVED, SaveOutcome.REJECTED, SaveOutcome.INVALID,
+                SaveOutcome.DUPLICATE, SaveOutcome.SAVED), outcomes);
+        Assertions.assertEquals(1, batches.get(), "Not one batch");
+        Assertions.assertEquals(2, memory.retrieveNews(10).size(), "Wrong saved");
+
+        // Against the saved ones too
+        Assertions.assertEquals(Arrays.asList(SaveOutcome.REJECTED, SaveOutcome.DUPLICATE), rejecting.saveAll(Arrays.asList(
+                story("Chile anuncia nuevas medidas contra el virus", "La Tercera"), other())));
+
+        // CLUSTER: saved, in the cluster of the first of the batch
+        final ContractsImplNearDuplicate clustering = new ContractsImplNearDuplicate(
+                new ContractsImplMemory(), ContractsImplNearDuplicate.Policy.CLUSTER);
+        final News copy = story("Chile anuncia nuevas medidas contra la pandemia", "El Mercurio");
+        Assertions.assertEquals(Arrays.asList(SaveOutcome.SAVED, SaveOutcome.SAVED),
+                clustering.saveAll(Arrays.asList(first, copy)));
+        Assertions.assertEquals(first.getId(), clustering.clusterOf(copy.getId()));
+
+        log.debug("Done.");
+    }
+}
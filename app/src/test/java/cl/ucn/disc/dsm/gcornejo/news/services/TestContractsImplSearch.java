@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * Testing of ContractsImplSearch.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestContractsImplSearch {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestContractsImplSearch.class);
+
+    /**
+     * @param title   of the News.
+     * @param content of the News.
+     * @return a valid News.
+     */
+    private static News news(final String title, final String content) {
+        return new News(
+                title,
+                "The Source",
+                "The Author",
+                "The URL",
+                "The URL Image",
+                "The Description",
+                content,
+                ZonedDateTime.now(ZoneId.of("-3"))
+        );
+    }
+
+    /**
+     * The Test of the index of the saved News.
+     */
+    @Test
+    public void testSearch() {
+
+        log.debug("Testing ..");
+
+        // One News before the decorator
+        final ContractsImplMemory memory = new ContractsImplMemory();
+        memory.saveNews(news("Terremoto en el norte", "Un sismo de magnitud 6 sacude Antofagasta"));
+
+        final ContractsImplSearch contracts = new ContractsImplSearch(memory);
+        contracts.saveNews(news("Elecciones en Chile", "La segunda vuelta será en diciembre"));
+        contracts.saveNews(news("Nuevo sismo", "Otro sismo en la región de Antofagasta"));
+
+        Assertions.assertEquals(3, contracts.retrieveNews(10).size(), "Wrong size");
+
+        List<News> found = contracts.search("antofagasta sismo", 10);
+        Assertions.assertEquals(2, found.size(), "Wrong hits");
+        Assertions.assertEquals("Nuevo sismo", found.get(0).getTitle(), "Wrong rank");
+
+        found = contracts.search("\"segunda vuelta\" OR terremoto", 10);
+        Assertions.assertEquals(2, found.size(), "Wrong hits");
+
+        // Duplicated: not saved nor indexed
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> contracts.saveNews(news("Nuevo sismo", "Otro sismo en la región de Antofagasta")));
+        Assertions.assertEquals(2, contracts.search("sismo", 10).size(), "Duplicated indexed");
+
+        log.debug("Done.");
+    }
+}
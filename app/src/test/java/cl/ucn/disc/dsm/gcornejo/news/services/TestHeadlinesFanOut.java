@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Testing of HeadlinesFanOut against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestHeadlinesFanOut {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestHeadlinesFanOut.class);
+
+    /**
+     * The fake NewsApi.
+     */
+    private MockWebServer server;
+
+    /**
+     * Start the server: each category return its own articles plus one shared.
+     */
+    @BeforeEach
+    public void start() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final String category = request.getRequestUrl().queryParameter("category");
+                final String country = request.getRequestUrl().queryParameter("country");
+                switch (category) {
+                    case "sports":
+                        return new MockResponse().setResponseCode(500).setBody("{\"status\":\"error\"}");
+                    case "health":
+                        return new MockResponse()
+                                .setBody(NewsApiMock.page(1, "Slow"))
+                                .setHeadersDelay(2, TimeUnit.SECONDS);
+                    default:
+                        return new MockResponse().setBody(NewsApiMock.page(2,
+                                "The " + category + " news in " + country,
+                                "The shared news"));
+                }
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Stop the server.
+     */
+    @AfterEach
+    public void stop() throws IOException {
+        this.server.shutdown();
+    }
+
+    /**
+     * The Test of the merge and the failures.
+     */
+    @Test
+    public void testRetrieveNews() {
+
+        log.debug("Testing ..");
+
+        final NewsApiService service = new NewsApiService("the-key", this.server.url("/v2/").toString());
+
+        try (HeadlinesFanOut fanOut = new HeadlinesFanOut(service, 4, 500, TimeUnit.MILLISECONDS)) {
+
+            final HeadlinesFanOut.Result result = fanOut.retrieveNews(
+                    Arrays.asList("general", "business", "science", "sports", "health"),
+                    Arrays.asList("cl", "us"),
+                    10);
+
+            // 3 categories x 2 countries + 1 shared
+            Assertions.assertEquals(7, result.getNews().size(), "Wrong number of News");
+            final Set<Long> ids = new HashSet<>();
+            for (News news : result.getNews()) {
+                Assertions.assertTrue(ids.add(news.getId()), "Duplicated News");
+            }
+            Assertions.assertEquals("The general news in cl", result.getNews().get(0).getTitle(), "Wrong order");
+
+            // sports (error) and health (timeout), in the 2 countries
+            Assertions.assertFalse(result.isComplete(), "Failures not reported");
+            Assertions.assertEquals(4, result.getFailures().size(), "Wrong number of failures");
+            Assertions.assertTrue(result.getFailures().get(new HeadlinesQuery("sports", "cl", 10)) instanceof RuntimeException,
+                    "Wrong failure");
+            Assertions.assertTrue(result.getFailures().get(new HeadlinesQuery("health", "us", 10)) instanceof InterruptedIOException,
+                    "Timeout not reported");
+        }
+
+        // All the requests was sent
+        Assertions.assertEquals(10, this.server.getRequestCount(), "Wrong number of requests");
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test without countries.
+     */
+    @Test
+    public void testRetrieveNewsWithoutCountry() {
+
+        final NewsApiService service = new NewsApiService("the-key", this.server.url("/v2/").toString());
+
+        try (HeadlinesFanOut fanOut = new HeadlinesFanOut(service, 2, 1, TimeUnit.SECONDS)) {
+
+            final HeadlinesFanOut.Result result = fanOut.retrieveNews(
+                    Arrays.asList("general", "business"), Collections.emptyList(), 10);
+
+            Assertions.assertTrue(result.isComplete(), "Unexpected failures");
+            Assertions.assertEquals(3, result.getNews().size(), "Wrong number of News");
+        }
+    }
+
+    /**
+     * The Test of the size of the index: the pageSize of all the queries, up to the max of NewsApi.
+     */
+    @Test
+    public void testExpected() {
+
+        Assertions.assertEquals(0, HeadlinesFanOut.expected(Collections.emptyList()));
+        Assertions.assertEquals(30, HeadlinesFanOut.expected(Arrays.asList(
+                new HeadlinesQuery("general", null, 10), new HeadlinesQuery("business", null, 20))));
+        Assertions.assertEquals(2 * HeadlinesFanOut.MAX_PAGE_SIZE, HeadlinesFanOut.expected(Arrays.asList(
+                new HeadlinesQuery("general", null, Integer.MAX_VALUE), new HeadlinesQuery("business", null, Integer.MAX_VALUE))));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Testing of HeadlinesIterator against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestHeadlinesIterator {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestHeadlinesIterator.class);
+
+    /**
+     * The publishedAt of the articles of {@link NewsApiMock}.
+     */
+    private static final String DATE = "2020-11-18T12:34:56Z";
+
+    /**
+     * The Test of the pagination: 25 results in pages of 10.
+     */
+    @Test
+    public void testIterateNews() throws Exception {
+
+        log.debug("Testing ..");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    final int page = Integer.parseInt(request.getRequestUrl().queryParameter("page"));
+                    final List<String> titles = new ArrayList<>();
+                    for (int i = (page - 1) * 10; i < Math.min(page * 10, 25); i++) {
+                        titles.add("The news number " + i);
+                    }
+                    return new MockResponse().setBody(NewsApiMock.page(25, titles));
+                }
+            });
+            server.start();
+
+            final Contracts contracts = new ContractsImplNewsApi(
+                    new NewsApiService("the-key", server.url("/v2/").toString()), "general");
+
+            final Iterator<News> iterator = contracts.iterateNews(10);
+
+            // The first News ..
+            Assertions.assertTrue(iterator.hasNext(), "Empty iterator");
+            Assertions.assertEquals("The news number 0", iterator.next().getTitle());
+            Assertions.assertEquals("1", server.takeRequest().getRequestUrl().queryParameter("page"));
+
+            // .. and the second page is already requested
+            final RecordedRequest prefetch = server.takeRequest(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(prefetch, "Second page not prefetched");
+            Assertions.assertEquals("2", prefetch.getRequestUrl().queryParameter("page"));
+
+            // The rest
+            int count = 1;
+            while (iterator.hasNext()) {
+                Assertions.assertEquals("The news number " + count, iterator.next().getTitle(), "Wrong order");
+                count++;
+            }
+            Assertions.assertEquals(25, count, "Wrong number of News");
+
+            // Stop at totalResults: no page 4
+            Assertions.assertEquals(3, server.getRequestCount(), "Wrong number of requests");
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the rejected articles: counted in the totalResults, a page all rejected don't
+     * stop the iteration and no page after the last one.
+     */
+    @Test
+    public void testIterateRejected() throws Exception {
+
+        log.debug("Testing ..");
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    final int page = Integer.parseInt(request.getRequestUrl().queryParameter("page"));
+                    if (page > 3) {
+                        return new MockResponse().setBody(NewsApiMock.page(30));
+                    }
+                    final List<String> titles = new ArrayList<>();
+                    for (int i = (page - 1) * 10; i < page * 10; i++) {
+                        titles.add("The news number " + i);
+                    }
+                    final String json = NewsApiMock.page(30, titles);
+                    switch (page) {
+                        case 1:
+                            // The last one without a valid date
+                            final int last = json.lastIndexOf(DATE);
+                            return new MockResponse().setBody(json.substring(0, last) + "yesterday"
+                                    + json.substring(last + DATE.length()));
+                        case 2:
+                            // All without a valid date
+                            return new MockResponse().setBody(json.replace(DATE, "yesterday"));
+                        default:
+                            return new MockResponse().setBody(json);
+                    }
+                }
+            });
+            server.start();
+
+            final Contracts contracts = new ContractsImplNewsApi(
+                    new NewsApiService("the-key", server.url("/v2/").toString()), "general");
+
+            int count = 0;
+            final Iterator<News> iterator = contracts.iterateNews(10);
+            while (iterator.hasNext()) {
+                final News news = iterator.next();
+                if (count == 9) {
+                    Assertions.assertEquals("The news number 20", news.getTitle(), "Page 3 not after page 2");
+                }
+                count++;
+            }
+            Assertions.assertEquals(19, count, "Wrong number of News");
+
+            // The 30 articles received: no page 4
+            Assertions.assertEquals(3, server.getRequestCount(), "Wrong number of requests");
+        }
+
+        log.debug("Done.");
+    }
+}
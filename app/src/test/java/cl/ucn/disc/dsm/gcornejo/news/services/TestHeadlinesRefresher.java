@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Testing of HeadlinesRefresher against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestHeadlinesRefresher {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestHeadlinesRefresher.class);
+
+    /**
+     * The fake NewsApi.
+     */
+    private MockWebServer server;
+
+    /**
+     * The number of requests to the server.
+     */
+    private final AtomicInteger requests = new AtomicInteger();
+
+    /**
+     * Start the server: each request adds one article to the page, the third one fails.
+     */
+    @BeforeEach
+    public void start() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final int n = requests.incrementAndGet();
+                switch (n) {
+                    case 1:
+                        return new MockResponse().setBody(NewsApiMock.page(2, "The news 1", "The news 2"));
+                    case 2:
+                        return new MockResponse().setBody(NewsApiMock.page(2, "The news 1", "The news 2"));
+                    case 3:
+                        return new MockResponse().setResponseCode(500).setBody("{\"status\":\"error\"}");
+                    default:
+                        return new MockResponse().setBody(NewsApiMock.page(3, "The news 3", "The news 1", "The news 2"));
+                }
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Stop the server.
+     */
+    @AfterEach
+    public void stop() throws IOException {
+        this.server.shutdown();
+    }
+
+    /**
+     * The Test of the polling: only the new News are saved and notified, the errors retried.
+     */
+    @Test
+    public void testSchedule() throws Exception {
+
+        log.debug("Testing ..");
+
+        final NewsApiService service = new NewsApiService("the-key", this.server.url("/v2/").toString());
+        final ContractsImplMemory contracts = new ContractsImplMemory();
+        final BlockingQueue<List<News>> news = new LinkedBlockingQueue<>();
+        final BlockingQueue<Exception> errors = new LinkedBlockingQueue<>();
+
+        try (HeadlinesRefresher refresher = new HeadlinesRefresher(service, contracts, 1, 1, TimeUnit.SECONDS)) {
+            refresher.addListener(new HeadlinesRefresher.Listener() {
+                @Override
+                public void onNews(HeadlinesQuery query, List<News> list) {
+                    news.add(list);
+                }
+
+                @Override
+                public void onError(HeadlinesQuery query, Exception exception, long retryIn) {
+                    errors.add(exception);
+                }
+            });
+            refresher.schedule(new HeadlinesQuery("general", null, 10), 50, 200, TimeUnit.MILLISECONDS);
+
+            // The first page
+            final List<News> first = news.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(first, "No News");
+            Assertions.assertEquals(2, first.size(), "Wrong first page");
+
+            // The same page (nothing), the error and only the new one
+            Assertions.assertNotNull(errors.poll(5, TimeUnit.SECONDS), "Error not notified");
+            final List<News> second = news.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(second, "No new News");
+            Assertions.assertEquals(1, second.size(), "Not only the new News");
+            Assertions.assertEquals("The news 3", second.get(0).getTitle(), "Wrong new News");
+        }
+
+        // Saved once
+        Assertions.assertEquals(3, contracts.size(), "Wrong saved");
+        Assertions.assertTrue(this.requests.get() >= 4, "Not polled");
+        Assertions.assertTrue(news.isEmpty(), "Old News notified");
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the News already saved and of the refresh by hand.
+     */
+    @Test
+    public void testRefresh() throws Exception {
+
+        final NewsApiService service = new NewsApiService("the-key", this.server.url("/v2/").toString());
+        final ContractsImplMemory contracts = new ContractsImplMemory();
+        final HeadlinesQuery query = new HeadlinesQuery("general", null, 10);
+        contracts.saveNews(service.getTopHeadlinesNews(query).getNews().get(0));
+
+        try (HeadlinesRefresher refresher = new HeadlinesRefresher(service, contracts, 1, 1, TimeUnit.SECONDS)) {
+            final List<News> fresh = refresher.refresh(query);
+            Assertions.assertEquals(1, fresh.size(), "Saved News as new");
+            Assertions.assertEquals("The news 2", fresh.get(0).getTitle(), "Wrong new News");
+            Assertions.assertThrows(RuntimeException.class, () -> refresher.refresh(query));
+            Assertions.assertEquals(1, refresher.refresh(query).size(), "Wrong new News");
+        }
+        Assertions.assertEquals(3, contracts.size(), "Wrong saved");
+    }
+
+    /**
+     * The Test of a failed save: the News are new again in the next refresh.
+     */
+    @Test
+    public void testRefreshFailedSave() throws Exception {
+
+        final NewsApiService service = new NewsApiService("the-key", this.server.url("/v2/").toString());
+        final ContractsImplMemory memory = new ContractsImplMemory();
+        final AtomicInteger saves = new AtomicInteger();
+        final Contracts contracts = new Contracts() {
+            @Override
+            public List<News> retrieveNews(final Integer size) {
+                return memory.retrieveNews(size);
+            }
+
+            @Override
+            public void saveNews(final News news) {
+                memory.saveNews(news);
+            }
+
+            @Override
+            public List<SaveOutcome> saveAll(final Collection<News> news) {
+                if (saves.incrementAndGet() == 1) {
+                    throw new IllegalStateException("The store is down");
+                }
+                return memory.saveAll(news);
+            }
+        };
+
+        try (HeadlinesRefresher refresher = new HeadlinesRefresher(service, contracts, 1, 1, TimeUnit.SECONDS)) {
+            final HeadlinesQuery query = new HeadlinesQuery("general", null, 10);
+            Assertions.assertThrows(IllegalStateException.class, () -> refresher.refresh(query));
+            Assertions.assertEquals(2, refresher.refresh(query).size(), "Not saved after the failure");
+        }
+        Assertions.assertEquals(2, memory.size(), "Wrong saved");
+    }
+
+    /**
+     * The Test of the News rejected by the Contracts: not sent again in the next refresh.
+     */
+    @Test
+    public void testRefreshRejected() throws Exception {
+
+        final NewsApiService service = new NewsApiService("the-key", this.server.url("/v2/").toString());
+        final AtomicInteger submitted = new AtomicInteger();
+        final Contracts contracts = new Contracts() {
+            @Override
+            public List<News> retrieveNews(final Integer size) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public void saveNews(final News news) {
+                Assertions.fail("Saved one by one");
+            }
+
+            @Override
+            public List<SaveOutcome> saveAll(final Collection<News> news) {
+                submitted.addAndGet(news.size());
+                return new ArrayList<>(Collections.nCopies(news.size(), SaveOutcome.REJECTED));
+            }
+        };
+
+        try (HeadlinesRefresher refresher = new HeadlinesRefresher(service, contracts, 1, 1, TimeUnit.SECONDS)) {
+            final HeadlinesQuery query = new HeadlinesQuery("general", null, 10);
+            Assertions.assertTrue(refresher.refresh(query).isEmpty(), "Rejected News as new");
+            Assertions.assertTrue(refresher.refresh(query).isEmpty(), "Rejected News as new");
+        }
+        Assertions.assertEquals(2, this.requests.get(), "Wrong requests");
+        Assertions.assertEquals(2, submitted.get(), "Rejected News sent again");
+    }
+
+    /**
+     * The Test of the backoff and the jitter.
+     */
+    @Test
+    public void testDelay() {
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            final long ok = HeadlinesRefresher.delay(1000, 60000, 0, random);
+            Assertions.assertTrue(ok >= 900 && ok <= 1100, "Wrong jitter: " + ok);
+
+            final long third = HeadlinesRefresher.delay(1000, 60000, 3, random);
+            Assertions.assertTrue(third >= 7200 && third <= 8800, "Wrong backoff: " + third);
+
+            final long max = HeadlinesRefresher.delay(1000, 60000, 100, random);
+            Assertions.assertTrue(max >= 54000 && max <= 66000, "Wrong max backoff: " + max);
+        }
+    }
+}
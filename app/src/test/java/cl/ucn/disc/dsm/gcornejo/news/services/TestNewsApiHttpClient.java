@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * Testing of NewsApiHttpClient (cache, revalidation and gzip) against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNewsApiHttpClient {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNewsApiHttpClient.class);
+
+    /**
+     * The directory of the cache.
+     */
+    @TempDir
+    File cacheDir;
+
+    /**
+     * The Test of the bytes and requests saved in repeated pulls.
+     */
+    @Test
+    public void testRepeatedPulls() throws Exception {
+
+        log.debug("Testing ..");
+
+        // 100 articles, gzip compressed if asked
+        final List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            titles.add("The title number " + i);
+        }
+        final String json = NewsApiMock.page(100, titles);
+
+        try (MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    if ("\"v1\"".equals(request.getHeader("If-None-Match"))) {
+                        return new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\"");
+                    }
+                    final MockResponse response = new MockResponse().setHeader("ETag", "\"v1\"");
+                    if (String.valueOf(request.getHeader("Accept-Encoding")).contains("gzip")) {
+                        return response.setHeader("Content-Encoding", "gzip").setBody(gzip(json));
+                    }
+                    return response.setBody(json);
+                }
+            });
+            server.start();
+
+            // The bytes received from the network
+            final AtomicLong wire = new AtomicLong();
+            final OkHttpClient client = NewsApiHttpClient.create(this.cacheDir, 1024 * 1024, 5,
+                    TimeUnit.MINUTES.toMillis(1), 1000, TimeUnit.MINUTES.toMillis(1))
+                    .newBuilder()
+                    .eventListener(new EventListener() {
+                        @Override
+                        public void responseBodyEnd(Call call, long byteCount) {
+                            wire.addAndGet(byteCount);
+                        }
+                    })
+                    .build();
+
+            final NewsApiService service = new NewsApiService("the-key", server.url("/v2/").toString(), client);
+            final HeadlinesQuery query = new HeadlinesQuery("general", null, 100);
+
+            // 1: from the network, compressed
+            Assertions.assertEquals(100, service.getTopHeadlines(query).size());
+            Assertions.assertEquals(1, server.getRequestCount(), "Wrong number of requests");
+            final long first = wire.get();
+            Assertions.assertTrue(first > 0 && first < json.length() / 2, "Not compressed: " + first);
+
+            // 2: fresh, from the disk cache
+            Assertions.assertEquals(100, service.getTopHeadlines(query).size());
+            Assertions.assertEquals(1, server.getRequestCount(), "Fresh response not cached");
+
+            // 3: stale, from the cache while revalidating
+            Thread.sleep(1200);
+            Assertions.assertEquals(100, service.getTopHeadlines(query).size());
+            server.takeRequest();
+            final RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(revalidation, "No revalidation");
+            Assertions.assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"), "Not conditional");
+
+            // 4: fresh again after the 304
+            Thread.sleep(200);
+            Assertions.assertEquals(100, service.getTopHeadlines(query).size());
+            Assertions.assertEquals(2, server.getRequestCount(), "Revalidated response not cached");
+
+            log.debug("Bytes on the wire: {} of {} in 4 pulls ({} without cache nor gzip)",
+                    wire.get(), json.length(), 4 * json.length());
+            Assertions.assertEquals(first, wire.get(), "Unexpected body in the 304");
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * @param text to compress.
+     * @return the gzip bytes.
+     */
+    private static Buffer gzip(final String text) {
+        final Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(text);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer;
+    }
+}
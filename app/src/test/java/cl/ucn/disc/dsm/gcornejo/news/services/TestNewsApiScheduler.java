@@ -0,0 +1,211 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Testing of NewsApiScheduler against a local MockWebServer.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNewsApiScheduler {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNewsApiScheduler.class);
+
+    /**
+     * The fake NewsApi.
+     */
+    private MockWebServer server;
+
+    /**
+     * The categories requested, in order.
+     */
+    private final List<String> requested = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The number of requests of the category "limited".
+     */
+    private final AtomicInteger limited = new AtomicInteger();
+
+    /**
+     * Start the server: "limited" fails with 429 the first time, "broken" always fails with 500,
+     * "later" with 503 (retry in 60 seconds) and "bad" with 400.
+     */
+    @BeforeEach
+    public void start() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final String category = request.getRequestUrl().queryParameter("category");
+                requested.add(category);
+                switch (category) {
+                    case "limited":
+                        if (limited.incrementAndGet() == 1) {
+                            return new MockResponse().setResponseCode(429).setHeader("Retry-After", "1")
+                                    .setBody("{\"status\":\"error\",\"code\":\"rateLimited\"}");
+                        }
+                        return new MockResponse().setBody(NewsApiMock.page(1, "The limited news"));
+                    case "broken":
+                        return new MockResponse().setResponseCode(500).setBody("{\"status\":\"error\"}");
+                    case "later":
+                        return new MockResponse().setResponseCode(503).setHeader("Retry-After", "60")
+                                .setBody("{\"status\":\"error\"}");
+                    case "bad":
+                        return new MockResponse().setResponseCode(400).setBody("{\"status\":\"error\"}");
+                    default:
+                        return new MockResponse().setBody(NewsApiMock.page(1, "The " + category + " news"));
+                }
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Stop the server.
+     */
+    @AfterEach
+    public void stop() throws IOException {
+        this.server.shutdown();
+    }
+
+    /**
+     * @return the service of the server.
+     */
+    private NewsApiService service() {
+        return new NewsApiService("the-key", this.server.url("/v2/").toString());
+    }
+
+    /**
+     * The Test of the priority, the merge of identical requests and the throttling.
+     */
+    @Test
+    public void testPriorityAndMerge() throws Exception {
+
+        log.debug("Testing ..");
+
+        // 1 request each 200 ms
+        try (NewsApiScheduler scheduler = new NewsApiScheduler(this.service(), 1, 1, 200, TimeUnit.MILLISECONDS, 0)) {
+
+            final long start = System.nanoTime();
+            // The first one takes the only token ..
+            final NewsPage first = scheduler.submit(new HeadlinesQuery("first", null, 10), 0).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("The first news", first.getNews().get(0).getTitle());
+
+            // .. the rest wait for the next
+            final CompletableFuture<NewsPage> low = scheduler.submit(new HeadlinesQuery("low", null, 10), 1);
+            final CompletableFuture<NewsPage> high = scheduler.submit(new HeadlinesQuery("high", null, 10), 5);
+            final CompletableFuture<NewsPage> same = scheduler.submit(new HeadlinesQuery("low", null, 10), 1);
+            Assertions.assertTrue(scheduler.getQueueDepth() >= 2, "Not queued");
+
+            Assertions.assertEquals("The low news", low.get(5, TimeUnit.SECONDS).getNews().get(0).getTitle());
+            Assertions.assertEquals("The low news", same.get(5, TimeUnit.SECONDS).getNews().get(0).getTitle());
+            Assertions.assertEquals("The high news", high.get(5, TimeUnit.SECONDS).getNews().get(0).getTitle());
+
+            // 3 requests, the second one by priority, at 200 ms each
+            Assertions.assertEquals(3, this.server.getRequestCount(), "Not merged");
+            Assertions.assertEquals(3, scheduler.getSent(), "Wrong sent");
+            Assertions.assertEquals(1, scheduler.getMerged(), "Wrong merged");
+            Assertions.assertEquals("first", this.requested.get(0));
+            Assertions.assertEquals("high", this.requested.get(1), "Wrong priority");
+            Assertions.assertEquals("low", this.requested.get(2), "Wrong priority");
+            Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(380), "Not throttled");
+            Assertions.assertTrue(scheduler.getMaxWaitMillis() >= 200, "Wrong max wait");
+            Assertions.assertTrue(scheduler.getAverageWaitMillis() > 0, "Wrong average wait");
+            Assertions.assertEquals(0, scheduler.getQueueDepth(), "Queue not empty");
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the Retry-After of a 429 Too Many Requests.
+     */
+    @Test
+    public void testRetryAfter() throws Exception {
+
+        try (NewsApiScheduler scheduler = new NewsApiScheduler(this.service(), 10, 10, 1, TimeUnit.SECONDS, 3)) {
+
+            final long start = System.nanoTime();
+            final NewsPage page = scheduler.submit(new HeadlinesQuery("limited", null, 10), 0).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("The limited news", page.getNews().get(0).getTitle());
+            Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(950), "Retry-After not honored");
+
+            Assertions.assertEquals(2, scheduler.getSent(), "Wrong sent");
+            Assertions.assertEquals(1, scheduler.getRetried(), "Wrong retried");
+            Assertions.assertEquals(1, scheduler.getRateLimited(), "Wrong rate limited");
+        }
+    }
+
+    /**
+     * The Test of the errors: retried until maxRetries, or not retryable.
+     */
+    @Test
+    public void testErrors() throws Exception {
+
+        try (NewsApiScheduler scheduler = new NewsApiScheduler(this.service(), 10, 10, 1, TimeUnit.SECONDS, 2)) {
+
+            final CompletableFuture<NewsPage> broken = scheduler.submit(new HeadlinesQuery("broken", null, 10), 0);
+            final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> broken.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof NewsApiException, "Wrong exception");
+            Assertions.assertEquals(500, ((NewsApiException) e.getCause()).getCode(), "Wrong code");
+            Assertions.assertEquals(3, Collections.frequency(this.requested, "broken"), "Wrong retries");
+
+            final CompletableFuture<NewsPage> bad = scheduler.submit(new HeadlinesQuery("bad", null, 10), 0);
+            Assertions.assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, Collections.frequency(this.requested, "bad"), "Retried a 400");
+        }
+    }
+
+    /**
+     * The Test of the close: the retries waiting for its backoff are cancelled.
+     */
+    @Test
+    public void testCloseRetry() throws Exception {
+
+        final CompletableFuture<NewsPage> later;
+        try (NewsApiScheduler scheduler = new NewsApiScheduler(this.service(), 10, 10, 1, TimeUnit.SECONDS, 2)) {
+            later = scheduler.submit(new HeadlinesQuery("later", null, 10), 0);
+            final long timeout = System.currentTimeMillis() + 5000;
+            while (scheduler.getRetried() == 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            Assertions.assertEquals(1, scheduler.getRetried(), "Not retried");
+        }
+        Assertions.assertTrue(later.isCompletedExceptionally(), "Retry not cancelled");
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class, later::get);
+        Assertions.assertTrue(e.getCause() instanceof CancellationException, "Wrong exception");
+    }
+}
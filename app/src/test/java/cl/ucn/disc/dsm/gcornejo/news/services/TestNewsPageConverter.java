@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import com.google.gson.Gson;
+import com.kwabenaberko.newsapilib.models.response.ArticleResponse;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.utils.Validation;
+
+/**
+ * Testing of NewsPageConverter against the Gson + articles2news path.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestNewsPageConverter {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestNewsPageConverter.class);
+
+    /**
+     * The Test of the same News from both paths.
+     */
+    @Test
+    public void testRead() throws Exception {
+
+        log.debug("Testing ..");
+
+        final List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            titles.add("The news number " + i);
+        }
+        final String json = NewsApiMock.page(123, titles);
+
+        final NewsPage page = NewsPageConverter.read(new StringReader(json));
+        final List<News> expected = ContractsImplNewsApi.articles2news(
+                new Gson().fromJson(json, ArticleResponse.class).getArticles());
+
+        Assertions.assertEquals(123, page.getTotalResults());
+        Assertions.assertEquals(expected.size(), page.getNews().size());
+        for (int i = 0; i < expected.size(); i++) {
+            final News e = expected.get(i);
+            final News n = page.getNews().get(i);
+            Assertions.assertEquals(e.getId(), n.getId());
+            Assertions.assertEquals(e.getTitle(), n.getTitle());
+            Assertions.assertEquals(e.getSource(), n.getSource());
+            Assertions.assertEquals(e.getAuthor(), n.getAuthor());
+            Assertions.assertEquals(e.getUrl(), n.getUrl());
+            Assertions.assertEquals(e.getUrlImage(), n.getUrlImage());
+            Assertions.assertEquals(e.getDescription(), n.getDescription());
+            Assertions.assertEquals(e.getContent(), n.getContent());
+            Assertions.assertEquals(e.getPublishedAt(), n.getPublishedAt());
+        }
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of unknown fields, nulls and the order of the fields.
+     */
+    @Test
+    public void testReadLenient() throws Exception {
+
+        log.debug("Testing ..");
+
+        final String json = "{\"articles\":[{\"extra\":{\"a\":[1,2]},\"source\":{\"name\":\"The Source\",\"id\":null},"
+                + "\"author\":\"The Author\",\"title\":\"The Title\",\"url\":\"https://example.com\",\"urlToImage\":null,"
+                + "\"description\":\"The Description\",\"content\":null,\"publishedAt\":\"2020-11-18T12:34:56Z\"}],"
+                + "\"status\":\"ok\",\"totalResults\":1}";
+
+        final NewsPage page = NewsPageConverter.read(new StringReader(json));
+
+        Assertions.assertEquals(1, page.getTotalResults());
+        Assertions.assertEquals(1, page.getNews().size());
+
+        final News news = page.getNews().get(0);
+        Assertions.assertEquals("The Title", news.getTitle());
+        Assertions.assertEquals("The Source", news.getSource());
+        Assertions.assertEquals("The Description", news.getContent());
+        Assertions.assertEquals(9, news.getPublishedAt().getHour());
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of the dirty articles: skipped and reported, the rest of the page is read.
+     */
+    @Test
+    public void testReadRejected() throws Exception {
+
+        log.debug("Testing ..");
+
+        final String good = NewsApiMock.article("The good news");
+        final String json = "{\"status\":\"ok\",\"totalResults\":5,\"articles\":["
+                + good.replace("\"The Author\"", "null") + ","
+                + good + ","
+                + good.replace("The Description of The good news", "Short") + ","
+                + good.replace("2020-11-18T12:34:56Z", "yesterday") + ","
+                + NewsApiMock.article("The other news") + "]}";
+
+        final NewsPage page = NewsPageConverter.read(new StringReader(json));
+        log.debug("Rejected: {}", page.getRejected());
+
+        Assertions.assertEquals(2, page.getNews().size(), "Wrong news");
+        Assertions.assertEquals("The other news", page.getNews().get(1).getTitle());
+        Assertions.assertEquals(3, page.getRejected().size(), "Wrong rejected");
+
+        final NewsPage.Rejection author = page.getRejected().get(0);
+        Assertions.assertEquals(0, author.getIndex());
+        Assertions.assertEquals("author", author.getField());
+        Assertions.assertEquals(Validation.Reason.NULL, author.getReason());
+
+        final NewsPage.Rejection description = page.getRejected().get(1);
+        Assertions.assertEquals(2, description.getIndex());
+        Assertions.assertEquals("description", description.getField());
+        Assertions.assertEquals(Validation.Reason.TOO_SHORT, description.getReason());
+
+        final NewsPage.Rejection date = page.getRejected().get(2);
+        Assertions.assertEquals(3, date.getIndex());
+        Assertions.assertEquals("publishedAt", date.getField());
+        Assertions.assertEquals(Validation.Reason.WRONG_FORMAT, date.getReason());
+
+        // The same News by the Gson path
+        Assertions.assertEquals(2, ContractsImplNewsApi.articles2news(
+                new Gson().fromJson(json, ArticleResponse.class).getArticles()).size());
+
+        log.debug("Done.");
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+import org.threeten.bp.format.DateTimeFormatter;
+
+import java.util.Random;
+
+/**
+ * Testing of Iso8601.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestIso8601 {
+
+    /**
+     * The Test of the dates against ZonedDateTime.parse.
+     */
+    @Test
+    public void testParse() {
+
+        final Random random = new Random(1);
+        final DateTimeFormatter millis = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+        final DateTimeFormatter compact = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxx");
+        for (int i = 0; i < 10_000; i++) {
+            // From 1900 to 2100, with offsets of 15 minutes
+            final long epochMillis = (long) ((random.nextDouble() - 0.35) * 4_102_444_800_000L * 1.6);
+            final ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(57) - 28) * 900);
+            final ZonedDateTime date = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), offset);
+
+            final String iso = date.withNano(0).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            Assertions.assertEquals(ZonedDateTime.parse(iso).toInstant().toEpochMilli(), Iso8601.parseMillis(iso), iso);
+            Assertions.assertEquals(epochMillis, Iso8601.parseMillis(date.format(millis)), date.format(millis));
+            Assertions.assertEquals(Math.floorDiv(epochMillis, 1000L) * 1000, Iso8601.parseMillis(date.format(compact)),
+                    date.format(compact));
+        }
+
+        // The formats of NewsApi
+        Assertions.assertEquals(1_605_702_896_000L, Iso8601.parseMillis("2020-11-18T12:34:56Z"));
+        Assertions.assertEquals(1_605_702_896_123L, Iso8601.parseMillis("2020-11-18T12:34:56.1234567Z"));
+        Assertions.assertEquals(1_605_702_896_500L, Iso8601.parseMillis("2020-11-18T09:34:56.5-03:00"));
+        Assertions.assertEquals(1_605_702_896_000L, Iso8601.parseMillis("2020-11-18T14:34:56+02"));
+        Assertions.assertEquals(951_782_400_000L, Iso8601.parseMillis("2000-02-29T00:00:00Z"));
+    }
+
+    /**
+     * The Test of the wrong formats.
+     */
+    @Test
+    public void testInvalid() {
+        final String[] wrong = {null, "", "2020-11-18", "2020-11-18 12:34:56Z", "2020-11-18T12:34:56",
+                "2020-13-18T12:34:56Z", "2020-02-30T12:34:56Z", "2019-02-29T00:00:00Z", "2020-11-18T24:00:00Z",
+                "2020-11-18T12:60:00Z", "2020-11-18T12:34:56.Z", "2020-11-18T12:34:56.123", "2020-11-18T12:34:56ZZ",
+                "2020-11-18T12:34:56+3:00", "2020-11-18T12:34:56+03:0", "2020-1a-18T12:34:56Z", "yesterday at noon!!"};
+        for (String text : wrong) {
+            Assertions.assertEquals(Iso8601.INVALID, Iso8601.parseMillis(text), "Parsed: " + text);
+        }
+    }
+}
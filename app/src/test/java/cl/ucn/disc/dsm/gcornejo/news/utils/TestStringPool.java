@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Testing of StringPool.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestStringPool {
+
+    /**
+     * The Test of the intern, the bound and the counters.
+     */
+    @Test
+    public void testIntern() {
+
+        final StringPool pool = new StringPool(16, 10);
+
+        // The same instance for equal Strings
+        final String first = pool.intern(new String("The Source"));
+        Assertions.assertSame(first, pool.intern(new String("The Source")), "Not pooled");
+        Assertions.assertEquals(1, pool.getHits(), "Wrong hits");
+        Assertions.assertEquals(1, pool.getMisses(), "Wrong misses");
+
+        // Null and too long
+        Assertions.assertNull(pool.intern(null));
+        final String longer = new String("The Long Source");
+        Assertions.assertSame(longer, pool.intern(longer), "Changed");
+        Assertions.assertNotSame(longer, pool.intern(new String("The Long Source")), "Pooled too long");
+        Assertions.assertEquals(2, pool.getSkipped(), "Wrong skipped");
+
+        // Bounded: 1000 values in 16 slots, still equal values
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals("s" + i, pool.intern("s" + i));
+        }
+        Assertions.assertTrue(pool.getMisses() > 900, "Wrong misses");
+
+        // The frequent value comes back
+        pool.intern(new String("The Source"));
+        final String again = pool.intern(new String("The Source"));
+        Assertions.assertSame(again, pool.intern(new String("The Source")), "Not pooled again");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StringPool(1, 10));
+    }
+
+    /**
+     * The Test of the concurrent intern: always an equal String.
+     */
+    @Test
+    public void testConcurrent() throws Exception {
+
+        final StringPool pool = new StringPool(64, 32);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100000; i++) {
+                        final String s = "source " + (i % 100);
+                        Assertions.assertEquals(s, pool.intern(s));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(400000, pool.getHits() + pool.getMisses(), "Wrong counters");
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Testing of TimeIndex.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestTimeIndex {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestTimeIndex.class);
+
+    /**
+     * The brute force range: newest first, the last inserted first on ties.
+     *
+     * @param times of each position.
+     * @param from  inclusive.
+     * @param to    exclusive.
+     * @param limit max size.
+     * @return the positions.
+     */
+    private static int[] expected(final List<Long> times, final long from, final long to, final int limit) {
+        final List<Integer> positions = new ArrayList<>();
+        for (int i = times.size() - 1; i >= 0; i--) {
+            if (times.get(i) >= from && times.get(i) < to) {
+                positions.add(i);
+            }
+        }
+        positions.sort((a, b) -> Long.compare(times.get(b), times.get(a)));
+        final int[] result = new int[Math.min(limit, positions.size())];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * The Test of range and newest against the brute force, with out of order times.
+     */
+    @Test
+    public void testRange() {
+
+        log.debug("Testing ..");
+
+        final Random random = new Random(7);
+        final TimeIndex index = new TimeIndex();
+        final List<Long> times = new ArrayList<>();
+
+        Assertions.assertEquals(0, index.newest(10).length, "Not empty");
+
+        for (int i = 0; i < 5000; i++) {
+            // Mostly newer, some late and some repeated
+            final long time = i % 10 == 0 ? random.nextInt(100) * 1000L : i * 1000L + random.nextInt(3) * 500;
+            index.add(time, i);
+            times.add(time);
+        }
+        Assertions.assertEquals(5000, index.size(), "Wrong size");
+
+        for (int q = 0; q < 500; q++) {
+            final long from = random.nextInt(5_000_000);
+            final long to = from + random.nextInt(200_000);
+            final int limit = random.nextInt(50);
+            Assertions.assertArrayEquals(expected(times, from, to, limit), index.range(from, to, limit), "Wrong range");
+        }
+        Assertions.assertArrayEquals(expected(times, Long.MIN_VALUE, Long.MAX_VALUE, 100), index.newest(100), "Wrong newest");
+        Assertions.assertEquals(5000, index.newest(10000).length, "Not all");
+        Assertions.assertEquals(0, index.range(10, 10, 10).length, "Empty range");
+        Assertions.assertEquals(0, index.range(-10, 0, 10).length, "Range before all");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.add(1, -1));
+
+        log.debug("Done.");
+    }
+
+    /**
+     * The Test of concurrent inserts and queries.
+     */
+    @Test
+    public void testConcurrent() throws Exception {
+
+        log.debug("Testing ..");
+
+        final TimeIndex index = new TimeIndex();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        final int position = thread * 10000 + i;
+                        index.add(position, position);
+
+                        // The newest is always sorted
+                        final int[] newest = index.newest(5);
+                        for (int j = 1; j < newest.length; j++) {
+                            Assertions.assertTrue(newest[j - 1] > newest[j], "Not sorted");
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(40000, index.size(), "Lost inserts");
+        final int[] all = index.newest(40000);
+        for (int i = 0; i < all.length; i++) {
+            Assertions.assertEquals(39999 - i, all[i], "Wrong order");
+        }
+
+        log.debug("Done.");
+    }
+}
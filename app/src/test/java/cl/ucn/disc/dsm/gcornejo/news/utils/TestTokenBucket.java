@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testing of TokenBucket.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestTokenBucket {
+
+    /**
+     * The Test of the burst, the refill and the drain.
+     */
+    @Test
+    public void testAcquire() {
+
+        final long second = TimeUnit.SECONDS.toNanos(1);
+
+        // 3 at once, 2 each second
+        final TokenBucket bucket = new TokenBucket(3, 2, 1, TimeUnit.SECONDS, 0);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(bucket.tryAcquire(0), "No burst");
+        }
+        Assertions.assertFalse(bucket.tryAcquire(0), "Over the burst");
+        Assertions.assertEquals(second / 2, bucket.waitNanos(0), "Wrong wait");
+
+        // Half second, one token
+        Assertions.assertEquals(0, bucket.waitNanos(second / 2), "Not refilled");
+        Assertions.assertTrue(bucket.tryAcquire(second / 2), "Not refilled");
+        Assertions.assertFalse(bucket.tryAcquire(second / 2), "Refilled too much");
+
+        // Never over the capacity
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(bucket.tryAcquire(100 * second), "Not refilled");
+        }
+        Assertions.assertFalse(bucket.tryAcquire(100 * second), "Over the capacity");
+
+        // Drain
+        final TokenBucket drained = new TokenBucket(3, 2, 1, TimeUnit.SECONDS, 0);
+        drained.drain(0);
+        Assertions.assertFalse(drained.tryAcquire(0), "Not drained");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 1, TimeUnit.SECONDS, 0));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testing of TtlLruCache.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestTtlLruCache {
+
+    /**
+     * The logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(TestTtlLruCache.class);
+
+    /**
+     * The Test of the LRU eviction.
+     */
+    @Test
+    public void testEviction() {
+
+        log.debug("Testing ..");
+
+        final TtlLruCache<String, String> cache = new TtlLruCache<>(2, 1, TimeUnit.MINUTES);
+
+        Assertions.assertEquals("A", cache.get("a", () -> "A"));
+        Assertions.assertEquals("B", cache.get("b", () -> "B"));
+
+        // a is now the most recently used ..
+        Assertions.assertEquals("A", cache.get("a", () -> "X"));
+
+        // .. so b is evicted
+        Assertions.assertEquals("C", cache.get("c", () -> "C"));
+        Assertions.assertEquals(2, cache.size(), "Wrong size");
+        Assertions.assertNull(cache.getIfPresent("b"), "b not evicted");
+        Assertions.assertEquals("A", cache.getIfPresent("a"), "a evicted");
+
+        Assertions.assertEquals(1, cache.getEvictions(), "Wrong evictions");
+        Assertions.assertEquals(3, cache.getMisses(), "Wrong misses");
+        Assertions.assertEquals(2, cache.getHits(), "Wrong hits");
+
+        log.debug("Done: {}", cache);
+    }
+
+    /**
+     * The Test of the time to live.
+     */
+    @Test
+    public void testTtl() {
+
+        final AtomicLong now = new AtomicLong();
+        final TtlLruCache<String, String> cache = new TtlLruCache<>(10, 10, TimeUnit.SECONDS, now::get);
+
+        Assertions.assertEquals("A", cache.get("a", () -> "A"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        Assertions.assertEquals("A", cache.get("a", () -> "X"), "Expired too soon");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals("Y", cache.get("a", () -> "Y"), "Not expired");
+        Assertions.assertEquals(1, cache.getExpirations(), "Wrong expirations");
+
+        // The exceptions aren't cached
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("b", () -> {
+            throw new IllegalStateException("Boom");
+        }));
+        Assertions.assertEquals("B", cache.get("b", () -> "B"));
+    }
+}
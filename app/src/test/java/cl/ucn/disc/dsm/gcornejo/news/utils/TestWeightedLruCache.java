@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing of WeightedLruCache.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class TestWeightedLruCache {
+
+    /**
+     * The Test of the eviction by weight, in LRU order.
+     */
+    @Test
+    public void testEviction() {
+
+        final WeightedLruCache<String, byte[]> cache = new WeightedLruCache<>(100, data -> data.length);
+        Assertions.assertTrue(cache.put("a", new byte[40]));
+        Assertions.assertTrue(cache.put("b", new byte[40]));
+
+        // a is used, b is the eldest
+        Assertions.assertNotNull(cache.get("a"));
+        Assertions.assertTrue(cache.put("c", new byte[40]));
+        Assertions.assertNull(cache.get("b"), "Not evicted");
+        Assertions.assertNotNull(cache.get("a"), "Evicted the recently used");
+        Assertions.assertEquals(80, cache.getWeight(), "Wrong weight");
+        Assertions.assertEquals(1, cache.getEvictions(), "Wrong evictions");
+
+        // Replace
+        Assertions.assertTrue(cache.put("a", new byte[10]));
+        Assertions.assertEquals(50, cache.getWeight(), "Wrong weight after replace");
+
+        // Too heavy
+        Assertions.assertFalse(cache.put("d", new byte[101]), "Saved over the max");
+        Assertions.assertEquals(2, cache.size(), "Wrong size");
+
+        cache.remove("a");
+        Assertions.assertEquals(40, cache.getWeight(), "Wrong weight after remove");
+        Assertions.assertEquals(2, cache.getHits(), "Wrong hits");
+        Assertions.assertEquals(1, cache.getMisses(), "Wrong misses");
+    }
+}
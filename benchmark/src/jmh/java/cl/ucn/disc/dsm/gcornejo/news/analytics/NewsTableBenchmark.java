@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.analytics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.Instant;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * The News by source by hour of one day: the {@link NewsTable} scan against a loop over the
+ * List of News.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewsTableBenchmark {
+
+    /**
+     * The first publishedAt.
+     */
+    private static final long START = 1_600_000_000_000L;
+
+    /**
+     * The hour, in millis.
+     */
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * The number of News.
+     */
+    @Param({"10000", "200000"})
+    private int size;
+
+    /**
+     * The News.
+     */
+    private List<News> news;
+
+    /**
+     * The table of the News.
+     */
+    private NewsTable.Snapshot snapshot;
+
+    /**
+     * The News of 50 sources in a week.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+        final NewsTable table = new NewsTable(this.size);
+        this.news = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final long millis = START + (long) (random.nextDouble() * 7 * 24 * HOUR);
+            final News n = new News("The Title " + i, "The Source " + random.nextInt(50), "The Author " + random.nextInt(500),
+                    "The URL " + i, "The URL Image", "The Description", "The Content",
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+            this.news.add(n);
+            table.add(n);
+        }
+        this.snapshot = table.snapshot();
+    }
+
+    /**
+     * @return the histogram of the table.
+     */
+    @Benchmark
+    public long[][] table() {
+        return this.snapshot.histogram(NewsTable.Column.SOURCE, START + 24 * HOUR, START + 48 * HOUR, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * @return the histogram of the List.
+     */
+    @Benchmark
+    public Map<String, long[]> list() {
+        final long from = START + 24 * HOUR;
+        final long to = START + 48 * HOUR;
+        final Map<String, long[]> histogram = new HashMap<>();
+        for (News n : this.news) {
+            final long millis = n.getPublishedAt().toInstant().toEpochMilli();
+            if (millis >= from && millis < to) {
+                histogram.computeIfAbsent(n.getSource(), s -> new long[24])[(int) ((millis - from) / HOUR)]++;
+            }
+        }
+        return histogram;
+    }
+}
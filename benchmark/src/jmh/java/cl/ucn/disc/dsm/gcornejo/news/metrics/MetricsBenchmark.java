@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+import cl.ucn.disc.dsm.gcornejo.news.services.Contracts;
+import cl.ucn.disc.dsm.gcornejo.news.services.ContractsImplMemory;
+import cl.ucn.disc.dsm.gcornejo.news.services.ContractsImplMetrics;
+
+/**
+ * The cost of the metrics: one record of a {@link LatencyHistogram} and a retrieveNews with and
+ * without the {@link ContractsImplMetrics}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    /**
+     * The Contracts without metrics.
+     */
+    private Contracts plain;
+
+    /**
+     * The Contracts with metrics.
+     */
+    private Contracts instrumented;
+
+    /**
+     * The Contracts with the metrics disabled.
+     */
+    private Contracts disabled;
+
+    /**
+     * The histogram.
+     */
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * The Contracts with 100 News.
+     */
+    @Setup
+    public void setup() {
+        final ZonedDateTime publishedAt = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+        this.plain = new ContractsImplMemory();
+        for (int i = 0; i < 100; i++) {
+            this.plain.saveNews(new News("The Title " + i, "The Source", "The Author", "The URL",
+                    "The URL Image", "The Description", "The Content", publishedAt.plusMinutes(i)));
+        }
+        this.instrumented = ContractsImplMetrics.instrument(this.plain, new Metrics());
+        this.disabled = ContractsImplMetrics.instrument(this.plain, Metrics.DISABLED);
+    }
+
+    /**
+     * @return the time recorded.
+     */
+    @Benchmark
+    public long record() {
+        final long start = System.nanoTime();
+        this.histogram.recordSince(start);
+        return start;
+    }
+
+    /**
+     * @return the News.
+     */
+    @Benchmark
+    public List<News> plain() {
+        return this.plain.retrieveNews(10);
+    }
+
+    /**
+     * @return the News.
+     */
+    @Benchmark
+    public List<News> instrumented() {
+        return this.instrumented.retrieveNews(10);
+    }
+
+    /**
+     * @return the News.
+     */
+    @Benchmark
+    public List<News> disabled() {
+        return this.disabled.retrieveNews(10);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The construction (hash + validation) of a {@link News}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NewsBenchmark {
+
+    /**
+     * The date of publish.
+     */
+    private final ZonedDateTime publishedAt = ZonedDateTime.of(2020, 11, 18, 12, 34, 56, 0, ZoneId.of("-3"));
+
+    /**
+     * The short description, to fail the validation.
+     */
+    private String shortDescription = "Short";
+
+    /**
+     * A valid News.
+     */
+    @Benchmark
+    public News valid() {
+        return new News(
+                "Chile's president announces new measures to contain the second wave",
+                "The Santiago Times",
+                "Gonzalo Cornejo Araya",
+                "https://example.com/news/1",
+                "https://example.com/news/1.jpg",
+                "The government announced a new set of measures to contain the spread of the virus.",
+                "The government announced a new set of measures to contain the spread of the virus ...",
+                this.publishedAt
+        );
+    }
+
+    /**
+     * A News rejected by the validation (the cost of the exception).
+     */
+    @Benchmark
+    public Object invalid() {
+        try {
+            return new News(
+                    "Chile's president announces new measures to contain the second wave",
+                    "The Santiago Times",
+                    "Gonzalo Cornejo Araya",
+                    "https://example.com/news/1",
+                    "https://example.com/news/1.jpg",
+                    this.shortDescription,
+                    "The content",
+                    this.publishedAt
+            );
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NewsCodec} against Gson (publishedAt as the ZonedDateTime string), both ways.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewsCodecBenchmark {
+
+    /**
+     * The type of the json.
+     */
+    private static final Type LIST = new TypeToken<List<News>>() { }.getType();
+
+    /**
+     * The number of News in the batch.
+     */
+    @Param({"100", "1000"})
+    private int size;
+
+    /**
+     * The Gson, with the ZonedDateTime as string.
+     */
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(ZonedDateTime.class, new TypeAdapter<ZonedDateTime>() {
+                @Override
+                public void write(JsonWriter out, ZonedDateTime value) throws IOException {
+                    out.value(value.toString());
+                }
+
+                @Override
+                public ZonedDateTime read(JsonReader in) throws IOException {
+                    return ZonedDateTime.parse(in.nextString());
+                }
+            })
+            .create();
+
+    /**
+     * The batch.
+     */
+    private List<News> news;
+
+    /**
+     * The output of the encoders.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The batch, encoded.
+     */
+    private ByteBuffer binary;
+
+    /**
+     * The batch, as json.
+     */
+    private byte[] json;
+
+    /**
+     * Build the batch and print the sizes.
+     */
+    @Setup
+    public void setup() {
+        final ZonedDateTime publishedAt = ZonedDateTime.of(2020, 11, 18, 12, 34, 56, 0, ZoneId.of("-3"));
+        final StringBuilder content = new StringBuilder();
+        while (content.length() < 1000) {
+            content.append("The government announced a new set of measures to contain the spread of the virus. ");
+        }
+
+        this.news = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.news.add(new News(
+                    "Chile's president announces new measures, part " + i,
+                    "The Santiago Times",
+                    "Gonzalo Cornejo Araya",
+                    "https://example.com/news/" + i,
+                    "https://example.com/news/" + i + ".jpg",
+                    "The government announced a new set of measures to contain the spread of the virus.",
+                    content.toString(),
+                    publishedAt.minusMinutes(i)
+            ));
+        }
+
+        this.buffer = ByteBuffer.allocate(NewsCodec.size(this.news));
+        this.binary = ByteBuffer.allocate(NewsCodec.size(this.news));
+        NewsCodec.encodeAll(this.news, this.binary);
+        this.binary.flip();
+        this.json = this.gson.toJson(this.news, LIST).getBytes(StandardCharsets.UTF_8);
+
+        System.out.println("\nsize " + this.size + ": binary " + this.binary.remaining() + " bytes, json " + this.json.length + " bytes");
+    }
+
+    /**
+     * NewsCodec.encodeAll.
+     */
+    @Benchmark
+    public ByteBuffer encodeBinary() {
+        this.buffer.clear();
+        NewsCodec.encodeAll(this.news, this.buffer);
+        return this.buffer;
+    }
+
+    /**
+     * NewsCodec.decodeAll.
+     */
+    @Benchmark
+    public List<News> decodeBinary() {
+        return NewsCodec.decodeAll(this.binary.duplicate());
+    }
+
+    /**
+     * Gson toJson + UTF-8.
+     */
+    @Benchmark
+    public byte[] encodeJson() {
+        return this.gson.toJson(this.news, LIST).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * UTF-8 + Gson fromJson.
+     */
+    @Benchmark
+    public List<News> decodeJson() {
+        return this.gson.fromJson(new String(this.json, StandardCharsets.UTF_8), LIST);
+    }
+}
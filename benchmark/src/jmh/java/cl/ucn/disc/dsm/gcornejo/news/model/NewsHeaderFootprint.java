@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import cl.ucn.disc.dsm.gcornejo.news.services.ContractsImplMappedLog;
+
+/**
+ * The heap retained by a list of 10k and 100k {@link News} against the same {@link NewsHeader},
+ * read from a {@link ContractsImplMappedLog} (the body stays in the mapped file). Not a JMH
+ * benchmark: run the main, with a fixed heap (i.e. -Xmx1g).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsHeaderFootprint {
+
+    /**
+     * The Constructor.
+     */
+    private NewsHeaderFootprint() {
+        // Nothing here
+    }
+
+    /**
+     * @param random the source of words.
+     * @param length of the text.
+     * @return a random text.
+     */
+    private static String text(final Random random, final int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append((char) ('a' + random.nextInt(26)));
+            if (random.nextInt(6) == 0) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param n the number of News.
+     * @return the News, of the size of a NewsApi article (the content is truncated to 200 chars).
+     */
+    private static List<News> news(final int n) {
+        final Random random = new Random(42);
+        final ZonedDateTime base = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+        final List<News> news = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            news.add(new News(text(random, 70) + i, text(random, 12), text(random, 15),
+                    "https://example.com/" + text(random, 60), "https://example.com/" + text(random, 60) + ".jpg",
+                    text(random, 250), text(random, 200) + "... [+3000 chars]", base.plusMinutes(i)));
+        }
+        return news;
+    }
+
+    /**
+     * @return the used heap, after gc.
+     */
+    private static long used() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @param args not used.
+     * @throws Exception in case of error.
+     */
+    public static void main(final String[] args) throws Exception {
+        for (int n : new int[]{10000, 100000}) {
+
+            // The full News
+            long before = used();
+            List<News> news = news(n);
+            final long full = used() - before;
+
+            // The headers, the News only in the mapped log
+            final File directory = Files.createTempDirectory("footprint").toFile();
+            try (ContractsImplMappedLog contracts = new ContractsImplMappedLog(directory)) {
+                contracts.saveAll(news);
+                news = null;
+
+                before = used();
+                final List<NewsHeader> headers = new ArrayList<>(contracts.retrieveHeaders(n));
+                final long header = used() - before;
+
+                System.out.println(String.format(Locale.US, "%,7d News: %,12d bytes (%,5d by News), headers: %,12d bytes (%,5d by header), %.0f%%",
+                        n, full, full / n, header, header / n, 100.0 * header / full));
+                if (headers.size() != n) {
+                    throw new IllegalStateException("Wrong size");
+                }
+            }
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+}
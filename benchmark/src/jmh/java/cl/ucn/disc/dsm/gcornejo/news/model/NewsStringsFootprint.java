@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.model;
+
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The heap retained by 100k {@link News} parsed from NewsApi (each one with its own copy of the
+ * source and author), against the same News with the Strings of {@link NewsStrings}. Not a JMH
+ * benchmark: run the main, with a fixed heap (i.e. -Xmx1g).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+public final class NewsStringsFootprint {
+
+    /**
+     * The number of News.
+     */
+    private static final int SIZE = 100000;
+
+    /**
+     * The Constructor.
+     */
+    private NewsStringsFootprint() {
+        // Nothing here
+    }
+
+    /**
+     * @param pooled true to use {@link NewsStrings}.
+     * @return the News: 80 sources and 3000 authors, a copy of each String (as a json parser).
+     */
+    private static List<News> news(final boolean pooled) {
+        final Random random = new Random(42);
+        final ZonedDateTime publishedAt = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+        final List<News> news = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            final String source = new String("The Source Name " + random.nextInt(80));
+            final String author = new String("The Author Full Name " + random.nextInt(3000));
+            news.add(new News("The Title " + i,
+                    pooled ? NewsStrings.source(source) : source,
+                    pooled ? NewsStrings.author(author) : author,
+                    null, null, "The Description", "", publishedAt));
+        }
+        return news;
+    }
+
+    /**
+     * @return the used heap, after gc.
+     */
+    private static long used() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @param args not used.
+     */
+    public static void main(final String[] args) {
+        long before = used();
+        List<News> news = news(false);
+        final long copies = used() - before;
+        news = null;
+
+        before = used();
+        news = news(true);
+        final long pooled = used() - before;
+
+        System.out.println(String.format(Locale.US, "%,d News: copies %,d bytes, pooled %,d bytes, saved %,d bytes (%.0f%%), %d",
+                SIZE, copies, pooled, copies - pooled, 100.0 * (copies - pooled) / copies, news.size()));
+        System.out.println(NewsStrings.statistics());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queries of {@link InvertedIndex} over 100k documents, with a Zipf vocabulary (the word of
+ * rank r appears with probability ~ 1 / r).
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvertedIndexBenchmark {
+
+    /**
+     * The size of the vocabulary.
+     */
+    private static final int WORDS = 20000;
+
+    /**
+     * The number of documents.
+     */
+    @Param({"100000"})
+    private int size;
+
+    /**
+     * The index.
+     */
+    private InvertedIndex index;
+
+    /**
+     * Index the documents.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        // The cumulative probability of each rank
+        final double[] cdf = new double[WORDS];
+        double sum = 0;
+        for (int r = 0; r < WORDS; r++) {
+            sum += 1.0 / (r + 1);
+            cdf[r] = sum;
+        }
+
+        this.index = new InvertedIndex();
+        final StringBuilder title = new StringBuilder();
+        final StringBuilder content = new StringBuilder();
+        for (int d = 0; d < this.size; d++) {
+            title.setLength(0);
+            content.setLength(0);
+            for (int i = 0; i < 8; i++) {
+                title.append(word(cdf, random)).append(' ');
+            }
+            for (int i = 0; i < 60; i++) {
+                content.append(word(cdf, random)).append(' ');
+            }
+            this.index.add(title.toString(), content.toString());
+        }
+    }
+
+    /**
+     * @param cdf    the cumulative probability.
+     * @param random to use.
+     * @return a word of the vocabulary.
+     */
+    private static String word(final double[] cdf, final Random random) {
+        int r = java.util.Arrays.binarySearch(cdf, random.nextDouble() * cdf[cdf.length - 1]);
+        if (r < 0) {
+            r = -r - 1;
+        }
+        return "w" + r;
+    }
+
+    /**
+     * One rare term.
+     */
+    @Benchmark
+    public List<InvertedIndex.Hit> rareTerm() {
+        return this.index.search("w5000", 10);
+    }
+
+    /**
+     * Two mid terms, AND.
+     */
+    @Benchmark
+    public List<InvertedIndex.Hit> and() {
+        return this.index.search("w200 w300", 10);
+    }
+
+    /**
+     * Two mid terms, OR.
+     */
+    @Benchmark
+    public List<InvertedIndex.Hit> or() {
+        return this.index.search("w200 OR w300", 10);
+    }
+
+    /**
+     * A phrase of common terms.
+     */
+    @Benchmark
+    public List<InvertedIndex.Hit> phrase() {
+        return this.index.search("\"w1 w2\"", 10);
+    }
+
+    /**
+     * The most common term: every document matches.
+     */
+    @Benchmark
+    public List<InvertedIndex.Hit> commonTerm() {
+        return this.index.search("w0", 10);
+    }
+}
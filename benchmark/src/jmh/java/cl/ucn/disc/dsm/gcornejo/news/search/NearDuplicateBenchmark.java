@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SimHash of a News and the lookup of near duplicates in {@link NearDuplicateIndex}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NearDuplicateBenchmark {
+
+    /**
+     * The number of signatures in the index.
+     */
+    @Param({"100000"})
+    private int size;
+
+    /**
+     * The max distance.
+     */
+    @Param({"3", "5"})
+    private int maxDistance;
+
+    /**
+     * The index.
+     */
+    private NearDuplicateIndex index;
+
+    /**
+     * The signatures to search.
+     */
+    private long[] queries;
+
+    /**
+     * The next query.
+     */
+    private int next;
+
+    /**
+     * Fill the index.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        this.index = new NearDuplicateIndex(this.maxDistance);
+        for (int i = 0; i < this.size; i++) {
+            this.index.add(random.nextLong());
+        }
+        this.queries = new long[1024];
+        for (int i = 0; i < this.queries.length; i++) {
+            this.queries[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * The SimHash of the title and description.
+     */
+    @Benchmark
+    public long simHash() {
+        return SimHash.of("Chile's president announces new measures to contain the second wave",
+                "The government announced a new set of measures to contain the spread of the virus, "
+                        + "including curfews and limits on the capacity of shops and restaurants.");
+    }
+
+    /**
+     * One lookup.
+     */
+    @Benchmark
+    public int find() {
+        return this.index.find(this.queries[this.next++ & (this.queries.length - 1)]);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * The scaling of saveNews (and a read-mostly mix) over 1-16 threads: ContractsImplConcurrent
+ * against ContractsImplMemory behind one lock.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContractsConcurrentBenchmark {
+
+    /**
+     * The date of publish.
+     */
+    private static final ZonedDateTime PUBLISHED_AT = ZonedDateTime.of(2020, 11, 18, 12, 34, 56, 0, ZoneId.of("-3"));
+
+    /**
+     * The implementation.
+     */
+    @Param({"concurrent", "synchronized"})
+    private String impl;
+
+    /**
+     * The store, new in each iteration.
+     */
+    private Contracts contracts;
+
+    /**
+     * The number of the next thread.
+     */
+    private final AtomicInteger threads = new AtomicInteger();
+
+    /**
+     * A new store.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        if ("concurrent".equals(this.impl)) {
+            this.contracts = new ContractsImplConcurrent();
+        } else {
+            final ContractsImplMemory memory = new ContractsImplMemory();
+            this.contracts = new Contracts() {
+                @Override
+                public synchronized List<News> retrieveNews(Integer size) {
+                    // A copy: the subList of the memory isn't safe with the writers
+                    return new ArrayList<>(memory.retrieveNews(size));
+                }
+
+                @Override
+                public synchronized void saveNews(News news) {
+                    memory.saveNews(news);
+                }
+            };
+        }
+    }
+
+    /**
+     * The unique News of each thread.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        /**
+         * The prefix of the thread.
+         */
+        private String prefix;
+
+        /**
+         * The next News.
+         */
+        private int next;
+
+        /**
+         * @param benchmark the shared state.
+         */
+        @Setup
+        public void setup(final ContractsConcurrentBenchmark benchmark) {
+            this.prefix = "Thread " + benchmark.threads.getAndIncrement() + " news ";
+        }
+
+        /**
+         * @return a new News.
+         */
+        News next() {
+            return new News(this.prefix + this.next++, "The Source", "The Author", "The URL",
+                    "The URL Image", "The Description", "The Content", PUBLISHED_AT);
+        }
+    }
+
+    /**
+     * One save.
+     *
+     * @param writer of the thread.
+     */
+    private void save(final Writer writer) {
+        this.contracts.saveNews(writer.next());
+    }
+
+    /**
+     * 1 of 10 operations is a save, the rest retrieve the last 20.
+     *
+     * @param writer of the thread.
+     * @return the last News.
+     */
+    private Object mixed(final Writer writer) {
+        if (writer.next % 10 == 0) {
+            this.save(writer);
+            return null;
+        }
+        writer.next++;
+        return this.contracts.retrieveNews(20);
+    }
+
+    /**
+     * saveNews, 1 thread.
+     */
+    @Benchmark
+    @Threads(1)
+    public void save01(final Writer writer) {
+        this.save(writer);
+    }
+
+    /**
+     * saveNews, 2 threads.
+     */
+    @Benchmark
+    @Threads(2)
+    public void save02(final Writer writer) {
+        this.save(writer);
+    }
+
+    /**
+     * saveNews, 4 threads.
+     */
+    @Benchmark
+    @Threads(4)
+    public void save04(final Writer writer) {
+        this.save(writer);
+    }
+
+    /**
+     * saveNews, 8 threads.
+     */
+    @Benchmark
+    @Threads(8)
+    public void save08(final Writer writer) {
+        this.save(writer);
+    }
+
+    /**
+     * saveNews, 16 threads.
+     */
+    @Benchmark
+    @Threads(16)
+    public void save16(final Writer writer) {
+        this.save(writer);
+    }
+
+    /**
+     * The read-mostly mix, 1 thread.
+     */
+    @Benchmark
+    @Threads(1)
+    public Object mixed01(final Writer writer) {
+        return this.mixed(writer);
+    }
+
+    /**
+     * The read-mostly mix, 4 threads.
+     */
+    @Benchmark
+    @Threads(4)
+    public Object mixed04(final Writer writer) {
+        return this.mixed(writer);
+    }
+
+    /**
+     * The read-mostly mix, 16 threads.
+     */
+    @Benchmark
+    @Threads(16)
+    public Object mixed16(final Writer writer) {
+        return this.mixed(writer);
+    }
+}
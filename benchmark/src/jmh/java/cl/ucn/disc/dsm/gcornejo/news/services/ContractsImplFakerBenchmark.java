@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * The saveNews and retrieveNews of {@link ContractsImplFaker}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContractsImplFakerBenchmark {
+
+    /**
+     * The number of News in the store.
+     */
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    /**
+     * The News to save.
+     */
+    private News[] news;
+
+    /**
+     * The store with all the News.
+     */
+    private Contracts full;
+
+    /**
+     * Build the News (out of the measure).
+     */
+    @Setup
+    public void setup() {
+        final ZonedDateTime publishedAt = ZonedDateTime.of(2020, 11, 18, 12, 34, 56, 0, ZoneId.of("-3"));
+        this.news = new News[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.news[i] = new News(
+                    "The title of the news number " + i,
+                    "The Source " + (i % 20),
+                    "The Author " + (i % 50),
+                    "https://example.com/news/" + i,
+                    "https://example.com/news/" + i + ".jpg",
+                    "The description of the news number " + i,
+                    "The content of the news number " + i,
+                    publishedAt
+            );
+        }
+
+        this.full = new ContractsImplFaker();
+        for (News n : this.news) {
+            this.full.saveNews(n);
+        }
+    }
+
+    /**
+     * An empty store for each invocation (the Faker start is slow, out of the measure).
+     */
+    @State(Scope.Thread)
+    public static class Empty {
+
+        /**
+         * The empty store.
+         */
+        Contracts contracts;
+
+        /**
+         * Build the store.
+         */
+        @Setup(Level.Invocation)
+        public void setup() {
+            this.contracts = new ContractsImplFaker();
+        }
+    }
+
+    /**
+     * Save all the News in an empty store.
+     */
+    @Benchmark
+    public Contracts saveNews(final Empty empty) {
+        for (News n : this.news) {
+            empty.contracts.saveNews(n);
+        }
+        return empty.contracts;
+    }
+
+    /**
+     * Retrieve the last 100 News.
+     */
+    @Benchmark
+    public List<News> retrieveNews100() {
+        return this.full.retrieveNews(100);
+    }
+
+    /**
+     * Retrieve all the News.
+     */
+    @Benchmark
+    public List<News> retrieveNewsAll() {
+        return this.full.retrieveNews(this.size);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import com.google.gson.Gson;
+import com.kwabenaberko.newsapilib.models.response.ArticleResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * The NewsApi json -> List of News path: through ArticleResponse (Gson) or streaming.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewsApiBenchmark {
+
+    /**
+     * The number of articles in the response.
+     */
+    @Param({"20", "100", "1000"})
+    private int size;
+
+    /**
+     * The Gson used by the Retrofit converter.
+     */
+    private final Gson gson = new Gson();
+
+    /**
+     * The json response.
+     */
+    private String json;
+
+    /**
+     * The deserialized response.
+     */
+    private ArticleResponse response;
+
+    /**
+     * Build the json and the articles.
+     */
+    @Setup
+    public void setup() {
+        this.json = NewsApiJson.page(this.size);
+        this.response = this.gson.fromJson(this.json, ArticleResponse.class);
+    }
+
+    /**
+     * Gson deserialization of the ArticleResponse.
+     */
+    @Benchmark
+    public ArticleResponse deserialize() {
+        return this.gson.fromJson(this.json, ArticleResponse.class);
+    }
+
+    /**
+     * ContractsImplNewsApi.articles2news over the articles.
+     */
+    @Benchmark
+    public List<News> article2news() {
+        return ContractsImplNewsApi.articles2news(this.response.getArticles());
+    }
+
+    /**
+     * Both: the current path of a response.
+     */
+    @Benchmark
+    public List<News> deserializeAndConvert() {
+        return ContractsImplNewsApi.articles2news(this.gson.fromJson(this.json, ArticleResponse.class).getArticles());
+    }
+
+    /**
+     * NewsPageConverter: the json straight into News.
+     */
+    @Benchmark
+    public NewsPage streaming() throws IOException {
+        return NewsPageConverter.read(new StringReader(this.json));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+/**
+ * The json responses of NewsApi, for the benchmarks.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+final class NewsApiJson {
+
+    /**
+     * The Constructor.
+     */
+    private NewsApiJson() {
+        // Nothing here
+    }
+
+    /**
+     * @param size the number of articles.
+     * @return the json of a page of top-headlines, with articles of typical size.
+     */
+    static String page(final int size) {
+        final StringBuilder sb = new StringBuilder(size * 1024);
+        sb.append("{\"status\":\"ok\",\"totalResults\":").append(size).append(",\"articles\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"source\":{\"id\":\"source-").append(i % 20).append("\",\"name\":\"The Source ").append(i % 20).append("\"},")
+                    .append("\"author\":\"The Author ").append(i % 50).append("\",")
+                    .append("\"title\":\"The title of the news number ").append(i).append(" - The Source\",")
+                    .append("\"description\":\"The description of the news number ").append(i)
+                    .append(", long enough to be a real description of a real article of NewsApi.\",")
+                    .append("\"url\":\"https://example.com/news/").append(i).append("\",")
+                    .append("\"urlToImage\":\"https://example.com/news/").append(i).append(".jpg\",")
+                    .append("\"publishedAt\":\"2020-11-18T12:").append(10 + i % 50).append(":56Z\",")
+                    .append("\"content\":\"The content of the news number ").append(i)
+                    .append(". Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua. [+1234 chars]\"}");
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * The time queries of {@link ContractsImplMemory} (TimeIndex) against the sort of the default
+ * methods of {@link Contracts}.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RetrieveNewestBenchmark {
+
+    /**
+     * The number of News.
+     */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /**
+     * With the TimeIndex.
+     */
+    private ContractsImplMemory indexed;
+
+    /**
+     * The same News, with the default methods.
+     */
+    private Contracts sorted;
+
+    /**
+     * The range of the queries.
+     */
+    private ZonedDateTime from;
+
+    /**
+     * The range of the queries.
+     */
+    private ZonedDateTime to;
+
+    /**
+     * Save the News, published in random order.
+     */
+    @Setup
+    public void setup() {
+        final ZonedDateTime base = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+        final Random random = new Random(42);
+
+        this.indexed = new ContractsImplMemory(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.indexed.saveNews(new News("The Title " + i, "The Source", "The Author", "The URL",
+                    "The URL Image", "The Description", "The Content",
+                    base.plusMinutes(random.nextInt(this.size))));
+        }
+
+        final ContractsImplMemory memory = this.indexed;
+        this.sorted = new Contracts() {
+            @Override
+            public List<News> retrieveNews(Integer size) {
+                return memory.retrieveNews(size);
+            }
+
+            @Override
+            public void saveNews(News news) {
+                memory.saveNews(news);
+            }
+        };
+
+        this.from = base.plusMinutes(this.size / 2);
+        this.to = this.from.plusMinutes(60);
+    }
+
+    /**
+     * The newest 20, TimeIndex.
+     */
+    @Benchmark
+    public List<News> newestIndexed() {
+        return this.indexed.retrieveNewest(20);
+    }
+
+    /**
+     * The newest 20, sort of all.
+     */
+    @Benchmark
+    public List<News> newestSorted() {
+        return this.sorted.retrieveNewest(20);
+    }
+
+    /**
+     * One hour, TimeIndex.
+     */
+    @Benchmark
+    public List<News> rangeIndexed() {
+        return this.indexed.retrieveNews(this.from, this.to, 100);
+    }
+
+    /**
+     * One hour, filter and sort of all.
+     */
+    @Benchmark
+    public List<News> rangeSorted() {
+        return this.sorted.retrieveNews(this.from, this.to, 100);
+    }
+}
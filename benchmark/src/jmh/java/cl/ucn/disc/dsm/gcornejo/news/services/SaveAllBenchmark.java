@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneId;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cl.ucn.disc.dsm.gcornejo.news.model.News;
+
+/**
+ * A bulk import (a page of NewsApi, a quarter of it already saved) with
+ * {@link Contracts#saveAll(java.util.Collection)} against one saveNews by News.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveAllBenchmark {
+
+    /**
+     * The size of the batch.
+     */
+    @Param({"100", "1000"})
+    private int size;
+
+    /**
+     * The batch.
+     */
+    private List<News> batch;
+
+    /**
+     * The News already saved.
+     */
+    private List<News> saved;
+
+    /**
+     * The News of the batch.
+     */
+    @Setup
+    public void setup() {
+        final ZonedDateTime publishedAt = ZonedDateTime.of(2020, 11, 18, 12, 0, 0, 0, ZoneId.of("-3"));
+        this.batch = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.batch.add(new News("The Title " + i, "The Source", "The Author", "The URL",
+                    "The URL Image", "The Description", "The Content", publishedAt.plusMinutes(i)));
+        }
+        this.saved = new ArrayList<>(this.batch.subList(0, this.size / 4));
+    }
+
+    /**
+     * @return a store with the News already saved.
+     */
+    private ContractsImplConcurrent store() {
+        final ContractsImplConcurrent contracts = new ContractsImplConcurrent();
+        for (News news : this.saved) {
+            contracts.saveNews(news);
+        }
+        return contracts;
+    }
+
+    /**
+     * The batch.
+     */
+    @Benchmark
+    public List<SaveOutcome> saveAll() {
+        return this.store().saveAll(this.batch);
+    }
+
+    /**
+     * One saveNews by News, the duplicates as exceptions.
+     */
+    @Benchmark
+    public int saveNews() {
+        final ContractsImplConcurrent contracts = this.store();
+        int duplicated = 0;
+        for (News news : this.batch) {
+            try {
+                contracts.saveNews(news);
+            } catch (IllegalArgumentException e) {
+                duplicated++;
+            }
+        }
+        return duplicated;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Gonzalo Cornejo Araya, gonzalo.cornejo@alumnos.ucn.cl
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package cl.ucn.disc.dsm.gcornejo.news.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.threeten.bp.ZoneOffset;
+import org.threeten.bp.ZonedDateTime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The parse of a publishedAt of NewsApi: {@link Iso8601} against ZonedDateTime.parse.
+ *
+ * @author Gonzalo Cornejo Araya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Iso8601Benchmark {
+
+    /**
+     * The zone of the News.
+     */
+    private static final ZoneOffset ZONE = ZoneOffset.ofHours(-3);
+
+    /**
+     * The dates, like NewsApi.
+     */
+    private final String[] dates = {"2020-11-18T12:34:56Z", "2020-11-18T12:34:56.123Z", "2020-11-18T09:34:56-03:00"};
+
+    /**
+     * The next date.
+     */
+    private int next;
+
+    /**
+     * @return the date.
+     */
+    @Benchmark
+    public ZonedDateTime zonedDateTime() {
+        return ZonedDateTime.parse(this.dates[this.next++ % 3]).withZoneSameInstant(ZONE);
+    }
+
+    /**
+     * @return the epoch millis.
+     */
+    @Benchmark
+    public long iso8601() {
+        return Iso8601.parseMillis(this.dates[this.next++ % 3]);
+    }
+}